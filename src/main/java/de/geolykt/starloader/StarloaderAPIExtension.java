@@ -3,6 +3,7 @@ package de.geolykt.starloader;
 import java.io.File;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +40,10 @@ import de.geolykt.starloader.impl.gui.SLScreenBuilder;
 import de.geolykt.starloader.impl.gui.effects.SLEffectImplFactory;
 import de.geolykt.starloader.impl.registry.SLRegistryExpander;
 import de.geolykt.starloader.impl.serial.codec.StringCodec;
+import de.geolykt.starloader.impl.util.EventMetricsDumper;
 import de.geolykt.starloader.impl.util.SLNoiseProvider;
+import de.geolykt.starloader.impl.util.SequentialComputeScheduler;
+import de.geolykt.starloader.impl.util.WorkStealingComputeScheduler;
 import de.geolykt.starloader.mod.Extension;
 
 /**
@@ -51,6 +55,9 @@ public class StarloaderAPIExtension extends Extension {
 
     private static Extension instance;
 
+    @Nullable
+    private static EventMetricsDumper metricsDumper;
+
     @NotNull
     @Internal
     public static Extension getInstance() {
@@ -76,6 +83,10 @@ public class StarloaderAPIExtension extends Extension {
     @Override
     public void unload() {
         EventManager.handleEvent(new SignalExtensionTerminationEvent(this));
+        EventMetricsDumper metricsDumper = StarloaderAPIExtension.metricsDumper;
+        if (metricsDumper != null) {
+            metricsDumper.shutdown();
+        }
         getLogger().info("SLAPI is going to bed. Let's conquer the stars tomorrow!");
     }
 
@@ -109,6 +120,11 @@ public class StarloaderAPIExtension extends Extension {
         MinestomRootClassLoader.getInstance().addTransformer(new GestureListenerASMTransformer());
         Galimulator.setImplementation(new GalimulatorImplementation());
         Galimulator.setNoiseProvider(new SLNoiseProvider());
+        if (Boolean.getBoolean("de.geolykt.starloader.impl.util.SequentialComputeScheduler.ENABLED")) {
+            Galimulator.setComputeScheduler(new SequentialComputeScheduler());
+        } else {
+            Galimulator.setComputeScheduler(new WorkStealingComputeScheduler());
+        }
         Galimulator.setConfiguration(new GalimulatorConfiguration());
         Drawing.setImplementation(new DrawingManager());
         AsyncRenderer.setInstance(new GalFXAsyncRenderer());
@@ -118,5 +134,10 @@ public class StarloaderAPIExtension extends Extension {
         RegistryExpander.setImplementation(new SLRegistryExpander());
         registerBuiltinCodecs();
         initDeprecatedSubcomponents();
+        EventMetricsDumper metricsDumper = EventMetricsDumper.fromSystemProperties();
+        if (metricsDumper != null) {
+            metricsDumper.start();
+            StarloaderAPIExtension.metricsDumper = metricsDumper;
+        }
     }
 }
@@ -33,6 +33,8 @@ import de.geolykt.starloader.api.empire.ActiveEmpire;
 import de.geolykt.starloader.api.empire.Alliance;
 import de.geolykt.starloader.api.empire.Empire;
 import de.geolykt.starloader.api.empire.Star;
+import de.geolykt.starloader.api.empire.StarSpatialIndex;
+import de.geolykt.starloader.api.empire.StarlaneGraph;
 import de.geolykt.starloader.api.empire.War;
 import de.geolykt.starloader.api.empire.people.DynastyMember;
 import de.geolykt.starloader.api.event.lifecycle.LogicalTickEvent;
@@ -42,6 +44,7 @@ import de.geolykt.starloader.api.gui.MouseInputListener;
 import de.geolykt.starloader.api.serial.SavegameFormat;
 import de.geolykt.starloader.api.serial.SupportedSavegameFormat;
 import de.geolykt.starloader.api.sound.SoundHandler;
+import de.geolykt.starloader.api.utils.ComputeScheduler;
 import de.geolykt.starloader.api.utils.NoiseProvider;
 import de.geolykt.starloader.api.utils.RandomNameType;
 import de.geolykt.starloader.api.utils.TickLoopLock;
@@ -107,12 +110,23 @@ public final class Galimulator {
          */
         public @NotNull MapMode getActiveMapmode();
 
+        /**
+         * Obtains the {@link Actor} that is currently registered in the galaxy and has the given UID.
+         *
+         * @param uid The UID of the actor, as defined by {@link Actor#getUID()}
+         * @return The actor with the given UID, or null if there is none
+         * @since 2.0.0
+         * @implNote Lookups are performed through a maintained index of the UIDs and are thus O(1) and free of
+         * allocations, except for the first lookup after actors were added or removed, which rebuilds the index.
+         */
+        @Nullable
+        public Actor getActorByUID(int uid);
+
         /**
          * Returns the {@link ActiveEmpire} mapped to the given unique ID. If however
-         * there is no matching empire, the neutral empire is to be returned. Default
-         * implementation notice: The implementation of this method is very inefficient
-         * as it iterates over all known empires at worst. It is advisable that the extensions
-         * make use of caching.
+         * there is no matching empire, the neutral empire is to be returned.
+         * Default implementation notice: Empires that are registered in the galaxy are looked up through
+         * a maintained index of the UIDs in O(1), all other UIDs are resolved by iterating over all known empires.
          *
          * @param uid The UID of the empire, as defined by {@link Empire#getUID()}
          * @return The {@link ActiveEmpire} bound to the unique ID
@@ -281,6 +295,19 @@ public final class Galimulator {
         @Contract(pure = true)
         public Star getStarAt(float boardX, float boardY);
 
+        /**
+         * Obtains the {@link Star} with the given UID. Unlike {@link #lookupStar(int)}, this method returns
+         * null instead of throwing an exception if there is no such star.
+         *
+         * @param uid The UID of the star, as defined by {@link Star#getUID()}
+         * @return The star with the given UID, or null if there is none
+         * @since 2.0.0
+         * @implNote Lookups are performed through a maintained index of the UIDs and are thus O(1) and free of
+         * allocations, except for the first lookup after stars were added or removed, which rebuilds the index.
+         */
+        @Nullable
+        public Star getStarByUID(int uid);
+
         /**
          * Obtains an immutable view of the underlying list of the internal vector
          * of stars.
@@ -293,6 +320,26 @@ public final class Galimulator {
         @NotNull
         public List<@NotNull Star> getStarList();
 
+        /**
+         * Obtains the spatial index over the coordinates of all stars, which answers nearest-neighbour,
+         * radius, rectangle and ray queries without iterating over every star.
+         *
+         * @return The spatial index of the stars
+         * @since 2.0.0
+         */
+        @NotNull
+        public StarSpatialIndex getStarSpatialIndex();
+
+        /**
+         * Obtains the graph of the starlanes between all stars, which allows for graph algorithms such as shortest
+         * path searches to be performed without traversing the neighbour vectors of the stars.
+         *
+         * @return The starlane graph
+         * @since 2.0.0
+         */
+        @NotNull
+        public StarlaneGraph getStarlaneGraph();
+
         /**
          * Gets the currently registered Stars. Note that like many other methods in the
          * API, this is NOT a clone of the backing collection, which means that any
@@ -832,6 +879,13 @@ public final class Galimulator {
         public void setWarsUnsafe(Vector<War> wars);
     }
 
+    /**
+     * The {@link ComputeScheduler} that should be returned by the SLAPI.
+     *
+     * @since 2.0.0
+     */
+    private static ComputeScheduler computeScheduler;
+
     private static GameConfiguration config;
 
     private static GameImplementation impl;
@@ -890,6 +944,34 @@ public final class Galimulator {
         return impl.getActiveMapmode();
     }
 
+    /**
+     * Obtains the {@link Actor} that is currently registered in the galaxy and has the given UID.
+     *
+     * @param uid The UID of the actor, as defined by {@link Actor#getUID()}
+     * @return The actor with the given UID, or null if there is none
+     * @since 2.0.0
+     * @implNote Lookups are performed through a maintained index of the UIDs and are thus O(1) and free of
+     * allocations, except for the first lookup after actors were added or removed, which rebuilds the index.
+     */
+    @Nullable
+    public static Actor getActorByUID(int uid) {
+        return impl.getActorByUID(uid);
+    }
+
+    /**
+     * Obtains the {@link ComputeScheduler} that runs compute-bound simulation jobs, as set by
+     * {@link #setComputeScheduler(ComputeScheduler)}. Mods should prefer it over creating thread pools of their own,
+     * so that all parallel jobs share the same threads.
+     *
+     * @return The {@link ComputeScheduler} that is currently exposed to API consumers.
+     * @since 2.0.0
+     */
+    @SuppressWarnings("null")
+    @NotNull
+    public static ComputeScheduler getComputeScheduler() {
+        return computeScheduler;
+    }
+
     /**
      * Obtains the currently active {@link GameConfiguration} directly.
      *
@@ -905,10 +987,9 @@ public final class Galimulator {
 
     /**
      * Returns the {@link ActiveEmpire} mapped to the given unique ID. If however
-     * there is no matching empire, the neutral empire is to be returned. Default
-     * implementation notice: The implementation of this method is very inefficient
-     * as it iterates over all known empires at worst. It is advisable that the extensions
-     * make use of caching.
+     * there is no matching empire, the neutral empire is to be returned.
+     * Default implementation notice: Empires that are registered in the galaxy are looked up through
+     * a maintained index of the UIDs in O(1), all other UIDs are resolved by iterating over all known empires.
      *
      * @param uid The UID of the empire, as defined by {@link Empire#getUID()}
      * @return The {@link ActiveEmpire} bound to the unique ID
@@ -1139,6 +1220,21 @@ public final class Galimulator {
         return impl.getStarAt(boardX, boardY);
     }
 
+    /**
+     * Obtains the {@link Star} with the given UID. Unlike {@link #lookupStar(int)}, this method returns
+     * null instead of throwing an exception if there is no such star.
+     *
+     * @param uid The UID of the star, as defined by {@link Star#getUID()}
+     * @return The star with the given UID, or null if there is none
+     * @since 2.0.0
+     * @implNote Lookups are performed through a maintained index of the UIDs and are thus O(1) and free of
+     * allocations, except for the first lookup after stars were added or removed, which rebuilds the index.
+     */
+    @Nullable
+    public static Star getStarByUID(int uid) {
+        return impl.getStarByUID(uid);
+    }
+
     /**
      * Obtains an immutable view of the underlying list of the internal vector
      * of stars.
@@ -1153,6 +1249,30 @@ public final class Galimulator {
         return impl.getStarList();
     }
 
+    /**
+     * Obtains the spatial index over the coordinates of all stars, which answers nearest-neighbour,
+     * radius, rectangle and ray queries without iterating over every star.
+     *
+     * @return The spatial index of the stars
+     * @since 2.0.0
+     */
+    @NotNull
+    public static StarSpatialIndex getStarSpatialIndex() {
+        return impl.getStarSpatialIndex();
+    }
+
+    /**
+     * Obtains the graph of the starlanes between all stars, which allows for graph algorithms such as shortest
+     * path searches to be performed without traversing the neighbour vectors of the stars.
+     *
+     * @return The starlane graph
+     * @since 2.0.0
+     */
+    @NotNull
+    public static StarlaneGraph getStarlaneGraph() {
+        return impl.getStarlaneGraph();
+    }
+
     /**
      * Gets the currently registered Stars. Note that like many other methods in the
      * API, this is NOT a clone of the backing collection, which means that any
@@ -1436,6 +1556,19 @@ public final class Galimulator {
         impl.setActiveMapmode(Objects.requireNonNull(mode, "The map mode cannot be set to a null value"));
     }
 
+    /**
+     * Sets the {@link ComputeScheduler} that runs compute-bound simulation jobs of the SLAPI and that is supplied to
+     * consumers of the API. The previous scheduler is not shut down and jobs that were already submitted to it
+     * continue to run on it.
+     *
+     * @param scheduler The scheduler to make use of
+     * @since 2.0.0
+     */
+    public static void setComputeScheduler(@NotNull ComputeScheduler scheduler) {
+        NullUtils.requireNotNull(scheduler);
+        Galimulator.computeScheduler = scheduler;
+    }
+
     /**
      * Sets the {@link GameConfiguration} directly.
      * It is unlikely that anyone would need to use this method except the API implementation itself.
@@ -23,6 +23,11 @@ import org.jetbrains.annotations.NotNull;
  * That is, the internal list of fallback predicates is shuffled randomly beforehand with {@link Collections#shuffle(java.util.List)}
  * or similar.
  *
+ * <p>The default implementation instead samples the fallback predicates with a probability proportional to their
+ * {@link StateActorSpawnPredicate#getBaseSpawningChance() base spawning chance} and only considers the predicates
+ * whose religion and special requirements are met by the empire, which it computes once per empire. The probability of
+ * no fallback predicate being picked is the same as when rolling the spawning chance of every predicate in turn.
+ *
  * @since 2.0.0
  */
 public interface SpawnPredicatesContainer {
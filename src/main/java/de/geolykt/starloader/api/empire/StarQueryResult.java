@@ -0,0 +1,115 @@
+package de.geolykt.starloader.api.empire;
+
+import java.util.Arrays;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reusable buffer that stores the stars found by a query of a {@link StarSpatialIndex} alongside
+ * their squared distance to the queried location. The buffer grows as needed but never shrinks,
+ * so that a buffer that is reused for the queries of every tick stops allocating once it reached its working size.
+ * Instances of this class are not thread safe.
+ *
+ * @since 2.0.0
+ */
+public final class StarQueryResult {
+
+    private float @NotNull[] distances;
+    private int size;
+    private Star @NotNull[] stars;
+
+    /**
+     * Creates a new empty buffer with a default initial capacity.
+     *
+     * @since 2.0.0
+     */
+    public StarQueryResult() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty buffer with the given initial capacity.
+     *
+     * @param initialCapacity The amount of stars the buffer can store before it needs to grow
+     * @since 2.0.0
+     */
+    public StarQueryResult(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative.");
+        }
+        this.stars = new Star[initialCapacity];
+        this.distances = new float[initialCapacity];
+    }
+
+    /**
+     * Appends a star to the buffer. This method is mostly intended to be used by implementations of
+     * {@link StarSpatialIndex}.
+     *
+     * @param star The star to append
+     * @param distanceSquared The squared distance of the star to the queried location
+     * @since 2.0.0
+     */
+    public void add(@NotNull Star star, float distanceSquared) {
+        int size = this.size;
+        if (size == this.stars.length) {
+            int capacity = Math.max(16, size * 2);
+            this.stars = Arrays.copyOf(this.stars, capacity);
+            this.distances = Arrays.copyOf(this.distances, capacity);
+        }
+        this.stars[size] = star;
+        this.distances[size] = distanceSquared;
+        this.size = size + 1;
+    }
+
+    /**
+     * Removes all stars from the buffer while retaining its capacity.
+     *
+     * @since 2.0.0
+     */
+    public void clear() {
+        Arrays.fill(this.stars, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Obtains the squared distance of the star at the given index to the queried location.
+     * For queries without a single queried location, such as {@link StarSpatialIndex#findInRectangle(float, float, float, float, StarQueryResult)},
+     * the distance is always 0.
+     *
+     * @param index The index of the star, must be smaller than {@link #size()}
+     * @return The squared distance of the star
+     * @since 2.0.0
+     */
+    public float getDistanceSquared(int index) {
+        if (index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + this.size);
+        }
+        return this.distances[index];
+    }
+
+    /**
+     * Obtains the star at the given index.
+     *
+     * @param index The index of the star, must be smaller than {@link #size()}
+     * @return The star at the index
+     * @since 2.0.0
+     */
+    @SuppressWarnings("null")
+    @NotNull
+    public Star getStar(int index) {
+        if (index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + this.size);
+        }
+        return this.stars[index];
+    }
+
+    /**
+     * Obtains the amount of stars stored in the buffer.
+     *
+     * @return The amount of stars
+     * @since 2.0.0
+     */
+    public int size() {
+        return this.size;
+    }
+}
@@ -0,0 +1,103 @@
+package de.geolykt.starloader.api.empire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An index over the coordinates of all stars of the galaxy that answers proximity queries without
+ * iterating over every star. The index is kept up to date automatically: stars that are added to or removed
+ * from the galaxy are picked up by the next query and stars that are moved via {@link Star#moveRelative(float, float)}
+ * or {@link Star#syncCoordinates()} are updated incrementally. Extensions that move stars through other means
+ * should call {@link #update(Star)} afterwards.
+ *
+ * <p>All queries use the board coordinates as returned by {@link Star#getX()} and {@link Star#getY()}.
+ * Implementations are thread safe, but queries and updates may be serialised against each other.
+ *
+ * @since 2.0.0
+ */
+public interface StarSpatialIndex {
+
+    /**
+     * Obtains all stars whose coordinates lie within the given circle and writes them into the result buffer,
+     * replacing the previous content of the buffer. The stars are not ordered in any particular way.
+     *
+     * @param x The X-coordinate of the center of the circle
+     * @param y The Y-coordinate of the center of the circle
+     * @param radius The radius of the circle
+     * @param result The buffer to write the stars to
+     * @return The amount of stars found
+     * @since 2.0.0
+     */
+    public int findInRadius(float x, float y, float radius, @NotNull StarQueryResult result);
+
+    /**
+     * Obtains all stars whose coordinates lie within the given axis-aligned rectangle (including its edges) and writes
+     * them into the result buffer, replacing the previous content of the buffer. The stars are not ordered in any
+     * particular way.
+     *
+     * @param minX The smallest X-coordinate of the rectangle
+     * @param minY The smallest Y-coordinate of the rectangle
+     * @param maxX The largest X-coordinate of the rectangle
+     * @param maxY The largest Y-coordinate of the rectangle
+     * @param result The buffer to write the stars to
+     * @return The amount of stars found
+     * @since 2.0.0
+     */
+    public int findInRectangle(float minX, float minY, float maxX, float maxY, @NotNull StarQueryResult result);
+
+    /**
+     * Obtains the star that is nearest to the given location, provided that it is not further away than the given
+     * distance.
+     *
+     * @param x The X-coordinate of the location
+     * @param y The Y-coordinate of the location
+     * @param maxDistance The largest distance the star may have to the location, may be {@link Float#POSITIVE_INFINITY}
+     * @return The nearest star, or null if there is no star within the given distance
+     * @since 2.0.0
+     */
+    @Nullable
+    public Star findNearest(float x, float y, float maxDistance);
+
+    /**
+     * Obtains the k stars that are nearest to the given location and not further away than the given distance and
+     * writes them into the result buffer, replacing the previous content of the buffer. The stars are ordered by
+     * their distance to the location in ascending order.
+     *
+     * @param x The X-coordinate of the location
+     * @param y The Y-coordinate of the location
+     * @param k The maximum amount of stars to obtain
+     * @param maxDistance The largest distance a star may have to the location, may be {@link Float#POSITIVE_INFINITY}
+     * @param result The buffer to write the stars to
+     * @return The amount of stars found, which is at most k
+     * @since 2.0.0
+     */
+    public int findNearest(float x, float y, int k, float maxDistance, @NotNull StarQueryResult result);
+
+    /**
+     * Casts a ray and obtains the first star that is hit by it. A star is hit if the distance between its coordinates
+     * and the ray is not larger than the given hit radius. If multiple stars are hit, the star whose projection onto
+     * the ray is closest to the origin of the ray is returned.
+     *
+     * @param originX The X-coordinate of the origin of the ray
+     * @param originY The Y-coordinate of the origin of the ray
+     * @param directionX The X-component of the direction of the ray, does not need to be normalised
+     * @param directionY The Y-component of the direction of the ray, does not need to be normalised
+     * @param maxDistance The length of the ray, may be {@link Float#POSITIVE_INFINITY}
+     * @param hitRadius The largest distance a star may have to the ray in order to be hit
+     * @return The first star that is hit, or null if the ray does not hit any star
+     * @throws IllegalArgumentException If the direction is the zero vector
+     * @since 2.0.0
+     */
+    @Nullable
+    public Star raycast(float originX, float originY, float directionX, float directionY, float maxDistance, float hitRadius);
+
+    /**
+     * Updates the position of a single star within the index after its coordinates were changed.
+     * Does nothing if the star is not known to the index, in which case it is picked up by the next query
+     * if it is part of the galaxy.
+     *
+     * @param star The star whose coordinates changed
+     * @since 2.0.0
+     */
+    public void update(@NotNull Star star);
+}
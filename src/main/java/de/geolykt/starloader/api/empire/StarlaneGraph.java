@@ -0,0 +1,160 @@
+package de.geolykt.starloader.api.empire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A compact view of the starlanes of the galaxy as a graph whose nodes are the stars, stored in primitive arrays.
+ * Stars are addressed by node indices in the range of <code>[0, getNodeCount())</code>, which can be obtained
+ * via {@link #getNode(Star)}. The edges of a node are the neighbours of the star, as defined by {@link Star#getNeighbours()}.
+ *
+ * <p>The graph is kept up to date automatically: starlanes that are added or removed are updated incrementally,
+ * while stars that are added to or removed from the galaxy cause the graph to be rebuilt on the next access.
+ * Rebuilding the graph assigns new node indices to the stars, which is signalled by {@link #getRevision()} changing.
+ * Node indices should thus not be retained over a longer time span, or only while the revision does not change.
+ * Passing a node index that is out of bounds causes an {@link IndexOutOfBoundsException} to be thrown.
+ *
+ * <p>Implementations are thread safe, but individual accesses may be serialised against each other.
+ *
+ * @since 2.0.0
+ */
+public interface StarlaneGraph {
+
+    /**
+     * Searches the shortest path (measured in the amount of starlanes) between two nodes.
+     *
+     * @param from The node to start at
+     * @param to The node to end at
+     * @return The nodes of the path, including the start and end nodes, or null if there is no such path
+     * @since 2.0.0
+     */
+    public int @Nullable[] findShortestPath(int from, int to);
+
+    /**
+     * Obtains the connected component the given node belongs to. Two nodes are in the same component if and only if
+     * there is a path of starlanes between them, regardless of the direction of the starlanes.
+     *
+     * @param node The node
+     * @return The index of the component, in the range of <code>[0, getComponentCount())</code>
+     * @since 2.0.0
+     */
+    public int getComponent(int node);
+
+    /**
+     * Obtains the amount of connected components of the graph.
+     *
+     * @return The amount of components
+     * @since 2.0.0
+     * @see #getComponent(int)
+     */
+    public int getComponentCount();
+
+    /**
+     * Obtains the amount of neighbours of the given node.
+     *
+     * @param node The node
+     * @return The amount of neighbours
+     * @since 2.0.0
+     */
+    public int getDegree(int node);
+
+    /**
+     * Computes the amount of starlanes that have to be traversed at least in order to get from the source node to
+     * any other node, without traversing more than the given amount of starlanes.
+     *
+     * @param source The node to start at
+     * @param maxHops The maximum amount of starlanes to traverse
+     * @param distances The array to write the distances to, indexed by the node. The array must be at least
+     * {@link #getNodeCount()} elements long. Nodes that cannot be reached are assigned a distance of -1.
+     * @return The amount of reached nodes, including the source node
+     * @since 2.0.0
+     */
+    public int getHopDistances(int source, int maxHops, int @NotNull[] distances);
+
+    /**
+     * Obtains a neighbour of the given node.
+     *
+     * @param node The node
+     * @param index The index of the neighbour, in the range of <code>[0, getDegree(node))</code>
+     * @return The neighbouring node
+     * @since 2.0.0
+     */
+    public int getNeighbour(int node, int index);
+
+    /**
+     * Obtains the node of the given star.
+     *
+     * @param star The star
+     * @return The node of the star, or -1 if the star is not part of the galaxy
+     * @since 2.0.0
+     */
+    public int getNode(@NotNull Star star);
+
+    /**
+     * Obtains the amount of nodes in the graph, which is the amount of stars in the galaxy.
+     *
+     * @return The amount of nodes
+     * @since 2.0.0
+     */
+    public int getNodeCount();
+
+    /**
+     * Obtains all nodes that can be reached from the source node by traversing at most the given amount of starlanes.
+     * The nodes are ordered by their distance to the source node, with the source node being the first node.
+     *
+     * @param source The node to start at
+     * @param maxHops The maximum amount of starlanes to traverse
+     * @return A newly allocated array of the reached nodes
+     * @since 2.0.0
+     */
+    public int @NotNull[] getNodesWithinHops(int source, int maxHops);
+
+    /**
+     * Obtains the revision of the node indices. The revision changes whenever the graph was rebuilt, which
+     * invalidates all previously obtained node indices.
+     *
+     * @return The current revision
+     * @since 2.0.0
+     */
+    public int getRevision();
+
+    /**
+     * Obtains the star of the given node.
+     *
+     * @param node The node
+     * @return The star of the node
+     * @since 2.0.0
+     */
+    @NotNull
+    public Star getStar(int node);
+
+    /**
+     * Queries whether there is a starlane from one node to another node.
+     *
+     * @param from The node the starlane starts at
+     * @param to The node the starlane ends at
+     * @return True if the second node is a neighbour of the first node
+     * @since 2.0.0
+     */
+    public boolean isConnected(int from, int to);
+
+    /**
+     * Queries whether there is a starlane from one star to another star.
+     *
+     * @param from The star the starlane starts at
+     * @param to The star the starlane ends at
+     * @return True if the second star is a neighbour of the first star
+     * @since 2.0.0
+     */
+    public boolean isConnected(@NotNull Star from, @NotNull Star to);
+
+    /**
+     * Resynchronises the neighbours of a single star with the graph. This happens automatically whenever
+     * the neighbours of a star are changed via the API or the game, but may be needed if the vector returned by
+     * {@link Star#getNeighbours()} is modified directly.
+     *
+     * @param star The star whose neighbours changed
+     * @since 2.0.0
+     */
+    public void update(@NotNull Star star);
+}
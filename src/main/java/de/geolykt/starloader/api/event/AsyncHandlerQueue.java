@@ -0,0 +1,188 @@
+package de.geolykt.starloader.api.event;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The bounded queue of pending events of an asynchronous {@link EventHandler}.
+ * Any thread may queue events, but only a single worker drains the queue of a handler at any given time.
+ */
+final class AsyncHandlerQueue implements Runnable {
+
+    /**
+     * The maximum amount of events that are processed by a worker before the handler is rescheduled.
+     * This avoids a busy handler from starving other handlers that share the worker pool.
+     */
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    /**
+     * Whether the current thread is draining the queue of an asynchronous handler.
+     * Such threads must not wait for room in a queue, as they might be the ones that would need to drain it.
+     */
+    private static final ThreadLocal<Boolean> DRAINING = new ThreadLocal<>();
+
+    /**
+     * The maximum amount of milliseconds a thread waits for room in a queue with the {@link AsyncOverflowPolicy#BLOCK}
+     * policy. Waiting indefinitely would deadlock if the handler waits for the firing thread, for example by
+     * acquiring the lock of the simulation loop.
+     */
+    private static final long MAX_BLOCK_MILLIS = 5000L;
+
+    @Nullable
+    private static volatile Executor executor;
+
+    @NotNull
+    private static Executor getExecutor() {
+        Executor executor = AsyncHandlerQueue.executor;
+        if (executor == null) {
+            synchronized (AsyncHandlerQueue.class) {
+                executor = AsyncHandlerQueue.executor;
+                if (executor == null) {
+                    AsyncHandlerQueue.executor = executor = AsyncHandlerQueue.newDefaultExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    @NotNull
+    private static ExecutorService newDefaultExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ExecutorService service = Executors.newFixedThreadPool(threads, (runnable) -> {
+            Thread thread = new Thread(runnable, "SLAPI-Async-Event-Worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (service == null) {
+            throw new InternalError();
+        }
+        return service;
+    }
+
+    static void setExecutor(@NotNull Executor executor) {
+        AsyncHandlerQueue.executor = executor;
+    }
+
+    private volatile boolean closed;
+
+    @NotNull
+    private final RegisteredHandler handler;
+
+    @NotNull
+    private final AsyncOverflowPolicy overflowPolicy;
+
+    @NotNull
+    private final BlockingQueue<@NotNull Event> queue;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    AsyncHandlerQueue(@NotNull RegisteredHandler handler, int capacity, @NotNull AsyncOverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity of " + handler.method + " must be positive, but it is " + capacity);
+        }
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Discards all pending events and rejects all further events.
+     * Used once the handler was unregistered.
+     */
+    void close() {
+        this.closed = true;
+        this.queue.clear();
+    }
+
+    @Override
+    public void run() {
+        // The executor might run the queue within a thread that is already draining another queue
+        Boolean draining = AsyncHandlerQueue.DRAINING.get();
+        AsyncHandlerQueue.DRAINING.set(Boolean.TRUE);
+        try {
+            boolean recordMetrics = EventManager.isMetricsEnabled();
+            for (int i = 0; i < AsyncHandlerQueue.DRAIN_BATCH_SIZE && !this.closed; i++) {
+                Event event = this.queue.poll();
+                if (event == null) {
+                    break;
+                }
+                try {
+                    if (recordMetrics) {
+                        this.handler.invokeRecordedDirectly(event);
+                    } else {
+                        this.handler.invokeDirectly(event);
+                    }
+                } catch (Throwable t) {
+                    t.printStackTrace();
+                }
+            }
+        } finally {
+            if (draining == null) {
+                AsyncHandlerQueue.DRAINING.remove();
+            }
+            this.scheduled.set(false);
+            if (!this.queue.isEmpty() && !this.closed) {
+                this.schedule();
+            }
+        }
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            AsyncHandlerQueue.getExecutor().execute(this);
+        }
+    }
+
+    /**
+     * Queues an event for the handler and makes sure that a worker will process the queue.
+     *
+     * @param event The event to queue
+     */
+    void submit(@NotNull Event event) {
+        if (this.closed) {
+            return;
+        }
+        switch (this.overflowPolicy) {
+        case BLOCK:
+            try {
+                long timeout = AsyncHandlerQueue.DRAINING.get() == null ? AsyncHandlerQueue.MAX_BLOCK_MILLIS : 0L;
+                if (!this.queue.offer(event, timeout, TimeUnit.MILLISECONDS)) {
+                    this.handler.recordDropped(event);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                this.handler.recordDropped(event);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            break;
+        case DROP_OLDEST:
+            while (!this.queue.offer(event)) {
+                Event dropped = this.queue.poll();
+                if (dropped != null) {
+                    this.handler.recordDropped(dropped);
+                }
+            }
+            break;
+        case DROP:
+            if (!this.queue.offer(event)) {
+                this.handler.recordDropped(event);
+                return;
+            }
+            break;
+        default:
+            throw new IllegalStateException("Unknown overflow policy: " + this.overflowPolicy);
+        }
+        this.schedule();
+    }
+}
@@ -0,0 +1,33 @@
+package de.geolykt.starloader.api.event;
+
+/**
+ * The policy that is applied when an event is fired to an asynchronous {@link EventHandler}
+ * whose queue of pending events is full.
+ *
+ * @see EventHandler#async()
+ * @since 2.0.0
+ */
+public enum AsyncOverflowPolicy {
+
+    /**
+     * The firing thread waits until the handler has processed enough events to make room for the new event.
+     * Slow handlers will thus stall the thread that fires the event, which is usually the simulation loop.
+     *
+     * <p>In order to not deadlock, the firing thread waits for at most a few seconds, after which the new event is
+     * discarded. Events that are fired from within an asynchronous handler are discarded right away if the queue is
+     * full, as the thread might be the one that would need to drain the queue.
+     */
+    BLOCK,
+
+    /**
+     * The oldest pending event is discarded in favour of the new event, regardless of the class of either event.
+     * This is useful for handlers that are only interested in the most recent state, such as telemetry exporters.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new event is discarded. The handler is only going to see the events that were queued before
+     * the queue ran full.
+     */
+    DROP;
+}
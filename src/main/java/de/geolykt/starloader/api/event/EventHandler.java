@@ -24,6 +24,40 @@ public @interface EventHandler {
      */
     EventPriority value() default EventPriority.MEDIUM;
 
+    /**
+     * Defines whether the event handler should be invoked outside of the thread that fires the event.
+     * Asynchronous handlers are invoked by a worker pool after the event has been fired, which
+     * means that they cannot meaningfully modify or cancel the event and that they may run concurrently to
+     * the simulation loop. Events are passed to a single asynchronous handler in the order in which they were
+     * queued, and the handler is never invoked by two worker threads at the same time.
+     *
+     * <p>Asynchronous handlers are intended for listeners that do not need to run within the simulation tick,
+     * for example loggers or telemetry exporters.
+     *
+     * @return True to invoke the handler asynchronously, false to invoke it within the firing thread.
+     * @see EventManager#setAsyncExecutor(java.util.concurrent.Executor)
+     * @since 2.0.0
+     */
+    boolean async() default false;
+
+    /**
+     * The maximum amount of events that can be pending for an asynchronous handler.
+     * Ignored if {@link #async()} is false.
+     *
+     * @return The capacity of the event queue of the handler, must be positive
+     * @since 2.0.0
+     */
+    int queueCapacity() default 1024;
+
+    /**
+     * The policy to apply if an event is fired while the queue of an asynchronous handler is full.
+     * Ignored if {@link #async()} is false.
+     *
+     * @return The {@link AsyncOverflowPolicy} of the handler
+     * @since 2.0.0
+     */
+    AsyncOverflowPolicy overflowPolicy() default AsyncOverflowPolicy.DROP;
+
     /*
      * Defines whether the event handler is still called when the event is
      * cancelled. It can be set to true to be able to bring an event back from the
@@ -1,13 +1,18 @@
 package de.geolykt.starloader.api.event;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,29 +22,94 @@ import org.slf4j.LoggerFactory;
 import de.geolykt.starloader.DebugNagException;
 import de.geolykt.starloader.impl.JavaInterop;
 
-// I'm open to a refractor for both efficiency and convenience
+/**
+ * The central event bus of the Starloader API.
+ *
+ * <p>Each {@link EventHandler} is compiled into a {@link java.lang.invoke.MethodHandle} when the listener
+ * is registered. When an event is fired, all handlers that are applicable to the class of the event
+ * are flattened into a single array ordered by {@link EventPriority}, which is cached for the event class.
+ * Firing an event is thus a single array walk with no reflective calls and no per-priority lookups.
+ *
+ * <p>Registering or unregistering a listener only touches the dispatch tables of the event classes that
+ * are affected by the handlers of the listener. The tables are never modified in place; instead a modified copy
+ * is created and published once it is complete, so dispatching never observes a partially updated table.
+ *
+ * <p>All methods of this class are thread-safe. The handlers and their dispatch tables are held by an immutable
+ * snapshot that is swapped atomically whenever the set of listeners changes. Firing events never acquires a lock,
+ * so events can be fired from the simulation loop, the render thread and any other thread concurrently.
+ * Modifications to the set of listeners are serialized with each other, but do not block event dispatch.
+ * Events fired concurrently to the registration or removal of a listener may or may not be passed to the listener.
+ *
+ * <p>For diagnostic purposes the time spent within each handler can be recorded, see {@link #setMetricsEnabled(boolean)}.
+ * Metrics recording can also be enabled at startup by setting the system property
+ * <code>de.geolykt.starloader.api.event.EventManager.METRICS_CSV</code> to the path of a file, at which point
+ * the SLAPI implementation will periodically write the metrics to that file in the CSV format until it is unloaded.
+ * The interval can be set in seconds via the <code>de.geolykt.starloader.api.event.EventManager.METRICS_CSV_INTERVAL</code>
+ * system property and defaults to 10 seconds.
+ */
 public final class EventManager {
 
     private EventManager() {
     } // The class should not be constructed
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(EventManager.class);
+    /**
+     * An immutable view of all registered handlers. The dispatch tables are computed lazily and stored
+     * in a concurrent map that is private to the snapshot, which means that a table that is computed from an
+     * outdated snapshot is never visible through a newer snapshot.
+     */
+    private static final class DispatchSnapshot {
+
+        @NotNull
+        private final RegisteredHandler @NotNull[] sortedHandlers;
+
+        @NotNull
+        private final ConcurrentMap<Class<?>, @NotNull RegisteredHandler @NotNull[]> tables;
+
+        private final boolean recordMetrics;
+
+        private DispatchSnapshot(@NotNull RegisteredHandler @NotNull[] sortedHandlers, @NotNull ConcurrentMap<Class<?>, @NotNull RegisteredHandler @NotNull[]> tables, boolean recordMetrics) {
+            this.sortedHandlers = sortedHandlers;
+            this.tables = tables;
+            this.recordMetrics = recordMetrics;
+        }
+
+        @NotNull
+        private RegisteredHandler @NotNull[] getDispatchTable(@NotNull Class<?> eventClass) {
+            RegisteredHandler[] table = this.tables.get(eventClass);
+            if (table == null) {
+                // Racing threads compute the same table, so it does not matter whose table is kept
+                table = EventManager.filterAccepting(this.sortedHandlers, eventClass);
+                RegisteredHandler[] witness = this.tables.putIfAbsent(eventClass, table);
+                if (witness != null) {
+                    table = witness;
+                }
+            }
+            return table;
+        }
+    }
 
-    private static final Map<Listener, List<@NotNull Method>> LISTENERS = new HashMap<>();
+    @NotNull
+    private static final RegisteredHandler[] NO_HANDLERS = new RegisteredHandler[0];
 
-    private static boolean wasBuilt = false;
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventManager.class);
 
     /**
-     * Registers an event listener if it was not yet registered and rebuilds if
-     * needed.
-     *
-     * @param listener The {@link Listener} to add to the pool of active listeners
+     * The handlers of every registered listener, in the order in which the listeners were registered.
+     * Guarded by it's own monitor, which must be held while the {@link #snapshot} is replaced.
      */
-    public static void registerListener(@NotNull Listener listener) {
-        if (LISTENERS.containsKey(listener)) {
-            return;
-        }
-        List<@NotNull Method> handlers = new ArrayList<>();
+    private static final Map<Listener, @NotNull RegisteredHandler @NotNull[]> LISTENERS = new LinkedHashMap<>();
+
+    /**
+     * The currently active snapshot of all registered handlers and their dispatch tables.
+     * Handlers within the snapshot are sorted by {@link EventPriority}. Handlers with the same priority are sorted
+     * by the order in which their listeners were registered.
+     */
+    @NotNull
+    private static volatile DispatchSnapshot snapshot = new DispatchSnapshot(EventManager.NO_HANDLERS, new ConcurrentHashMap<>(), false);
+
+    @NotNull
+    private static RegisteredHandler @NotNull[] compileHandlers(@NotNull Listener listener) {
+        List<@NotNull RegisteredHandler> handlers = new ArrayList<>();
         Method[] methods = listener.getClass().getDeclaredMethods();
         for (Method method : methods) {
             if (method.isAnnotationPresent(EventHandler.class)) {
@@ -55,55 +125,42 @@ public final class EventManager {
                     DebugNagException.nag("Cannot make method " + method + " accessible!");
                     continue;
                 }
-                handlers.add(method);
+                try {
+                    handlers.add(new RegisteredHandler(listener, method));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    DebugNagException.nag("Cannot compile event handler " + method + ": " + e);
+                }
             }
         }
-        LISTENERS.put(listener, handlers);
-        if (wasBuilt) {
-            rebuild();
-        }
+        return EventManager.sortByPriority(handlers.toArray(new RegisteredHandler[0]));
     }
 
-    /**
-     * Removes the listener from the active listener pool and rebuilds if needed.
-     *
-     * @param listener The {@link Listener} to remove
-     */
-    public static void unregisterListener(@NotNull Listener listener) {
-        if (LISTENERS.containsKey(listener)) {
-            LISTENERS.remove(listener);
-            if (wasBuilt) {
-                rebuild();
+    @NotNull
+    private static RegisteredHandler @NotNull[] filterAccepting(@NotNull RegisteredHandler @NotNull[] handlers, @NotNull Class<?> eventClass) {
+        int count = 0;
+        for (RegisteredHandler handler : handlers) {
+            if (handler.accepts(eventClass)) {
+                count++;
             }
         }
-    }
-
-    private static final List<Map<Class<?>, List<Map.Entry<Listener, Method>>>> EVENT_HANDLERS = new ArrayList<>(
-            EventPriority.values().length);
-
-    private static void rebuild() {
-        wasBuilt = true;
-        LOGGER.info("Rebuilding event tree");
-        EVENT_HANDLERS.clear();
-        for (EventPriority prio : EventPriority.values()) {
-            EVENT_HANDLERS.add(prio.ordinal(), new HashMap<>());
+        if (count == 0) {
+            return EventManager.NO_HANDLERS;
+        } else if (count == handlers.length) {
+            return handlers;
         }
-        LISTENERS.forEach((listener, handles) -> {
-            for (Method handle : handles) {
-                EventHandler info = handle.getDeclaredAnnotation(EventHandler.class);
-                Class<?> clazz = handle.getParameters()[0].getType();
-                while (Event.class.isAssignableFrom(clazz)) {
-                    List<Map.Entry<Listener, Method>> eventHandles = EVENT_HANDLERS.get(info.value().ordinal())
-                            .get(clazz);
-                    if (eventHandles == null) {
-                        eventHandles = new ArrayList<>();
-                    }
-                    eventHandles.add(new AbstractMap.SimpleImmutableEntry<>(listener, handle));
-                    EVENT_HANDLERS.get(info.value().ordinal()).put(clazz, eventHandles);
-                    clazz = clazz.getSuperclass();
-                }
+        RegisteredHandler[] applicable = new RegisteredHandler[count];
+        count = 0;
+        for (RegisteredHandler handler : handlers) {
+            if (handler.accepts(eventClass)) {
+                applicable[count++] = handler;
             }
-        });
+        }
+        return applicable;
+    }
+
+    @NotNull
+    private static RegisteredHandler @NotNull[] getDispatchTable(@NotNull Class<?> eventClass) {
+        return EventManager.snapshot.getDispatchTable(eventClass);
     }
 
     /**
@@ -112,21 +169,24 @@ public final class EventManager {
      * @param event The {@link Event} to pass
      */
     public static void handleEvent(@NotNull Event event) {
-        if (!wasBuilt) {
-            rebuild();
-        }
-        for (EventPriority prio : EventPriority.values()) {
-            List<Map.Entry<Listener, Method>> methods = EVENT_HANDLERS.get(prio.ordinal()).get(event.getClass());
-            if (methods == null) {
-                continue;
-            }
-            for (Map.Entry<Listener, Method> method : methods) {
+        DispatchSnapshot snapshot = EventManager.snapshot;
+        RegisteredHandler[] handlers = snapshot.getDispatchTable(event.getClass());
+        if (snapshot.recordMetrics) {
+            for (RegisteredHandler handler : handlers) {
                 try {
-                    method.getValue().invoke(method.getKey(), event);
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    e.printStackTrace();
+                    handler.invokeRecorded(event);
+                } catch (Throwable t) {
+                    t.printStackTrace();
                 }
             }
+            return;
+        }
+        for (RegisteredHandler handler : handlers) {
+            try {
+                handler.invoke(event);
+            } catch (Throwable t) {
+                t.printStackTrace();
+            }
         }
     }
 
@@ -134,31 +194,319 @@ public final class EventManager {
      * Fires an event by passing it to all registered listeners.
      * Unlike {@link #handleEvent(Event)}, this will method will stop
      * on encountering an exception or error and will return it.
+     * Exceptions thrown by asynchronous handlers are not returned.
      *
      * @param event The {@link Event} to pass
      * @return The caught throwable
      */
     public static @Nullable Throwable handleEventExcept(Event event) {
-        if (!wasBuilt) {
+        DispatchSnapshot snapshot = EventManager.snapshot;
+        RegisteredHandler[] handlers;
+        try {
+            handlers = snapshot.getDispatchTable(event.getClass());
+        } catch (Throwable t) {
+            return t;
+        }
+        for (RegisteredHandler handler : handlers) {
             try {
-                rebuild();
+                if (snapshot.recordMetrics) {
+                    handler.invokeRecorded(event);
+                } else {
+                    handler.invoke(event);
+                }
             } catch (Throwable t) {
                 return t;
             }
         }
-        for (EventPriority prio : EventPriority.values()) {
-            List<Map.Entry<Listener, Method>> methods = EVENT_HANDLERS.get(prio.ordinal()).get(event.getClass());
-            if (methods == null) {
-                continue;
+        return null;
+    }
+
+    /**
+     * Obtains a snapshot of all metrics that were recorded while metrics recording was enabled.
+     * Only the handlers of currently registered listeners are included. Each {@link HandlerMetrics} instance
+     * covers a single handler and a single event class.
+     *
+     * @return A newly created list of recorded metrics
+     * @see #setMetricsEnabled(boolean)
+     * @since 2.0.0
+     */
+    @NotNull
+    public static List<@NotNull HandlerMetrics> getMetrics() {
+        List<@NotNull HandlerMetrics> metrics = new ArrayList<>();
+        synchronized (EventManager.LISTENERS) {
+            for (RegisteredHandler @NotNull[] handlers : EventManager.LISTENERS.values()) {
+                for (RegisteredHandler handler : handlers) {
+                    for (HandlerStatistics stats : handler.statistics.values()) {
+                        @SuppressWarnings("unchecked")
+                        Class<? extends Event> eventClass = (Class<? extends Event>) stats.eventClass;
+                        metrics.add(new HandlerMetrics(handler.listener, handler.method, eventClass, stats.invocations.sum(),
+                                stats.totalNanos.sum(), stats.maxNanos.get(), stats.exceptions.sum(), stats.droppedEvents.sum()));
+                    }
+                }
             }
-            for (Map.Entry<Listener, Method> method : methods) {
-                try {
-                    method.getValue().invoke(method.getKey(), event);
-                } catch (Throwable t) {
-                    return t;
+        }
+        return metrics;
+    }
+
+    /**
+     * Checks whether any handler would be invoked if an event of the given class were to be fired.
+     * Callers may use this method in order to skip the construction of the event object entirely if
+     * nobody is listening for it.
+     *
+     * <p>The answer is backed by the same per-class dispatch table that is used by {@link #handleEvent(Event)},
+     * which means that the cost of this method is a single map lookup once the table was computed.
+     * Note that the given class must be the exact class of the event that would be fired - the handlers
+     * of subclasses of the given class are not taken into account.
+     *
+     * @param eventClass The class of the event that would be fired
+     * @return True if there is at least one applicable handler, false otherwise
+     * @since 2.0.0
+     */
+    public static boolean hasListeners(@NotNull Class<? extends Event> eventClass) {
+        return EventManager.getDispatchTable(eventClass).length != 0;
+    }
+
+    /**
+     * Checks whether the time spent within event handlers is currently recorded.
+     *
+     * @return True if metrics are recorded, false otherwise
+     * @see #setMetricsEnabled(boolean)
+     * @since 2.0.0
+     */
+    public static boolean isMetricsEnabled() {
+        return EventManager.snapshot.recordMetrics;
+    }
+
+    /**
+     * Merges two arrays of handlers that are each sorted by {@link EventPriority}.
+     * If two handlers share the same priority, the handler of the first array will come first.
+     *
+     * @param a The first sorted array
+     * @param b The second sorted array
+     * @return The sorted union of both arrays
+     */
+    @NotNull
+    private static RegisteredHandler @NotNull[] merge(@NotNull RegisteredHandler @NotNull[] a, @NotNull RegisteredHandler @NotNull[] b) {
+        if (b.length == 0) {
+            return a;
+        } else if (a.length == 0) {
+            return b;
+        }
+        RegisteredHandler[] merged = new RegisteredHandler[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (b[j].priority.ordinal() < a[i].priority.ordinal()) {
+                merged[k++] = b[j++];
+            } else {
+                merged[k++] = a[i++];
+            }
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[k++] = b[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * Registers an event listener if it was not yet registered.
+     * Only the dispatch tables of the events the listener is interested in are updated.
+     *
+     * @param listener The {@link Listener} to add to the pool of active listeners
+     */
+    public static void registerListener(@NotNull Listener listener) {
+        synchronized (EventManager.LISTENERS) {
+            if (EventManager.LISTENERS.containsKey(listener)) {
+                return;
+            }
+            RegisteredHandler[] handlers = EventManager.compileHandlers(listener);
+            EventManager.LISTENERS.put(listener, handlers);
+            EventManager.updateTables(handlers, true);
+        }
+    }
+
+    /**
+     * Registers multiple event listeners at once. Listeners that are already registered are skipped.
+     * This method behaves like calling {@link #registerListener(Listener)} for every listener in the
+     * order of the collection, but it updates the dispatch tables only once. It should therefore be
+     * preferred when many listeners are registered at the same time, for example during startup.
+     *
+     * @param listeners The {@link Listener Listeners} to add to the pool of active listeners
+     * @since 2.0.0
+     */
+    public static void registerListeners(@NotNull Collection<? extends @NotNull Listener> listeners) {
+        synchronized (EventManager.LISTENERS) {
+            RegisteredHandler[] added = EventManager.NO_HANDLERS;
+            for (Listener listener : listeners) {
+                if (EventManager.LISTENERS.containsKey(listener)) {
+                    continue;
                 }
+                RegisteredHandler[] handlers = EventManager.compileHandlers(listener);
+                EventManager.LISTENERS.put(listener, handlers);
+                added = EventManager.merge(added, handlers);
             }
+            EventManager.updateTables(added, true);
+        }
+    }
+
+    @NotNull
+    private static RegisteredHandler @NotNull[] removeAll(@NotNull RegisteredHandler @NotNull[] source, @NotNull RegisteredHandler @NotNull[] removed) {
+        List<RegisteredHandler> retained = new ArrayList<>(source.length);
+        outerLoop:
+        for (RegisteredHandler handler : source) {
+            for (RegisteredHandler removedHandler : removed) {
+                if (removedHandler == handler) {
+                    continue outerLoop;
+                }
+            }
+            retained.add(handler);
+        }
+        if (retained.isEmpty()) {
+            return EventManager.NO_HANDLERS;
+        }
+        return retained.toArray(new RegisteredHandler[0]);
+    }
+
+    /**
+     * Discards all metrics that were recorded so far.
+     *
+     * @since 2.0.0
+     */
+    public static void resetMetrics() {
+        synchronized (EventManager.LISTENERS) {
+            for (RegisteredHandler @NotNull[] handlers : EventManager.LISTENERS.values()) {
+                for (RegisteredHandler handler : handlers) {
+                    handler.statistics.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the {@link Executor} that invokes asynchronous event handlers.
+     * By default a pool of daemon threads that is sized according to the amount of available processors is used.
+     * Handlers that already have events pending might use the previous executor for those events.
+     *
+     * @param executor The executor to use for asynchronous event handlers
+     * @see EventHandler#async()
+     * @since 2.0.0
+     */
+    public static void setAsyncExecutor(@NotNull Executor executor) {
+        AsyncHandlerQueue.setExecutor(Objects.requireNonNull(executor, "executor may not be null"));
+    }
+
+    /**
+     * Enables or disables the recording of metrics. While enabled, the amount of invocations, exceptions and
+     * the cumulative as well as the maximum time spent in each handler is recorded for every event class.
+     * The recorded metrics can be obtained through {@link #getMetrics()}.
+     *
+     * <p>While disabled, no metrics are recorded and event dispatch does not incur any overhead. Disabling
+     * metrics recording does not discard the already recorded metrics, use {@link #resetMetrics()} for that.
+     *
+     * @param enabled True to record metrics, false to stop recording them
+     * @since 2.0.0
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        synchronized (EventManager.LISTENERS) {
+            DispatchSnapshot oldSnapshot = EventManager.snapshot;
+            if (oldSnapshot.recordMetrics != enabled) {
+                EventManager.snapshot = new DispatchSnapshot(oldSnapshot.sortedHandlers, oldSnapshot.tables, enabled);
+            }
+        }
+    }
+
+    @NotNull
+    private static RegisteredHandler @NotNull[] sortByPriority(@NotNull RegisteredHandler @NotNull[] handlers) {
+        // Stable sort, which means that the declaration order is retained within the same priority
+        Arrays.sort(handlers, (h1, h2) -> Integer.compare(h1.priority.ordinal(), h2.priority.ordinal()));
+        return handlers;
+    }
+
+    /**
+     * Removes the listener from the active listener pool.
+     * Only the dispatch tables of the events the listener was interested in are updated.
+     *
+     * @param listener The {@link Listener} to remove
+     */
+    public static void unregisterListener(@NotNull Listener listener) {
+        synchronized (EventManager.LISTENERS) {
+            RegisteredHandler[] handlers = EventManager.LISTENERS.remove(listener);
+            if (handlers != null) {
+                EventManager.updateTables(handlers, false);
+                for (RegisteredHandler handler : handlers) {
+                    AsyncHandlerQueue asyncQueue = handler.asyncQueue;
+                    if (asyncQueue != null) {
+                        asyncQueue.close();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes a new snapshot containing new versions of the handler list and of the dispatch tables that
+     * are affected by the given handlers. Unaffected dispatch tables are shared with the previous snapshot.
+     * Must be called while holding the monitor of {@link #LISTENERS}.
+     *
+     * @param handlers The handlers that were added or removed, sorted by priority
+     * @param add True if the handlers were added, false if they were removed
+     */
+    private static void updateTables(@NotNull RegisteredHandler @NotNull[] handlers, boolean add) {
+        if (handlers.length == 0) {
+            return;
+        }
+        DispatchSnapshot oldSnapshot = EventManager.snapshot;
+        Map<Class<?>, @NotNull RegisteredHandler @NotNull[]> oldTables = oldSnapshot.tables;
+        ConcurrentMap<Class<?>, @NotNull RegisteredHandler @NotNull[]> newTables = new ConcurrentHashMap<>(oldTables);
+        int affected = 0;
+        for (Map.Entry<Class<?>, @NotNull RegisteredHandler @NotNull[]> entry : oldTables.entrySet()) {
+            Class<?> eventClass = entry.getKey();
+            RegisteredHandler[] delta = EventManager.filterAccepting(handlers, eventClass);
+            if (delta.length == 0) {
+                continue;
+            }
+            affected++;
+            if (add) {
+                newTables.put(eventClass, EventManager.merge(entry.getValue(), delta));
+            } else {
+                newTables.put(eventClass, EventManager.removeAll(entry.getValue(), delta));
+            }
+        }
+        RegisteredHandler[] sortedHandlers;
+        if (add) {
+            sortedHandlers = EventManager.merge(oldSnapshot.sortedHandlers, handlers);
+        } else {
+            sortedHandlers = EventManager.removeAll(oldSnapshot.sortedHandlers, handlers);
+        }
+        EventManager.snapshot = new DispatchSnapshot(sortedHandlers, newTables, oldSnapshot.recordMetrics);
+        EventManager.LOGGER.debug("Updated {} of {} event dispatch tables for {} handlers", affected, oldTables.size(), handlers.length);
+    }
+
+    /**
+     * Writes all metrics obtained by {@link #getMetrics()} in the CSV format, including a header line.
+     * The columns are the class of the listener, the name of the handler method, the class of the fired event,
+     * the amount of invocations, the cumulative nanoseconds, the maximum nanoseconds, the amount of exceptions
+     * and the amount of discarded events.
+     *
+     * @param out The {@link Appendable} to write the metrics to
+     * @throws IOException If the underlying {@link Appendable} throws it
+     * @since 2.0.0
+     */
+    public static void writeMetricsCSV(@NotNull Appendable out) throws IOException {
+        out.append("listener,handler,event,invocations,total_nanos,max_nanos,exceptions,dropped_events\r\n");
+        for (HandlerMetrics metrics : EventManager.getMetrics()) {
+            out.append(metrics.getListener().getClass().getName()).append(',');
+            out.append(metrics.getHandler().getName()).append(',');
+            out.append(metrics.getEventClass().getName()).append(',');
+            out.append(Long.toString(metrics.getInvocations())).append(',');
+            out.append(Long.toString(metrics.getTotalNanos())).append(',');
+            out.append(Long.toString(metrics.getMaxNanos())).append(',');
+            out.append(Long.toString(metrics.getExceptions())).append(',');
+            out.append(Long.toString(metrics.getDroppedEvents())).append("\r\n");
         }
-        return null;
     }
 }
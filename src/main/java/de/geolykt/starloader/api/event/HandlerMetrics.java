@@ -0,0 +1,132 @@
+package de.geolykt.starloader.api.event;
+
+import java.lang.reflect.Method;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable snapshot of the metrics that were recorded for a single {@link EventHandler} and a single
+ * event class while metrics recording was enabled.
+ *
+ * @see EventManager#getMetrics()
+ * @see EventManager#setMetricsEnabled(boolean)
+ * @since 2.0.0
+ */
+public final class HandlerMetrics {
+
+    private final long droppedEvents;
+    @NotNull
+    private final Class<? extends Event> eventClass;
+    private final long exceptions;
+    @NotNull
+    private final Method handler;
+    private final long invocations;
+    @NotNull
+    private final Listener listener;
+    private final long maxNanos;
+    private final long totalNanos;
+
+    HandlerMetrics(@NotNull Listener listener, @NotNull Method handler, @NotNull Class<? extends Event> eventClass,
+            long invocations, long totalNanos, long maxNanos, long exceptions, long droppedEvents) {
+        this.listener = listener;
+        this.handler = handler;
+        this.eventClass = eventClass;
+        this.invocations = invocations;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.exceptions = exceptions;
+        this.droppedEvents = droppedEvents;
+    }
+
+    /**
+     * Obtains the amount of events that were discarded by the queue of an asynchronous handler without
+     * being passed to the handler, as governed by {@link EventHandler#overflowPolicy()}.
+     * Discarded events are not counted as invocations. Always 0 for synchronous handlers.
+     *
+     * @return The amount of discarded events
+     * @since 2.0.0
+     */
+    public long getDroppedEvents() {
+        return this.droppedEvents;
+    }
+
+    /**
+     * Obtains the exact class of the events that were passed to the handler.
+     *
+     * @return The class of the fired events
+     * @since 2.0.0
+     */
+    @NotNull
+    public Class<? extends Event> getEventClass() {
+        return this.eventClass;
+    }
+
+    /**
+     * Obtains the amount of invocations of the handler that ended by throwing an exception or error.
+     *
+     * @return The amount of failed invocations
+     * @since 2.0.0
+     */
+    public long getExceptions() {
+        return this.exceptions;
+    }
+
+    /**
+     * Obtains the {@link EventHandler}-annotated method.
+     *
+     * @return The handler method
+     * @since 2.0.0
+     */
+    @NotNull
+    public Method getHandler() {
+        return this.handler;
+    }
+
+    /**
+     * Obtains the amount of times the handler was invoked.
+     *
+     * @return The amount of invocations
+     * @since 2.0.0
+     */
+    public long getInvocations() {
+        return this.invocations;
+    }
+
+    /**
+     * Obtains the listener instance the handler belongs to.
+     *
+     * @return The listener
+     * @since 2.0.0
+     */
+    @NotNull
+    public Listener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Obtains the longest time a single invocation of the handler took, in nanoseconds.
+     *
+     * @return The maximum duration of an invocation in nanoseconds
+     * @since 2.0.0
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+
+    /**
+     * Obtains the cumulative time spent within the handler, in nanoseconds.
+     *
+     * @return The total duration of all invocations in nanoseconds
+     * @since 2.0.0
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerMetrics[handler = " + this.handler + ", eventClass = " + this.eventClass.getName() + ", invocations = "
+                + this.invocations + ", totalNanos = " + this.totalNanos + ", maxNanos = " + this.maxNanos + ", exceptions = "
+                + this.exceptions + ", droppedEvents = " + this.droppedEvents + "]";
+    }
+}
@@ -0,0 +1,37 @@
+package de.geolykt.starloader.api.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Mutable counters of a {@link RegisteredHandler} for a single event class.
+ * Only used while metrics are recorded, see {@link EventManager#setMetricsEnabled(boolean)}.
+ */
+final class HandlerStatistics {
+
+    final LongAdder droppedEvents = new LongAdder();
+    @NotNull
+    final Class<?> eventClass;
+    final LongAdder exceptions = new LongAdder();
+    final LongAdder invocations = new LongAdder();
+    final AtomicLong maxNanos = new AtomicLong();
+    final LongAdder totalNanos = new LongAdder();
+
+    HandlerStatistics(@NotNull Class<?> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    void record(long nanos, boolean failed) {
+        this.invocations.increment();
+        this.totalNanos.add(nanos);
+        if (failed) {
+            this.exceptions.increment();
+        }
+        long max = this.maxNanos.get();
+        while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+            max = this.maxNanos.get();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package de.geolykt.starloader.api.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single {@link EventHandler}-annotated method bound to the {@link Listener} instance it was declared in.
+ * The reflective {@link Method} is resolved once into a {@link MethodHandle} of the type <code>(Event)void</code>
+ * so that dispatching an event does not go through {@link Method#invoke(Object, Object...)}.
+ * Asynchronous handlers additionally own an {@link AsyncHandlerQueue} to which events are passed instead.
+ */
+final class RegisteredHandler {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Event.class);
+
+    @Nullable
+    final AsyncHandlerQueue asyncQueue;
+
+    @NotNull
+    final Class<?> eventType;
+
+    @NotNull
+    final MethodHandle invoker;
+
+    @NotNull
+    final Listener listener;
+
+    @NotNull
+    final Method method;
+
+    @NotNull
+    final EventPriority priority;
+
+    /**
+     * The metrics of the handler, keyed by the class of the fired event.
+     */
+    @NotNull
+    final ConcurrentMap<Class<?>, @NotNull HandlerStatistics> statistics = new ConcurrentHashMap<>();
+
+    RegisteredHandler(@NotNull Listener listener, @NotNull Method method) throws IllegalAccessException {
+        this.listener = listener;
+        this.method = method;
+        EventHandler annotation = method.getDeclaredAnnotation(EventHandler.class);
+        EventPriority priority = annotation.value();
+        if (priority == null) {
+            throw new IllegalStateException("Priority of handler " + method + " is null");
+        }
+        this.priority = priority;
+        Class<?> eventType = method.getParameterTypes()[0];
+        if (!Event.class.isAssignableFrom(eventType)) {
+            throw new IllegalArgumentException("Handler " + method + " does not accept an event as it's argument.");
+        }
+        this.eventType = eventType;
+        // The unreflected handle is of the type (<ListenerClass>, <EventClass>)<ReturnType>.
+        // Binding the receiver and adapting the signature means that the handle can be called with invokeExact
+        MethodHandle handle = MethodHandles.lookup().unreflect(method).bindTo(listener);
+        this.invoker = handle.asType(RegisteredHandler.INVOKER_TYPE);
+        if (annotation.async()) {
+            AsyncOverflowPolicy overflowPolicy = annotation.overflowPolicy();
+            if (overflowPolicy == null) {
+                throw new IllegalStateException("Overflow policy of handler " + method + " is null");
+            }
+            this.asyncQueue = new AsyncHandlerQueue(this, annotation.queueCapacity(), overflowPolicy);
+        } else {
+            this.asyncQueue = null;
+        }
+    }
+
+    /**
+     * Obtains the metrics of the handler for the given event class, creating them if needed.
+     *
+     * @param eventClass The class of the fired event
+     * @return The metrics for the event class
+     */
+    @NotNull
+    private HandlerStatistics getStatistics(@NotNull Class<?> eventClass) {
+        HandlerStatistics stats = this.statistics.get(eventClass);
+        if (stats == null) {
+            stats = new HandlerStatistics(eventClass);
+            HandlerStatistics witness = this.statistics.putIfAbsent(eventClass, stats);
+            if (witness != null) {
+                stats = witness;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Checks whether the handler is interested in events of the given class.
+     *
+     * @param eventClass The class of the dispatched event
+     * @return True if the handler should be invoked, false otherwise
+     */
+    boolean accepts(@NotNull Class<?> eventClass) {
+        return this.eventType.isAssignableFrom(eventClass);
+    }
+
+    /**
+     * Passes the event to the handler. The event must be accepted by the handler,
+     * see {@link #accepts(Class)}. Synchronous handlers are invoked directly while
+     * asynchronous handlers will have the event queued.
+     *
+     * @param event The event to pass to the handler
+     * @throws Throwable Any exception thrown by the handler
+     */
+    void invoke(@NotNull Event event) throws Throwable {
+        AsyncHandlerQueue asyncQueue = this.asyncQueue;
+        if (asyncQueue == null) {
+            this.invoker.invokeExact(event);
+        } else {
+            asyncQueue.submit(event);
+        }
+    }
+
+    /**
+     * Passes the event to the handler like {@link #invoke(Event)}, but records the time spent within
+     * the handler in {@link #statistics}.
+     *
+     * @param event The event to pass to the handler
+     * @throws Throwable Any exception thrown by the handler
+     */
+    void invokeRecorded(@NotNull Event event) throws Throwable {
+        AsyncHandlerQueue asyncQueue = this.asyncQueue;
+        if (asyncQueue == null) {
+            this.invokeRecordedDirectly(event);
+        } else {
+            asyncQueue.submit(event);
+        }
+    }
+
+    /**
+     * Invokes the handler with the given event within the current thread, regardless of whether the handler
+     * is asynchronous. The time spent within the handler is recorded in {@link #statistics}.
+     *
+     * @param event The event to pass to the handler
+     * @throws Throwable Any exception thrown by the handler
+     */
+    void invokeRecordedDirectly(@NotNull Event event) throws Throwable {
+        HandlerStatistics stats = this.getStatistics(event.getClass());
+        long start = System.nanoTime();
+        try {
+            this.invoker.invokeExact(event);
+        } catch (Throwable t) {
+            stats.record(System.nanoTime() - start, true);
+            throw t;
+        }
+        stats.record(System.nanoTime() - start, false);
+    }
+
+    /**
+     * Invokes the handler with the given event within the current thread, regardless of whether the handler
+     * is asynchronous.
+     *
+     * @param event The event to pass to the handler
+     * @throws Throwable Any exception thrown by the handler
+     */
+    void invokeDirectly(@NotNull Event event) throws Throwable {
+        this.invoker.invokeExact(event);
+    }
+
+    /**
+     * Records that an event was discarded by the {@link #asyncQueue} of the handler without being passed to
+     * the handler. Nothing is recorded if metrics recording is disabled.
+     *
+     * @param event The discarded event
+     */
+    void recordDropped(@NotNull Event event) {
+        if (EventManager.isMetricsEnabled()) {
+            this.getStatistics(event.getClass()).droppedEvents.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RegisteredHandler[listener = " + this.listener + ", method = " + this.method + ", priority = " + this.priority + "]";
+    }
+}
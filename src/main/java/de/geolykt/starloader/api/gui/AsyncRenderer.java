@@ -168,6 +168,27 @@ public interface AsyncRenderer {
         Drawing.asyncImplementation.drawTexture0(region, x, y, width, height, rotation, tint, camera);
     }
 
+    /**
+     * Draws a texture on screen, with the tint being packed into a float as done by {@link Color#toFloatBits()}.
+     * Callers that draw many textures per frame should prefer this method as it does not require a
+     * {@link Color} instance per call.
+     *
+     * @param region     The texture to draw
+     * @param x          The X coordinate of the lower left corner
+     * @param y          The Y coordinate of the lower left corner
+     * @param width      The width of the rectangle to draw.
+     * @param height     The height of the rectangle to draw.
+     * @param rotation   The rotation, assumed to be in radians
+     * @param packedTint The packed tint to draw the region in.
+     * @param camera     The camera to use for the drawing operation
+     * @since 2.0.0
+     * @see #drawTexture(TextureRegion, double, double, double, double, double, Color, Camera)
+     */
+    public static void drawTexture(@NotNull TextureRegion region, double x, double y, double width, double height,
+            double rotation, float packedTint, @NotNull Camera camera) {
+        Drawing.asyncImplementation.drawTexture0(region, x, y, width, height, rotation, packedTint, camera);
+    }
+
     /**
      * Draws a rectangle on the screen with the provided proportions and color.
      * Internally this method invokes
@@ -189,6 +210,25 @@ public interface AsyncRenderer {
                 height, 0F, color, camera);
     }
 
+    /**
+     * Draws a rectangle on the screen with the provided proportions and a color that is packed into a float
+     * as done by {@link Color#toFloatBits()}.
+     *
+     * @param x           The X coordinate of the lower left corner
+     * @param y           The Y coordinate of the lower left corner
+     * @param width       The width of the rectangle to draw.
+     * @param height      The height of the rectangle to draw.
+     * @param packedColor The packed color to fill the with.
+     * @param camera      The camera used for projection handling among other things
+     * @since 2.0.0
+     * @see #fillRect(double, double, double, double, Color, Camera)
+     */
+    public static void fillRect(double x, double y, double width, double height, float packedColor,
+            @NotNull Camera camera) {
+        Drawing.asyncImplementation.drawTexture0(Drawing.getTextureProvider().getSinglePixelSquare(), x, y, width,
+                height, 0F, packedColor, camera);
+    }
+
     /**
      * This method does not only operate like a fillRect() method, but also draws a
      * frame around the rectangle. More specifically this frame linked with
@@ -355,6 +395,29 @@ public interface AsyncRenderer {
     public void drawTexture0(@NotNull TextureRegion region, double x, double y, double width, double height,
             double rotation, @NotNull Color tint, @NotNull Camera camera);
 
+    /**
+     * Draws a texture on screen, with the tint being packed into a float as done by {@link Color#toFloatBits()}.
+     * The default implementation unpacks the tint into a new {@link Color} and delegates to
+     * {@link #drawTexture0(TextureRegion, double, double, double, double, double, Color, Camera)}, implementations
+     * should override this method if they can avoid that allocation.
+     *
+     * @param region     The texture to draw
+     * @param x          The X coordinate of the lower left corner
+     * @param y          The Y coordinate of the lower left corner
+     * @param width      The width of the rectangle to draw.
+     * @param height     The height of the rectangle to draw.
+     * @param rotation   The rotation, assumed to be in radians
+     * @param packedTint The packed tint to draw the region in.
+     * @param camera     The camera to use for the drawing operation
+     * @since 2.0.0
+     */
+    public default void drawTexture0(@NotNull TextureRegion region, double x, double y, double width, double height,
+            double rotation, float packedTint, @NotNull Camera camera) {
+        Color tint = new Color();
+        Color.abgr8888ToColor(tint, packedTint);
+        this.drawTexture0(region, x, y, width, height, rotation, tint, camera);
+    }
+
     /**
      * This method does not only operate like a fillRect() method, but also draws a
      * frame around the rectangle. More specifically this frame linked with
@@ -110,6 +110,48 @@ public final class Drawing {
         implementation.drawLine(x1, y1, x2, y2, width, color, camera);
     }
 
+    /**
+     * Draws a line on the user interface, with the color being packed into a float as done by
+     * {@link Color#toFloatBits()}. Callers that draw many lines per frame should prefer this method
+     * as it does not require a {@link Color} instance per call.
+     *
+     * @param x1          The X position of the origin point of the line
+     * @param y1          The Y position of the origin point of the line
+     * @param x2          The X position of the target point of the line
+     * @param y2          The Y position of the target point of the line
+     * @param width       The width of the line to draw
+     * @param packedColor The packed color of the line that should be drawn
+     * @param camera      The camera, used to move the input positions to the global
+     *                    context.
+     * @since 2.0.0
+     * @see #drawLine(double, double, double, double, float, Color, Camera)
+     */
+    public static void drawLine(double x1, double y1, double x2, double y2, float width, float packedColor,
+            @NotNull Camera camera) {
+        implementation.drawLine(x1, y1, x2, y2, width, packedColor, camera);
+    }
+
+    /**
+     * Draws a buffer of lines with a single drawing operation. If the current thread has an active rendercache,
+     * the lines are submitted as a single render item, otherwise they are drawn directly on the main drawing batch.
+     * Either way this is considerably cheaper than calling
+     * {@link #drawLine(double, double, double, double, float, Color, Camera)} for each line if many lines are drawn.
+     *
+     * <p>The buffers are copied if needed and can thus be reused by the caller as soon as this method returns.
+     *
+     * @param coordinates  The coordinates of the lines, four floats (x1, y1, x2, y2) per line
+     * @param packedColors The colors of the lines, one per line and packed into a float as done by {@link Color#toFloatBits()}
+     * @param count        The amount of lines to draw
+     * @param width        The width of the lines
+     * @param camera       The camera, used to move the input positions to the global context.
+     * @throws IllegalArgumentException If the buffers are too small for the given amount of lines
+     * @since 2.0.0
+     */
+    public static void drawLines(float @NotNull[] coordinates, float @NotNull[] packedColors, int count, float width,
+            @NotNull Camera camera) {
+        implementation.drawLines(coordinates, packedColors, count, width, camera);
+    }
+
     /**
      * Draws text at the given location. The default color is used, which under
      * normal circumstances that's white, however the exact color is dependent on
@@ -201,6 +243,24 @@ public final class Drawing {
         implementation.fillRect(x, y, width, height, fillColor, camera);
     }
 
+    /**
+     * Fills a buffer of rectangles with a single drawing operation. If the current thread has an active rendercache,
+     * the rectangles are submitted as a single render item, otherwise they are drawn directly on the main drawing batch.
+     *
+     * <p>The buffers are copied if needed and can thus be reused by the caller as soon as this method returns.
+     *
+     * @param rectangles   The rectangles, four floats (x, y, width, height) per rectangle where x and y are the
+     *                     coordinates of the lower left corner
+     * @param packedColors The colors of the rectangles, one per rectangle and packed into a float as done by {@link Color#toFloatBits()}
+     * @param count        The amount of rectangles to fill
+     * @param camera       The camera, used to move the input positions to the global context.
+     * @throws IllegalArgumentException If the buffers are too small for the given amount of rectangles
+     * @since 2.0.0
+     */
+    public static void fillRects(float @NotNull[] rectangles, float @NotNull[] packedColors, int count, @NotNull Camera camera) {
+        implementation.fillRects(rectangles, packedColors, count, camera);
+    }
+
     /**
      * <b>As specified by the APINote, this method has unintended consequences. It does not only operate
      * like a fillRect() method, but also draws a frame around the rectangle. More specifically
@@ -65,6 +65,60 @@ public interface DrawingImpl {
     public void drawLine(double x1, double y1, double x2, double y2, float width, @NotNull Color color,
             @NotNull Camera camera);
 
+    /**
+     * Draws a line on the user interface, with the color being packed into a float as done by
+     * {@link Color#toFloatBits()}. The default implementation unpacks the color into a new {@link Color}
+     * and delegates to {@link #drawLine(double, double, double, double, float, Color, Camera)}, implementations
+     * should override this method if they can avoid that allocation.
+     *
+     * @param x1          The X position of the origin point of the line
+     * @param y1          The Y position of the origin point of the line
+     * @param x2          The X position of the target point of the line
+     * @param y2          The Y position of the target point of the line
+     * @param width       The width of the line to draw
+     * @param packedColor The packed color of the line that should be drawn
+     * @param camera      The camera, used to move the input positions to the global
+     *                    context.
+     * @since 2.0.0
+     */
+    public default void drawLine(double x1, double y1, double x2, double y2, float width, float packedColor,
+            @NotNull Camera camera) {
+        Color color = new Color();
+        Color.abgr8888ToColor(color, packedColor);
+        this.drawLine(x1, y1, x2, y2, width, color, camera);
+    }
+
+    /**
+     * Draws a buffer of lines with a single drawing operation. If the current thread has an active rendercache,
+     * the lines are submitted as a single render item, otherwise they are drawn directly on the main drawing batch.
+     * Either way this is considerably cheaper than calling
+     * {@link #drawLine(double, double, double, double, float, Color, Camera)} for each line if many lines are drawn.
+     *
+     * <p>The buffers are copied if needed and can thus be reused by the caller as soon as this method returns.
+     * The default implementation calls {@link #drawLine(double, double, double, double, float, float, Camera)}
+     * for each line, implementations should override this method to draw the lines in bulk.
+     *
+     * @param coordinates  The coordinates of the lines, four floats (x1, y1, x2, y2) per line
+     * @param packedColors The colors of the lines, one per line and packed into a float as done by {@link Color#toFloatBits()}
+     * @param count        The amount of lines to draw
+     * @param width        The width of the lines
+     * @param camera       The camera, used to move the input positions to the global context.
+     * @throws IllegalArgumentException If the buffers are too small for the given amount of lines
+     * @since 2.0.0
+     */
+    public default void drawLines(float @NotNull[] coordinates, float @NotNull[] packedColors, int count, float width,
+            @NotNull Camera camera) {
+        if (count < 0 || count > coordinates.length / 4 || count > packedColors.length) {
+            throw new IllegalArgumentException("The buffers are too small for " + count + " lines (coordinates length: "
+                    + coordinates.length + ", color buffer length: " + packedColors.length + ")");
+        }
+        for (int i = 0; i < count; i++) {
+            int offset = i * 4;
+            this.drawLine(coordinates[offset], coordinates[offset + 1], coordinates[offset + 2], coordinates[offset + 3],
+                    width, packedColors[i], camera);
+        }
+    }
+
     /**
      * Draws text at the given location. The default color is used, which under
      * normal circumstances that's white, however the exact color is dependent on
@@ -146,6 +200,34 @@ public interface DrawingImpl {
     @Deprecated
     public void fillRect(float x, float y, float width, float height, @NotNull Color fillColor, @NotNull Camera camera);
 
+    /**
+     * Fills a buffer of rectangles with a single drawing operation. If the current thread has an active rendercache,
+     * the rectangles are submitted as a single render item, otherwise they are drawn directly on the main drawing batch.
+     *
+     * <p>The buffers are copied if needed and can thus be reused by the caller as soon as this method returns.
+     * The default implementation calls {@link AsyncRenderer#fillRect(double, double, double, double, float, Camera)}
+     * for each rectangle, implementations should override this method to fill the rectangles in bulk.
+     *
+     * @param rectangles   The rectangles, four floats (x, y, width, height) per rectangle where x and y are the
+     *                     coordinates of the lower left corner
+     * @param packedColors The colors of the rectangles, one per rectangle and packed into a float as done by {@link Color#toFloatBits()}
+     * @param count        The amount of rectangles to fill
+     * @param camera       The camera, used to move the input positions to the global context.
+     * @throws IllegalArgumentException If the buffers are too small for the given amount of rectangles
+     * @since 2.0.0
+     */
+    public default void fillRects(float @NotNull[] rectangles, float @NotNull[] packedColors, int count, @NotNull Camera camera) {
+        if (count < 0 || count > rectangles.length / 4 || count > packedColors.length) {
+            throw new IllegalArgumentException("The buffers are too small for " + count + " rectangles (rectangle buffer length: "
+                    + rectangles.length + ", color buffer length: " + packedColors.length + ")");
+        }
+        for (int i = 0; i < count; i++) {
+            int offset = i * 4;
+            AsyncRenderer.fillRect(rectangles[offset], rectangles[offset + 1], rectangles[offset + 2], rectangles[offset + 3],
+                    packedColors[i], camera);
+        }
+    }
+
     /**
      * <b>As specified by the APINote, this method has unintended consequences. It does not only operate
      * like a fillRect() method, but also draws a frame around the rectangle. More specifically
@@ -81,7 +81,21 @@ public interface Canvas {
     public boolean isOpen();
 
     /**
-     * Marks a canvas as dirty, prompting it be redrawn.
+     * Obtains the amount of memory used by the offscreen framebuffer that caches the rendered context of this canvas,
+     * as enabled by {@link CanvasSettings#withFramebufferCache(boolean)}. The memory is estimated based on the size
+     * of the framebuffer, which is the size of the visible part of the canvas in screen pixels, and is allocated on
+     * the graphics card rather than the java heap.
+     *
+     * @return The amount of bytes used by the cache, 0 if there is no cache or if it was not yet allocated
+     * @since 2.0.0
+     */
+    public default long getFramebufferCacheMemory() {
+        return 0L;
+    }
+
+    /**
+     * Marks a canvas as dirty, prompting it be redrawn. This also invalidates the framebuffer cache of the
+     * canvas, if enabled via {@link CanvasSettings#withFramebufferCache(boolean)}.
      *
      * @return The current canvas instance, for chaining
      * @since 2.0.0
@@ -52,6 +52,7 @@ public final class CanvasSettings {
 
     @NotNull
     private final Color backgroundColor;
+    private final boolean framebufferCached;
     private final boolean header;
     @Nullable
     private final Color headerColor;
@@ -69,6 +70,7 @@ public final class CanvasSettings {
         this.backgroundColor = backgroundColor;
         this.headerText = null;
         this.headerColor = null;
+        this.framebufferCached = false;
     }
 
     /**
@@ -97,6 +99,7 @@ public final class CanvasSettings {
         this.backgroundColor = backgroundColor;
         this.headerText = headerText;
         this.headerColor = headerColor;
+        this.framebufferCached = false;
     }
 
     /**
@@ -111,6 +114,14 @@ public final class CanvasSettings {
         this(GalColor.NEAR_SOLID.getGDXColor(), headerText, NullUtils.requireNotNull(Color.ORANGE));
     }
 
+    private CanvasSettings(@NotNull CanvasSettings base, boolean framebufferCached) {
+        this.header = base.header;
+        this.backgroundColor = base.backgroundColor;
+        this.headerText = base.headerText;
+        this.headerColor = base.headerColor;
+        this.framebufferCached = framebufferCached;
+    }
+
     /**
      * Obtains the {@link Color} instance that defines the background of the canvas.
      *
@@ -150,6 +161,18 @@ public final class CanvasSettings {
         return headerText;
     }
 
+    /**
+     * Returns whether the output of {@link CanvasContext#render(com.badlogic.gdx.graphics.g2d.SpriteBatch, com.badlogic.gdx.graphics.Camera)}
+     * is cached in an offscreen framebuffer. See {@link #withFramebufferCache(boolean)}.
+     *
+     * @return True if the rendered context is cached
+     * @since 2.0.0
+     */
+    @Contract(pure = true, value = "-> _")
+    public boolean isFramebufferCached() {
+        return framebufferCached;
+    }
+
     /**
      * Returns whether the canvas settings object has a header or not.
      *
@@ -160,4 +183,28 @@ public final class CanvasSettings {
     public boolean hasHeader() {
         return header;
     }
+
+    /**
+     * Creates a copy of this settings object that either enables or disables caching the output of the {@link CanvasContext}
+     * in an offscreen framebuffer. When enabled, {@link CanvasContext#render(com.badlogic.gdx.graphics.g2d.SpriteBatch, com.badlogic.gdx.graphics.Camera)}
+     * is only invoked after {@link Canvas#markDirty()} was called or the size of the canvas changed. In all other frames
+     * the cached texture is drawn instead, which is far cheaper for contexts whose content rarely changes.
+     *
+     * <p>The cache needs to store a texture the size of the canvas in screen pixels, so it should only be enabled
+     * for canvases that issue a lot of draw calls. Contexts that animate their contents or otherwise change their output
+     * without calling {@link Canvas#markDirty()} will appear frozen when the cache is enabled.
+     * The background, the header and the child canvases are not cached.
+     *
+     * @param framebufferCached Whether to cache the rendered context
+     * @return A new settings instance with the cache enabled or disabled, or this instance if the setting already has the given value
+     * @since 2.0.0
+     */
+    @NotNull
+    @Contract(pure = true, value = "_ -> !null")
+    public CanvasSettings withFramebufferCache(boolean framebufferCached) {
+        if (this.framebufferCached == framebufferCached) {
+            return this;
+        }
+        return new CanvasSettings(this, framebufferCached);
+    }
 }
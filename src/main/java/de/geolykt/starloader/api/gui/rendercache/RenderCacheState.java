@@ -18,7 +18,24 @@ public interface RenderCacheState {
      * @param object The object to push into the state.
      * @since 2.0.0
      * @implNote Internally this api call is "synchronised", concurrent calls are as such acceptable as long as the state
-     * hasn't reached the stage where it is drawn onto the user's screen.
+     * hasn't reached the stage where it is drawn onto the user's screen. Concurrent calls are combined so that only one
+     * of the calling threads needs to obtain the lock.
      */
     public void pushObject(@NotNull RenderObject object);
+
+    /**
+     * Pushes multiple objects into the current state, in the order in which they are present in the array.
+     * Like {@link #pushObject(RenderObject)} this is not done in a persistent manner.
+     * This method should be preferred over pushing the objects one by one when many objects are pushed at once,
+     * as the objects are handed over as a whole.
+     *
+     * @param objects The array of objects to push into the state
+     * @param offset The index of the first object within the array to push
+     * @param length The amount of objects to push
+     * @throws IndexOutOfBoundsException If the range is not within the bounds of the array
+     * @since 2.0.0
+     * @implNote Just like {@link #pushObject(RenderObject)} this call is safe to use concurrently. The objects
+     * of a single call will not be interleaved with objects pushed by other threads.
+     */
+    public void pushObjects(@NotNull RenderObject @NotNull[] objects, int offset, int length);
 }
@@ -90,6 +90,8 @@ public interface Screen extends Iterable<Map.Entry<Vector2, ScreenComponent>> {
     /**
      * Marks the screen dirty, forcing a recalculation of Screen contents.
      * Useful after adding or removing components within the screen.
+     * Implementations may retain the layout of the components between frames, so this method
+     * should also be called after the size or the line wrapping behaviour of a component changed.
      */
     public void markDirty();
 
@@ -40,6 +40,9 @@ public interface Decoder<T> {
      * encoder initially wrote. The input stream implementation will return false for {@link InputStream#markSupported()}
      * among others.
      *
+     * <p>The bytes may be read lazily from the underlying source, which is why decoders of large objects are
+     * encouraged to implement this method without reading the entire stream into memory first.
+     *
      * @param input The source to read the bytes from.
      * @return The deserialised object
      * @throws IOException An {@link IOException} should be thrown when it is not possible to read from the input stream.
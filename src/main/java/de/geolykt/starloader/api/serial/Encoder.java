@@ -1,5 +1,8 @@
 package de.geolykt.starloader.api.serial;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
@@ -35,13 +38,32 @@ public interface Encoder<T> {
      * @param input The input object to serialise
      * @return The byte array the represents the encoded binary form of the input object
      * @since 2.0.0
-     * @implNote The reason there is no encode method that writes directly to a stream
-     * is that the length of the content must be known due to implementation reasons at the decoder's side.
+     * @implNote The length of the content is implicitly known by the decoder's side.
      * This has the side-effect that encoders needn't write the total length of the content unless there is
      * a reasonable reason to do it (e.g. allocating buffers).
      */
     public byte @NotNull [] encode(@NotNull T input);
 
+    /**
+     * Encodes an object by writing it's encoded binary form to an {@link OutputStream}.
+     * The written bytes must be equal to the bytes returned by {@link #encode(Object)}, however this method
+     * allows to encode large objects without needing to materialise the entire encoded form in memory.
+     * The stream must not be closed by the encoder.
+     *
+     * <p>The default implementation writes the array returned by {@link #encode(Object)}, encoders
+     * producing large outputs are encouraged to override this method.
+     *
+     * @param input The input object to serialise
+     * @param out The stream to write the encoded binary form of the input object to
+     * @throws IOException If the underlying stream throws the exception
+     * @since 2.0.0
+     * @implNote Like with {@link #encode(Object)}, the length of the content needn't be written as the caller
+     * is responsible of delimiting the written bytes.
+     */
+    public default void encode(@NotNull T input, @NotNull OutputStream out) throws IOException {
+        out.write(this.encode(input));
+    }
+
     /**
      * Obtains the key used for encoding operations. This basically is used to identify the decoder that needs to be used
      * when an object needs to be deserialised. Thus the key must be the same across both encoder and decoder.
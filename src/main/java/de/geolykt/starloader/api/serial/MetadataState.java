@@ -15,6 +15,11 @@ import de.geolykt.starloader.api.NamespacedKey;
  * Generally the collection of these objects and the objects themselves cannot be mutated, however subclasses
  * such as {@link MetadataCollector} allow for mutation, in which case the state is mutable.
  *
+ * <p>Implementations may memoise decoded objects, in which case {@link #getDeserializedForm(NamespacedKey)} and
+ * {@link #requireDeserializedForm(NamespacedKey)} return the same instance to every caller. Such an instance is owned
+ * by the state and must thus not be mutated. Callers that need a mutable object should decode a private copy
+ * from the {@link #getSerializedForm(NamespacedKey) serialised form} instead.
+ *
  * @since 2.0.0
  */
 public interface MetadataState {
@@ -25,6 +30,10 @@ public interface MetadataState {
      * If the value that was written to the savegame was serialised with a decoder that is no longer registered to the decoder
      * registry, a {@link MissingDecoderException} will be thrown.
      *
+     * <p>The returned object may be shared with all other callers of this method and is owned by this state,
+     * it must not be mutated. Decode a private copy from {@link #getSerializedForm(NamespacedKey)} if a mutable
+     * object is required.
+     *
      * @param key The key to use for the lookup
      * @return An optional that wraps the bytes of the serialised form of the stored metadata object, or an empty optional.
      * @since 2.0.0
@@ -63,6 +72,9 @@ public interface MetadataState {
      * If the value that was written to the savegame was serialised with a decoder that is no longer registered to the decoder
      * registry, a {@link MissingDecoderException} will be thrown.
      *
+     * <p>As with {@link #getDeserializedForm(NamespacedKey)}, the returned object may be shared with all other callers
+     * and must not be mutated.
+     *
      * @param key The key to use for the lookup
      * @return The deserialised object
      * @since 2.0.0
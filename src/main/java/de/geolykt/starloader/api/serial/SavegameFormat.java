@@ -3,6 +3,7 @@ package de.geolykt.starloader.api.serial;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -89,6 +90,38 @@ public interface SavegameFormat {
      */
     public void saveGameState(@NotNull OutputStream out, @Nullable String reason, @Nullable String location, boolean acquireLocks) throws IOException;
 
+    /**
+     * Saves the current state of the game and dumps it into an output stream, while only holding the main
+     * ticking lock for as short as possible. The state of the game is captured into memory while the lock is held,
+     * after which the lock is released and the captured state is written to the output stream on another thread.
+     * The {@link GalaxySavingEvent} is emitted before the state is captured on the calling thread while the
+     * {@link GalaxySavingEndEvent} is emitted once the state was written and flushed, on the writing thread.
+     *
+     * <p>The main ticking lock is always acquired, which means that the method may block for longer periods of time
+     * if the lock is contended. If the calling thread already holds the lock, the lock is not released by this method.
+     * The output stream is not closed by this method; it must not be used by the caller until the returned future
+     * completes.
+     *
+     * @param out The output stream to dump the state into
+     * @param reason The reason for the save, used for {@link GalaxySavingEvent}. May be null to indicate programmer-issued save
+     * @param location The location of the save, used for {@link GalaxySavingEvent}. May be null to indicate unknown or unspecifable location
+     * @return A future that completes once the state was written, or completes exceptionally if the state could not be saved
+     * @since 2.0.0
+     * @implSpec The default implementation invokes {@link #saveGameState(OutputStream, String, String, boolean)}
+     * on the calling thread, acquiring the lock for the entirety of the save, and returns a completed future.
+     */
+    @NotNull
+    public default CompletableFuture<Void> saveGameStateAsync(@NotNull OutputStream out, @Nullable String reason, @Nullable String location) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            saveGameState(out, reason, location, true);
+            future.complete(null);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Returns whether the format can write and read SLAPI Metadata.
      * A format that does not support such metadata may break many mods so usually
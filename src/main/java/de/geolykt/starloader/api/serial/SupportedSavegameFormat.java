@@ -17,6 +17,14 @@ public enum SupportedSavegameFormat {
      */
     SLAPI_BOILERPLATE,
 
+    /**
+     * The {@link #SLAPI_BOILERPLATE} format stored in a container of independently compressed blocks.
+     * Blocks are compressed and decompressed in parallel, which makes this format well suited for large galaxies.
+     *
+     * @since 2.0.0
+     */
+    SLAPI_COMPRESSED,
+
     /**
      * The true vanilla serialisation format. It internally uses java serialisation.
      *
@@ -0,0 +1,124 @@
+package de.geolykt.starloader.api.utils;
+
+import java.util.concurrent.Executor;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+
+import de.geolykt.starloader.api.Galimulator;
+
+/**
+ * A scheduler for compute-bound simulation jobs that is shared between the SLAPI and mods, so that all parallel
+ * jobs run on the same set of threads instead of each job creating its own thread pool.
+ * An instance of this interface can be obtained through {@link Galimulator#getComputeScheduler()}.
+ *
+ * <p>Jobs over a range of indices are split into chunks whose size is chosen by the scheduler. The thread that
+ * submits such a job always takes part in processing it, so jobs may also be submitted from within other jobs.
+ * The default implementation is backed by a work-stealing pool of daemon threads that is sized according to the
+ * amount of available processors. If the system property <code>de.geolykt.starloader.impl.util.SequentialComputeScheduler.ENABLED</code>
+ * is set to true, a scheduler that processes all jobs on the submitting thread in ascending order is used instead,
+ * which makes the outcome of simulation jobs reproducible.
+ *
+ * <p>Implementations of this interface must be thread safe.
+ *
+ * @since 2.0.0
+ */
+public interface ComputeScheduler extends Executor {
+
+    /**
+     * An action that is performed on a chunk of a range of indices.
+     *
+     * @since 2.0.0
+     */
+    @FunctionalInterface
+    public static interface RangeAction {
+
+        /**
+         * Performs the action on the indices in the range of <code>[start, end)</code>.
+         *
+         * @param start The first index of the chunk, inclusive
+         * @param end The last index of the chunk, exclusive
+         * @since 2.0.0
+         */
+        public void run(int start, int end);
+    }
+
+    /**
+     * An accumulator that folds a chunk of a range of indices into a mutable result container.
+     *
+     * @param <R> The type of the result container
+     * @since 2.0.0
+     */
+    @FunctionalInterface
+    public static interface RangeAccumulator<R> {
+
+        /**
+         * Folds the indices in the range of <code>[start, end)</code> into the result container.
+         *
+         * @param container The result container, which is only accessed by a single thread at a time
+         * @param start The first index of the chunk, inclusive
+         * @param end The last index of the chunk, exclusive
+         * @since 2.0.0
+         */
+        public void accumulate(@NotNull R container, int start, int end);
+    }
+
+    /**
+     * Runs the given task asynchronously on the threads of this scheduler, should the scheduler have any.
+     * A scheduler without threads of its own runs the task on the calling thread before this method returns.
+     *
+     * @param task The task to run
+     * @since 2.0.0
+     */
+    @Override
+    public void execute(@NotNull Runnable task);
+
+    /**
+     * Performs an action on every index in the range of <code>[start, end)</code>, splitting the range in chunks
+     * that may be processed concurrently. The chunks do not overlap and cover the entire range.
+     * This method returns once the action was performed for all chunks.
+     *
+     * <p>Should the action throw an exception, the remaining chunks are skipped and the exception is rethrown
+     * by this method once all chunks that are being processed have completed.
+     *
+     * @param start The first index of the range, inclusive
+     * @param end The last index of the range, exclusive
+     * @param action The action to perform on each chunk
+     * @throws IllegalArgumentException If end is smaller than start
+     * @since 2.0.0
+     */
+    public void forEach(int start, int end, @NotNull RangeAction action);
+
+    /**
+     * Obtains the maximum amount of threads that process a single job concurrently, including the submitting thread.
+     * A parallelism of 1 means that all jobs are processed in sequence on the submitting thread.
+     *
+     * @return The parallelism of the scheduler, at least 1
+     * @since 2.0.0
+     */
+    public int getParallelism();
+
+    /**
+     * Performs a parallel reduction over the range of <code>[start, end)</code>. Each thread that takes part in the job
+     * obtains its own result container from the supplier once and accumulates all chunks it processes into it,
+     * after which the containers of all threads are combined. No objects are allocated per chunk by the scheduler.
+     *
+     * <p>The chunks accumulated into a container are not necessarily adjacent and containers are combined in no
+     * particular order. For the result to not depend on the scheduling, the reduction must thus be associative
+     * and commutative, for example by breaking ties between equal elements through their index.
+     * Exceptions are handled as described by {@link #forEach(int, int, RangeAction)}.
+     *
+     * @param <R> The type of the result container
+     * @param start The first index of the range, inclusive
+     * @param end The last index of the range, exclusive
+     * @param supplier The supplier of empty result containers
+     * @param accumulator The accumulator that folds the chunks into a container
+     * @param combiner The function that combines two containers into one, which may be either of the two
+     * @return The combined result container. If the range is empty, a container that was obtained from the supplier
+     * @throws IllegalArgumentException If end is smaller than start
+     * @since 2.0.0
+     */
+    @NotNull
+    public <R> R reduce(int start, int end, @NotNull Supplier<@NotNull R> supplier, @NotNull RangeAccumulator<R> accumulator, @NotNull BinaryOperator<@NotNull R> combiner);
+}
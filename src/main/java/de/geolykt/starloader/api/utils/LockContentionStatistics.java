@@ -0,0 +1,178 @@
+package de.geolykt.starloader.api.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable snapshot of the contention of a {@link TickLoopLock} that was profiled for a single thread
+ * at a single call site. The time a thread waited to acquire permits and the time the permits were held
+ * is recorded in histograms whose buckets are powers of two in nanoseconds, that is bucket <code>i</code>
+ * counts the durations in the range of <code>[2^i, 2^(i+1))</code> nanoseconds, with bucket 0 also counting
+ * durations of 0 nanoseconds.
+ *
+ * <p>The time permits are held is attributed to the call site that acquired the first permit held by the
+ * thread and spans until the thread no longer holds any permits.
+ *
+ * @since 2.0.0
+ * @see TickLoopLock#getContentionStatistics()
+ */
+public final class LockContentionStatistics {
+
+    /**
+     * The amount of buckets in the histograms.
+     *
+     * @since 2.0.0
+     */
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    /**
+     * Obtains the bucket of a histogram that a duration is counted in.
+     *
+     * @param nanos The duration in nanoseconds
+     * @return The index of the bucket
+     * @since 2.0.0
+     */
+    public static int getBucket(long nanos) {
+        return 63 - Long.numberOfLeadingZeros(nanos | 1L);
+    }
+
+    private final long acquisitions;
+    @NotNull
+    private final String callSite;
+    private final long holdCount;
+    private final long @NotNull[] holdHistogram;
+    private final long maxHoldNanos;
+    private final long maxWaitNanos;
+    @NotNull
+    private final String threadName;
+    private final long totalHoldNanos;
+    private final long totalWaitNanos;
+    private final long @NotNull[] waitHistogram;
+
+    public LockContentionStatistics(@NotNull String threadName, @NotNull String callSite, long acquisitions, long totalWaitNanos,
+            long maxWaitNanos, long @NotNull[] waitHistogram, long holdCount, long totalHoldNanos, long maxHoldNanos, long @NotNull[] holdHistogram) {
+        if (waitHistogram.length != HISTOGRAM_BUCKETS || holdHistogram.length != HISTOGRAM_BUCKETS) {
+            throw new IllegalArgumentException("Histograms must have " + HISTOGRAM_BUCKETS + " buckets");
+        }
+        this.threadName = threadName;
+        this.callSite = callSite;
+        this.acquisitions = acquisitions;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.waitHistogram = waitHistogram.clone();
+        this.holdCount = holdCount;
+        this.totalHoldNanos = totalHoldNanos;
+        this.maxHoldNanos = maxHoldNanos;
+        this.holdHistogram = holdHistogram.clone();
+    }
+
+    /**
+     * Obtains the amount of times permits were acquired.
+     *
+     * @return The amount of acquisitions
+     * @since 2.0.0
+     */
+    public long getAcquisitions() {
+        return this.acquisitions;
+    }
+
+    /**
+     * Obtains the call site that acquired the permits, in the format of {@link StackTraceElement#toString()}.
+     *
+     * @return The call site
+     * @since 2.0.0
+     */
+    @NotNull
+    public String getCallSite() {
+        return this.callSite;
+    }
+
+    /**
+     * Obtains the amount of times the thread went from holding no permits to holding permits and back.
+     *
+     * @return The amount of completed holds
+     * @since 2.0.0
+     */
+    public long getHoldCount() {
+        return this.holdCount;
+    }
+
+    /**
+     * Obtains the histogram of the durations the permits were held.
+     *
+     * @return A copy of the histogram, with {@link #HISTOGRAM_BUCKETS} buckets
+     * @since 2.0.0
+     * @see #getBucket(long)
+     */
+    public long @NotNull[] getHoldHistogram() {
+        return this.holdHistogram.clone();
+    }
+
+    /**
+     * Obtains the longest duration the permits were held.
+     *
+     * @return The longest hold time in nanoseconds
+     * @since 2.0.0
+     */
+    public long getMaxHoldNanos() {
+        return this.maxHoldNanos;
+    }
+
+    /**
+     * Obtains the longest duration the thread waited to acquire permits.
+     *
+     * @return The longest wait time in nanoseconds
+     * @since 2.0.0
+     */
+    public long getMaxWaitNanos() {
+        return this.maxWaitNanos;
+    }
+
+    /**
+     * Obtains the name of the thread that acquired the permits.
+     *
+     * @return The name of the thread
+     * @since 2.0.0
+     */
+    @NotNull
+    public String getThreadName() {
+        return this.threadName;
+    }
+
+    /**
+     * Obtains the sum of all durations the permits were held.
+     *
+     * @return The total hold time in nanoseconds
+     * @since 2.0.0
+     */
+    public long getTotalHoldNanos() {
+        return this.totalHoldNanos;
+    }
+
+    /**
+     * Obtains the sum of all durations the thread waited to acquire permits.
+     *
+     * @return The total wait time in nanoseconds
+     * @since 2.0.0
+     */
+    public long getTotalWaitNanos() {
+        return this.totalWaitNanos;
+    }
+
+    /**
+     * Obtains the histogram of the durations the thread waited to acquire permits.
+     *
+     * @return A copy of the histogram, with {@link #HISTOGRAM_BUCKETS} buckets
+     * @since 2.0.0
+     * @see #getBucket(long)
+     */
+    public long @NotNull[] getWaitHistogram() {
+        return this.waitHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "LockContentionStatistics[thread = " + this.threadName + ", callSite = " + this.callSite + ", acquisitions = " + this.acquisitions
+                + ", totalWaitNanos = " + this.totalWaitNanos + ", maxWaitNanos = " + this.maxWaitNanos + ", holdCount = " + this.holdCount
+                + ", totalHoldNanos = " + this.totalHoldNanos + ", maxHoldNanos = " + this.maxHoldNanos + "]";
+    }
+}
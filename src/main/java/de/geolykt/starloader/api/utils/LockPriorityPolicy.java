@@ -0,0 +1,31 @@
+package de.geolykt.starloader.api.utils;
+
+/**
+ * The policy that decides the order in which threads that wait on a {@link TickLoopLock} are granted their permits.
+ *
+ * @since 2.0.0
+ * @see TickLoopLock#setPriorityPolicy(LockPriorityPolicy)
+ */
+public enum LockPriorityPolicy {
+
+    /**
+     * Waiting threads are granted permits in the order they started waiting, but threads that attempt to acquire
+     * permits while they are available may do so even if other threads are waiting. This is the default behaviour
+     * of a {@link java.util.concurrent.Semaphore}. As a consequence, a thread waiting for soft control may need
+     * to wait for a thread that requested hard control earlier, even if a permit would be available for it.
+     *
+     * @since 2.0.0
+     */
+    BARGING,
+
+    /**
+     * Requests for soft control take precedence over requests for hard control.
+     * A thread that waits for hard control only acquires the permits while no thread is waiting for soft control.
+     * This avoids frames of the graphical loop from being delayed by queued requests for hard control,
+     * at the expense of hard control possibly being delayed for longer periods of time if soft control is
+     * contended.
+     *
+     * @since 2.0.0
+     */
+    PREFER_SOFT_CONTROL;
+}
@@ -1,7 +1,14 @@
 package de.geolykt.starloader.api.utils;
 
+import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
 
 /**
  * An abstraction layer over Galimulator's use of {@link Semaphore semaphores}.
@@ -15,6 +22,10 @@ import java.util.concurrent.locks.ReentrantLock;
  * Example for when this is needed are savegames. A save or load method cannot otherwise know
  * whether the caller method has already acquired a lock or not.
  *
+ * <p>Threads that only read the state of the game can do so without acquiring any permits through
+ * the optimistic read API ({@link #tryOptimisticRead()} and {@link #validate(long)}), which follows the
+ * validate-and-retry pattern of {@link StampedLock}.
+ *
  * @since 2.0.0
  */
 public interface TickLoopLock {
@@ -149,6 +160,17 @@ public interface TickLoopLock {
      */
     public int getAvailablePermits();
 
+    /**
+     * Obtains the contention statistics that were recorded while contention profiling was enabled,
+     * see {@link #setContentionProfilingEnabled(boolean)}. A separate entry exists for every pair of acquiring thread
+     * and call site.
+     *
+     * @return A snapshot of the recorded contention statistics
+     * @since 2.0.0
+     */
+    @NotNull
+    public Collection<@NotNull LockContentionStatistics> getContentionStatistics();
+
     /**
      * Obtains the amount of acquisitions the current thread has performed.
      *
@@ -164,6 +186,70 @@ public interface TickLoopLock {
      */
     public int getLocalAcquisitions();
 
+    /**
+     * Obtains the policy that decides the order in which waiting threads are granted permits.
+     *
+     * @return The current priority policy
+     * @since 2.0.0
+     */
+    @NotNull
+    public LockPriorityPolicy getPriorityPolicy();
+
+    /**
+     * Checks whether the time threads wait for and hold permits is recorded.
+     *
+     * @return True if contention profiling is enabled, false otherwise
+     * @since 2.0.0
+     * @see #setContentionProfilingEnabled(boolean)
+     */
+    public boolean isContentionProfilingEnabled();
+
+    /**
+     * Repeatedly performs an optimistic read until the read was performed without any write to the state of the game
+     * happening concurrently, as per {@link #tryOptimisticRead()} and {@link #validate(long)}. No permits are acquired
+     * while doing so, which means that the reader may be run concurrently with the simulation loop.
+     *
+     * <p>As the reader may observe inconsistent state, it must not have any side effects and should not depend on the
+     * observed state being consistent in order to terminate. Exceptions thrown by the reader are discarded if the read
+     * was invalidated, otherwise they are rethrown.
+     *
+     * <p>Under heavy load, the simulation loop may not leave a large enough gap between two ticks for the read
+     * to complete, which is why the amount of attempts is limited.
+     *
+     * @param <T> The type of the value that is read
+     * @param reader The function that reads the value
+     * @param maxAttempts The maximum amount of times the reader is invoked
+     * @return The value that was read, or an empty {@link Optional} if no attempt succeeded
+     * @since 2.0.0
+     */
+    @NotNull
+    public default <T> Optional<T> readOptimistically(@NotNull Supplier<T> reader, int maxAttempts) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            long stamp = this.tryOptimisticRead();
+            if (stamp != 0L) {
+                T value;
+                try {
+                    value = reader.get();
+                } catch (RuntimeException e) {
+                    if (this.validate(stamp)) {
+                        throw e;
+                    }
+                    continue;
+                }
+                if (this.validate(stamp)) {
+                    @SuppressWarnings("null")
+                    @NotNull Optional<T> result = Optional.ofNullable(value);
+                    return result;
+                }
+            }
+            // Back off so that the writer can make progress
+            LockSupport.parkNanos(50_000L);
+        }
+        @SuppressWarnings("null")
+        @NotNull Optional<T> empty = Optional.empty();
+        return empty;
+    }
+
     /**
      * Releases all acquired permits, throwing {@link IllegalMonitorStateException} if the executing
      * thread did not acquire a hard lock beforehand.
@@ -191,6 +277,34 @@ public interface TickLoopLock {
      */
     public void releaseSoft();
 
+    /**
+     * Discards all recorded contention statistics.
+     *
+     * @since 2.0.0
+     */
+    public void resetContentionStatistics();
+
+    /**
+     * Enables or disables the contention profiler. While enabled, the duration every thread waits to acquire permits
+     * and the duration the permits are held is recorded in nanoseconds per thread and call site.
+     * The profiler needs to resolve the call site of every acquisition, which is why it is disabled by default.
+     * While disabled, the profiler does not have any overhead beyond checking whether it is enabled.
+     *
+     * @param enabled True to enable contention profiling, false to disable it
+     * @since 2.0.0
+     * @see #getContentionStatistics()
+     */
+    public void setContentionProfilingEnabled(boolean enabled);
+
+    /**
+     * Sets the policy that decides the order in which waiting threads are granted permits.
+     * The policy only applies to threads that start waiting after the policy was changed.
+     *
+     * @param policy The priority policy to use
+     * @since 2.0.0
+     */
+    public void setPriorityPolicy(@NotNull LockPriorityPolicy policy);
+
     /**
      * Attempts to acquire all permits, returning instantly.
      *
@@ -216,4 +330,40 @@ public interface TickLoopLock {
      * @since 2.0.0
      */
     public boolean tryAcquireSoftControl();
+
+    /**
+     * Obtains a stamp that can later be passed to {@link #validate(long)} in order to check whether the state
+     * of the game was written in the meantime. This method never blocks and never acquires any permits.
+     *
+     * <p>For the simulation loop lock, a write is in progress while the simulation loop performs a tick
+     * and while any thread holds hard control, as the state of the game is generally only modified
+     * under these circumstances. Each write invalidates all stamps obtained before or during it, which
+     * means that a stamp is valid for at most the gap between two ticks. Writes performed while only soft
+     * control is held (for example by the graphical loop) are not tracked.
+     *
+     * <p>Usage follows the pattern of {@link StampedLock#tryOptimisticRead()}:
+     * <pre>{@code
+     * long stamp = lock.tryOptimisticRead();
+     * int count = Galimulator.getEmpiresView().size();
+     * if (stamp == 0 || !lock.validate(stamp)) {
+     *     // Retry later
+     * }
+     * }</pre>
+     *
+     * @return A non-zero stamp, or 0 if a write is currently in progress
+     * @since 2.0.0
+     * @see #readOptimistically(Supplier, int)
+     */
+    public long tryOptimisticRead();
+
+    /**
+     * Checks whether no write happened since the stamp was obtained through {@link #tryOptimisticRead()}.
+     * If this method returns true, all values read between obtaining the stamp and calling this method were
+     * read while the state of the game was not being written to. Always returns false for a stamp of 0.
+     *
+     * @param stamp The stamp obtained through {@link #tryOptimisticRead()}
+     * @return True if the stamp is still valid, false otherwise
+     * @since 2.0.0
+     */
+    public boolean validate(long stamp);
 }
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
@@ -16,8 +17,10 @@ import de.geolykt.starloader.api.NamespacedKey;
 import de.geolykt.starloader.api.actor.StateActor;
 import de.geolykt.starloader.api.actor.StateActorFactory;
 import de.geolykt.starloader.api.actor.StateActorSpawnPredicate;
+import de.geolykt.starloader.api.empire.ActiveEmpire;
 import de.geolykt.starloader.api.empire.Star;
 import de.geolykt.starloader.api.registry.RegistryKeyed;
+import de.geolykt.starloader.impl.actors.IndexedSpawnPredicate;
 
 import snoddasmannen.galimulator.EmpireSpecial;
 import snoddasmannen.galimulator.Religion;
@@ -25,7 +28,7 @@ import snoddasmannen.galimulator.Settings;
 import snoddasmannen.galimulator.actors.StateActorCreator;
 
 @Mixin(targets = "snoddasmannen/galimulator/Space$ActorSpawningPredicate")
-public class ActorSpawningPredicateMixins implements StateActorSpawnPredicate<StateActor> {
+public class ActorSpawningPredicateMixins implements StateActorSpawnPredicate<StateActor>, IndexedSpawnPredicate {
     @Shadow
     StateActorCreator actorFactory;
     @NotNull
@@ -33,6 +36,12 @@ public class ActorSpawningPredicateMixins implements StateActorSpawnPredicate<St
     private final List<@NotNull Predicate<@NotNull Star>> predicates = new ArrayList<>();
     @Shadow
     Religion religionRequirement;
+    /**
+     * The registry keys of {@link #specialRequirements}, computed lazily.
+     */
+    @Nullable
+    @Unique
+    private transient Collection<@NotNull NamespacedKey> requiredSpecialKeys;
     @Shadow
     float spawningChance;
 
@@ -72,11 +81,16 @@ public class ActorSpawningPredicateMixins implements StateActorSpawnPredicate<St
         if (specialRequirements == null) {
             return Collections.emptySet();
         }
-        List<@NotNull NamespacedKey> keys = new ArrayList<>();
-        for (EmpireSpecial special : specialRequirements) {
-            keys.add(((RegistryKeyed) special).getRegistryKey());
+        Collection<@NotNull NamespacedKey> keys = this.requiredSpecialKeys;
+        if (keys == null || keys.size() != specialRequirements.size()) {
+            List<@NotNull NamespacedKey> list = new ArrayList<>(specialRequirements.size());
+            for (EmpireSpecial special : specialRequirements) {
+                list.add(((RegistryKeyed) special).getRegistryKey());
+            }
+            keys = Collections.unmodifiableCollection(list);
+            this.requiredSpecialKeys = keys;
         }
-        return Collections.unmodifiableCollection(keys);
+        return keys;
     }
 
     @Overwrite
@@ -93,20 +107,22 @@ public class ActorSpawningPredicateMixins implements StateActorSpawnPredicate<St
     }
 
     @Override
-    public boolean testStable(@NotNull Star star) {
-        // TODO deobf
-        if (Settings.a.a(this.actorFactory)) {
-            return false;
-        } else if (this.religionRequirement != null && ((snoddasmannen.galimulator.Empire) star.getAssignedEmpire()).getReligion() != this.religionRequirement) {
+    public boolean testEmpireRequirements(@NotNull ActiveEmpire empire) {
+        if (this.religionRequirement != null && ((snoddasmannen.galimulator.Empire) empire).getReligion() != this.religionRequirement) {
             return false;
         }
         if (this.specialRequirements != null) {
             for (NamespacedKey special : getRequiredSpecials()) {
-                if (!star.getAssignedEmpire().hasSpecial(special)) {
+                if (!empire.hasSpecial(special)) {
                     return false;
                 }
             }
         }
+        return true;
+    }
+
+    @Unique
+    private boolean testExtraPredicates(@NotNull Star star) {
         for (Predicate<@NotNull Star> predicate : this.predicates) {
             if (!predicate.test(star)) {
                 return false;
@@ -114,4 +130,22 @@ public class ActorSpawningPredicateMixins implements StateActorSpawnPredicate<St
         }
         return true;
     }
+
+    @Override
+    public boolean testStable(@NotNull Star star) {
+        // TODO deobf
+        if (Settings.a.a(this.actorFactory)) {
+            return false;
+        }
+        return testEmpireRequirements(star.getAssignedEmpire()) && testExtraPredicates(star);
+    }
+
+    @Override
+    public boolean testStarRequirements(@NotNull Star star) {
+        // TODO deobf
+        if (Settings.a.a(this.actorFactory)) {
+            return false;
+        }
+        return testExtraPredicates(star);
+    }
 }
@@ -18,6 +18,7 @@ import de.geolykt.starloader.api.gui.KeystrokeInputHandler;
 import de.geolykt.starloader.api.registry.Registry;
 import de.geolykt.starloader.impl.GalimulatorImplementation;
 import de.geolykt.starloader.impl.gui.ForwardingListener;
+import de.geolykt.starloader.impl.gui.GlyphLayoutCache;
 import de.geolykt.starloader.impl.gui.SLInputAdapter;
 import de.geolykt.starloader.impl.gui.keybinds.KeybindHelper;
 import de.geolykt.starloader.impl.gui.s2d.MenuHandler;
@@ -85,5 +86,6 @@ public class ApplicationMixins {
     private void stop(CallbackInfo ci) {
         EventManager.handleEvent(new ApplicationStopEvent());
         MenuHandler.dispose();
+        GlyphLayoutCache.clear();
     }
 }
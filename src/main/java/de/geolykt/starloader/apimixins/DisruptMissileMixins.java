@@ -18,6 +18,9 @@ public class DisruptMissileMixins {
     @Inject(method = "hitStar", at = @At("HEAD"), cancellable = true)
     public void hitStar(snoddasmannen.galimulator.Star star, CallbackInfo ci) {
         // this method is overridden by disrupt missile, so we need to reimplement it here
+        if (!EventManager.hasListeners(MissileHitStarEvent.class)) {
+            return;
+        }
         MissileHitStarEvent evt = new MissileHitStarEvent((Missile) this, (Star) star);
         EventManager.handleEvent(evt);
         if (evt.isCancelled()) {
@@ -54,6 +54,8 @@ import de.geolykt.starloader.api.registry.EmpireStateMetadataEntry;
 import de.geolykt.starloader.api.registry.Registry;
 import de.geolykt.starloader.api.registry.RegistryKeyed;
 import de.geolykt.starloader.api.registry.RegistryKeys;
+import de.geolykt.starloader.impl.actors.SpawnEligibilityHolder;
+import de.geolykt.starloader.impl.actors.SpawnEligibilityIndex;
 import de.geolykt.starloader.impl.registry.Registries;
 
 import snoddasmannen.galimulator.EmpireAnnals;
@@ -66,7 +68,7 @@ import snoddasmannen.galimulator.Space;
 import snoddasmannen.galimulator.class_43;
 
 @Mixin(snoddasmannen.galimulator.Empire.class)
-public class EmpireMixins implements ActiveEmpire {
+public class EmpireMixins implements ActiveEmpire, SpawnEligibilityHolder {
 
     @Shadow
     private Vector<EmpireAchievement> achievements;
@@ -140,6 +142,13 @@ public class EmpireMixins implements ActiveEmpire {
     @Shadow
     ArrayList specials; // empireSpecials
 
+    /**
+     * The spawning predicates the empire is eligible for, reset whenever the religion or the specials change.
+     */
+    @Unique
+    @Nullable
+    private transient SpawnEligibilityIndex.Eligibility spawnEligibility;
+
     @Shadow
     private int starCount; // starCount
 
@@ -161,6 +170,11 @@ public class EmpireMixins implements ActiveEmpire {
         this.religion = var0;
     }
 
+    @Inject(method = "a(Lsnoddasmannen/galimulator/Religion;)V", at = @At("TAIL"))
+    private void onSetReligion(Religion religion, CallbackInfo ci) {
+        this.spawnEligibility = null;
+    }
+
     /**
      * @param var0  dummy doc
      */
@@ -196,13 +210,14 @@ public class EmpireMixins implements ActiveEmpire {
         if (hasSpecial(empireSpecial)) {
             return false;
         }
-        if (!force) {
+        if (!force && EventManager.hasListeners(EmpireSpecialAddEvent.class)) {
             EmpireSpecialAddEvent event = new EmpireSpecialAddEvent(this, empireSpecial);
             EventManager.handleEvent(event);
             if (event.isCancelled()) {
                 return false;
             }
         }
+        this.spawnEligibility = null;
         return specials.add(special);
     }
 
@@ -294,13 +309,16 @@ public class EmpireMixins implements ActiveEmpire {
         if (!this.specials.contains(empireSpecial)) {
             return;
         }
-        EmpireSpecialRemoveEvent event = new EmpireSpecialRemoveEvent(this,
-                ((RegistryKeyed) empireSpecial).getRegistryKey());
-        EventManager.handleEvent(event);
-        if (event.isCancelled()) {
-            return;
+        if (EventManager.hasListeners(EmpireSpecialRemoveEvent.class)) {
+            EmpireSpecialRemoveEvent event = new EmpireSpecialRemoveEvent(this,
+                    ((RegistryKeyed) empireSpecial).getRegistryKey());
+            EventManager.handleEvent(event);
+            if (event.isCancelled()) {
+                return;
+            }
         }
         this.specials.remove(empireSpecial);
+        this.spawnEligibility = null;
         this.bc();
         this.e();
     }
@@ -329,13 +347,16 @@ public class EmpireMixins implements ActiveEmpire {
     @SuppressWarnings("unchecked")
     public void c(final EmpireSpecial empireSpecial) { // addSpecial
         if (!this.specials.contains(empireSpecial)) {
-            EmpireSpecialAddEvent event = new EmpireSpecialAddEvent(this,
-                    ((RegistryKeyed) empireSpecial).getRegistryKey());
-            EventManager.handleEvent(event);
-            if (event.isCancelled()) {
-                return;
+            if (EventManager.hasListeners(EmpireSpecialAddEvent.class)) {
+                EmpireSpecialAddEvent event = new EmpireSpecialAddEvent(this,
+                        ((RegistryKeyed) empireSpecial).getRegistryKey());
+                EventManager.handleEvent(event);
+                if (event.isCancelled()) {
+                    return;
+                }
             }
             this.specials.add(empireSpecial);
+            this.spawnEligibility = null;
         }
         this.bc();
         this.e();
@@ -347,7 +368,7 @@ public class EmpireMixins implements ActiveEmpire {
             return false;
         }
 
-        if (!force) {
+        if (!force && EventManager.hasListeners(TechnologyLevelDecreaseEvent.class)) {
             TechnologyLevelDecreaseEvent event = new TechnologyLevelDecreaseEvent(this);
             EventManager.handleEvent(event);
             if (event.isCancelled()) {
@@ -551,6 +572,12 @@ public class EmpireMixins implements ActiveEmpire {
         return id;
     }
 
+    @Override
+    @Nullable
+    public SpawnEligibilityIndex.Eligibility getSpawnEligibility() {
+        return this.spawnEligibility;
+    }
+
     @Override
     public float getWealth() {
         return j;
@@ -584,7 +611,7 @@ public class EmpireMixins implements ActiveEmpire {
             return false;
         }
 
-        if (!force) {
+        if (!force && EventManager.hasListeners(TechnologyLevelIncreaseEvent.class)) {
             TechnologyLevelIncreaseEvent event = new TechnologyLevelIncreaseEvent(this);
             EventManager.handleEvent(event);
             if (event.isCancelled()) {
@@ -634,13 +661,14 @@ public class EmpireMixins implements ActiveEmpire {
         if (special == null) {
             throw new IllegalArgumentException("No special is registered under the given key!");
         }
-        if (!force) {
+        if (!force && EventManager.hasListeners(EmpireSpecialRemoveEvent.class)) {
             EmpireSpecialRemoveEvent event = new EmpireSpecialRemoveEvent(this, empireSpecial);
             EventManager.handleEvent(event);
             if (event.isCancelled()) {
                 return false;
             }
         }
+        this.spawnEligibility = null;
         return specials.remove(special);
     }
 
@@ -693,6 +721,11 @@ public class EmpireMixins implements ActiveEmpire {
         a(rel);
     }
 
+    @Override
+    public void setSpawnEligibility(@Nullable SpawnEligibilityIndex.Eligibility eligibility) {
+        this.spawnEligibility = eligibility;
+    }
+
     @Override
     public boolean setState(@NotNull NamespacedKey stateKey, boolean force) {
         EmpireState state = (EmpireState) Registry.EMPIRE_STATES.get(stateKey);
@@ -755,7 +788,7 @@ public class EmpireMixins implements ActiveEmpire {
 
     @Inject(method = "b(I)V", at = @At(value = "HEAD"), cancellable = true)
     public void setTechlevel(final int techLevel, final CallbackInfo ci) {
-        if (techLevel == getTechnologyLevel()) {
+        if (techLevel == getTechnologyLevel() || !EventManager.hasListeners(TechnologyLevelSetEvent.class)) {
             return;
         }
         TechnologyLevelSetEvent event = new TechnologyLevelSetEvent(this, techLevel);
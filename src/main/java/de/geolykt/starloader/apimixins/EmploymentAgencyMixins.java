@@ -4,11 +4,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Vector;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -27,6 +22,7 @@ import de.geolykt.starloader.api.event.people.PlayerEmperorDeathEvent;
 import de.geolykt.starloader.api.gui.BasicDialog;
 import de.geolykt.starloader.api.gui.BasicDialogBuilder;
 import de.geolykt.starloader.impl.EmperorOption;
+import de.geolykt.starloader.impl.SuccessorCandidate;
 
 import snoddasmannen.galimulator.Claim;
 import snoddasmannen.galimulator.EmploymentAgency;
@@ -52,9 +48,6 @@ public class EmploymentAgencyMixins {
     @NotNull
     private static transient String emperorDeadSuccessorKey = "OK, no problems, I'll find a good replacement";
 
-    @Shadow
-    transient ExecutorService b;
-
     @Unique
     @Nullable
     private transient BasicDialog selectEmperorDialog;
@@ -147,30 +140,16 @@ public class EmploymentAgencyMixins {
                 }
             }
         }
-        final ArrayList<Callable<EmploymentAgency.Local2>> callbacks = new ArrayList<>();
-        final int n2 = potentialCandidates.size() / 100 + 1;
-        for (int i = 0; i < n2; ++i) {
-            @SuppressWarnings("unchecked")
-            Callable<EmploymentAgency.Local2> callable = ((EmploymentAgency) (Object) this).new Local1(i * 100, potentialCandidates, job);
-            callbacks.add(callable);
-        }
-        Person successor = null;
-        int successorMerit = 0;
-        try {
-            if (this.b == null) {
-                this.b = Executors.newFixedThreadPool(4);
-            }
-            for (Future<EmploymentAgency.Local2> finishedTask : b.invokeAll(callbacks)) {
-                final EmploymentAgency.Local2 finishedTaskReturn = finishedTask.get();
-                if (successor == null || finishedTaskReturn.b > successorMerit) {
-                    successor = finishedTaskReturn.a;
-                    successorMerit = finishedTaskReturn.b;
+        final List<Person> candidates = potentialCandidates;
+        SuccessorCandidate successor = Galimulator.getComputeScheduler().reduce(0, candidates.size(), SuccessorCandidate::new, (candidate, start, end) -> {
+            for (int i = start; i < end; i++) {
+                Person person = candidates.get(i);
+                if (person != null) {
+                    candidate.offer(person, person.a(job), i);
                 }
             }
-        } catch (InterruptedException | ExecutionException ex) {
-            ex.printStackTrace();
-        }
-        return successor;
+        }, SuccessorCandidate::combine);
+        return successor.getPerson();
     }
 
     @Shadow
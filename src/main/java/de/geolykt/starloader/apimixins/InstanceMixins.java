@@ -5,6 +5,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spongepowered.asm.mixin.Mixin;
@@ -19,6 +21,7 @@ import de.geolykt.starloader.api.Galimulator;
 import de.geolykt.starloader.api.actor.ActorConstructionSite;
 import de.geolykt.starloader.api.actor.SpawnPredicatesContainer;
 import de.geolykt.starloader.api.actor.StateActorSpawnPredicate;
+import de.geolykt.starloader.api.empire.ActiveEmpire;
 import de.geolykt.starloader.api.empire.Star;
 import de.geolykt.starloader.api.event.EventManager;
 import de.geolykt.starloader.api.event.actor.ActorConstructionSiteBeginEvent;
@@ -26,7 +29,9 @@ import de.geolykt.starloader.api.event.lifecycle.GalaxyGeneratingEvent;
 import de.geolykt.starloader.api.event.lifecycle.GraphicalTickEvent;
 import de.geolykt.starloader.api.gui.Drawing;
 import de.geolykt.starloader.api.serial.SupportedSavegameFormat;
+import de.geolykt.starloader.impl.actors.GlobalSpawningPredicatesContainer;
 import de.geolykt.starloader.impl.actors.SelfDestroyingActor;
+import de.geolykt.starloader.impl.actors.SpawnEligibilityIndex;
 
 import snoddasmannen.galimulator.MapData;
 import snoddasmannen.galimulator.Settings;
@@ -48,14 +53,31 @@ public class InstanceMixins {
     @Unique
     private static final Logger LOGGER = LoggerFactory.getLogger(Space.class);
 
+    @Unique
+    @Nullable
+    private static Actor beginConstruction(@NotNull StateActorSpawnPredicate<?> predicate, snoddasmannen.galimulator.@NotNull Star galimStar) {
+        ShipFactory factory = new ShipFactory((StateActorCreator) predicate.getFactory(), galimStar);
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ActorConstructionSiteBeginEvent<?> evt = new ActorConstructionSiteBeginEvent((ActorConstructionSite) factory, predicate);
+        EventManager.handleEvent(evt);
+        if (evt.isCancelled()) {
+            return null;
+        }
+        return factory;
+    }
+
     @Inject(at = @At("HEAD"), target = @Desc(value = "draw", args = RenderCache.class))
     private static void graphicalTickPre(CallbackInfo ci) {
-        EventManager.handleEvent(new GraphicalTickEvent(GraphicalTickEvent.Phase.PRE));
+        if (EventManager.hasListeners(GraphicalTickEvent.class)) {
+            EventManager.handleEvent(new GraphicalTickEvent(GraphicalTickEvent.Phase.PRE));
+        }
     }
 
     @Inject(at = @At("TAIL"), target = @Desc(value = "draw", args = RenderCache.class))
     private static void graphicalTickPost(CallbackInfo ci) {
-        EventManager.handleEvent(new GraphicalTickEvent(GraphicalTickEvent.Phase.POST));
+        if (EventManager.hasListeners(GraphicalTickEvent.class)) {
+            EventManager.handleEvent(new GraphicalTickEvent(GraphicalTickEvent.Phase.POST));
+        }
     }
 
     @Inject(method = "generateGalaxy", at = @At("HEAD"))
@@ -117,36 +139,37 @@ public class InstanceMixins {
         if (galimStar.getStarNative() != null) {
             StateActorSpawnPredicate<?> predicate = container.getNatives().get(galimStar.getStarNative());
             if (predicate != null && predicate.test((Star) galimStar)) {
-                ShipFactory factory = new ShipFactory((StateActorCreator) predicate.getFactory(), galimStar);
-                @SuppressWarnings({ "unchecked", "rawtypes" })
-                ActorConstructionSiteBeginEvent<?> evt = new ActorConstructionSiteBeginEvent((ActorConstructionSite) factory, predicate);
-                EventManager.handleEvent(evt);
-                if (!evt.isCancelled()) {
-                    return factory;
+                Actor actor = beginConstruction(predicate, galimStar);
+                if (actor != null) {
+                    return actor;
                 }
             }
         }
 
+        if (container instanceof GlobalSpawningPredicatesContainer) {
+            SpawnEligibilityIndex index = ((GlobalSpawningPredicatesContainer) container).getEligibilityIndex();
+            SpawnEligibilityIndex.Eligibility eligibility = index.getEligibility((ActiveEmpire) galimStar.getOwningEmpire());
+            Actor actor = index.selectGeneral(eligibility, (Star) galimStar, (predicate) -> beginConstruction(predicate, galimStar));
+            if (actor == null) {
+                actor = index.selectFallback(eligibility, (Star) galimStar, (predicate) -> beginConstruction(predicate, galimStar));
+            }
+            return actor == null ? new SelfDestroyingActor() : actor;
+        }
+
         for (StateActorSpawnPredicate<?> predicate : container.getGeneral()) {
             if (predicate.test((Star) galimStar)) {
-                ShipFactory factory = new ShipFactory((StateActorCreator) predicate.getFactory(), galimStar);
-                @SuppressWarnings({ "unchecked", "rawtypes" })
-                ActorConstructionSiteBeginEvent<?> evt = new ActorConstructionSiteBeginEvent((ActorConstructionSite) factory, predicate);
-                EventManager.handleEvent(evt);
-                if (!evt.isCancelled()) {
-                    return factory;
+                Actor actor = beginConstruction(predicate, galimStar);
+                if (actor != null) {
+                    return actor;
                 }
             }
         }
 
         for (StateActorSpawnPredicate<?> predicate : container.getFallbackShuffled()) {
             if (predicate.test((Star) galimStar)) {
-                ShipFactory factory = new ShipFactory((StateActorCreator) predicate.getFactory(), galimStar);
-                @SuppressWarnings({ "unchecked", "rawtypes" })
-                ActorConstructionSiteBeginEvent<?> evt = new ActorConstructionSiteBeginEvent((ActorConstructionSite) factory, predicate);
-                EventManager.handleEvent(evt);
-                if (!evt.isCancelled()) {
-                    return factory;
+                Actor actor = beginConstruction(predicate, galimStar);
+                if (actor != null) {
+                    return actor;
                 }
             }
         }
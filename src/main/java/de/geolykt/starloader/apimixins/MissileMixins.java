@@ -53,6 +53,9 @@ public abstract class MissileMixins extends ActorMixins implements Missile {
 
     @Inject(method = "hitActor", at = @At("HEAD"), cancellable = true)
     public void hitActor(snoddasmannen.galimulator.actors.Actor actor, CallbackInfo ci) {
+        if (!EventManager.hasListeners(MissileHitActorEvent.class)) {
+            return;
+        }
         MissileHitActorEvent evt = new MissileHitActorEvent(this, (Actor) actor);
         EventManager.handleEvent(evt);
         if (evt.isCancelled()) {
@@ -68,6 +71,9 @@ public abstract class MissileMixins extends ActorMixins implements Missile {
 
     @Inject(method = "hitStar", at = @At("HEAD"), cancellable = true)
     public void hitStar(snoddasmannen.galimulator.Star star, CallbackInfo ci) {
+        if (!EventManager.hasListeners(MissileHitStarEvent.class)) {
+            return;
+        }
         MissileHitStarEvent evt = new MissileHitStarEvent(this, (Star) star);
         EventManager.handleEvent(evt);
         if (evt.isCancelled()) {
@@ -3,9 +3,11 @@ package de.geolykt.starloader.apimixins;
 import org.jetbrains.annotations.NotNull;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 
 import de.geolykt.starloader.api.gui.rendercache.RenderCacheState;
 import de.geolykt.starloader.api.gui.rendercache.RenderObject;
+import de.geolykt.starloader.impl.util.CombiningSubmitter;
 
 import snoddasmannen.galimulator.rendersystem.RenderCache;
 import snoddasmannen.galimulator.rendersystem.RenderItem;
@@ -13,6 +15,12 @@ import snoddasmannen.galimulator.rendersystem.RenderItem;
 @Mixin(RenderCache.class)
 public class RenderCacheMixins implements RenderCacheState {
 
+    @Unique
+    @NotNull
+    private final transient CombiningSubmitter<RenderObject> submitter = new CombiningSubmitter<>(this, (object) -> {
+        pushItem((RenderItem) object);
+    });
+
     @Shadow
     public synchronized void pushItem(RenderItem renderItem) {
         // Stub
@@ -20,6 +28,11 @@ public class RenderCacheMixins implements RenderCacheState {
 
     @Override
     public void pushObject(@NotNull RenderObject object) {
-        pushItem((RenderItem) object);
+        this.submitter.submit(object);
+    }
+
+    @Override
+    public void pushObjects(@NotNull RenderObject @NotNull[] objects, int offset, int length) {
+        this.submitter.submitAll(objects, offset, length);
     }
 }
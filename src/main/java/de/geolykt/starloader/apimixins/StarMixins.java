@@ -33,13 +33,14 @@ import de.geolykt.starloader.api.event.empire.factions.FactionTakeStarEvent;
 import de.geolykt.starloader.api.event.star.StarOwnershipTakeoverEvent;
 import de.geolykt.starloader.api.registry.Registry;
 import de.geolykt.starloader.api.registry.RegistryKeyed;
+import de.geolykt.starloader.impl.util.StarNeighbourHolder;
 
 import snoddasmannen.galimulator.Empire;
 import snoddasmannen.galimulator.Religion;
 
 @SuppressWarnings("unused")
 @Mixin(snoddasmannen.galimulator.Star.class)
-public class StarMixins implements Star {
+public class StarMixins implements Star, StarNeighbourHolder {
 
     @SuppressWarnings("rawtypes")
     @Shadow
@@ -322,6 +323,7 @@ public class StarMixins implements Star {
         this.x += x;
         this.y += y;
         this.r = null; // recalculate the vector
+        Galimulator.getStarSpatialIndex().update(this);
     }
 
     @Override
@@ -345,18 +347,22 @@ public class StarMixins implements Star {
             return; // don't emit too many events for no reason at all :)
         }
         if (old != null) {
-            FactionLooseControlEvent event = new FactionLooseControlEvent((Faction) old, faction, this);
-            EventManager.handleEvent(event);
-            if (event.isCancelled()) {
-                return;
+            if (EventManager.hasListeners(FactionLooseControlEvent.class)) {
+                FactionLooseControlEvent event = new FactionLooseControlEvent((Faction) old, faction, this);
+                EventManager.handleEvent(event);
+                if (event.isCancelled()) {
+                    return;
+                }
             }
             old.c((snoddasmannen.galimulator.Star) (Object) this);
         }
         if (faction != null) {
-            FactionTakeStarEvent event = new FactionTakeStarEvent(faction, this);
-            EventManager.handleEvent(event);
-            if (event.isCancelled()) {
-                return;
+            if (EventManager.hasListeners(FactionTakeStarEvent.class)) {
+                FactionTakeStarEvent event = new FactionTakeStarEvent(faction, this);
+                EventManager.handleEvent(event);
+                if (event.isCancelled()) {
+                    return;
+                }
             }
             this.faction = (snoddasmannen.galimulator.factions.Faction) faction;
             ((snoddasmannen.galimulator.factions.Faction) faction).b((snoddasmannen.galimulator.Star) (Object) this);
@@ -419,6 +425,12 @@ public class StarMixins implements Star {
     @Override
     public void setNeighbours(@NotNull Vector<Star> neighbours) {
         this.neighbours = NullUtils.requireNotNull(neighbours);
+        Galimulator.getStarlaneGraph().update(this);
+    }
+
+    @Override
+    public void setNeighboursRaw(@NotNull Vector<Star> neighbours) {
+        this.neighbours = NullUtils.requireNotNull(neighbours);
     }
 
     @Shadow
@@ -445,10 +457,14 @@ public class StarMixins implements Star {
         }
         x = vect.x;
         y = vect.y;
+        Galimulator.getStarSpatialIndex().update(this);
     }
 
     @Inject(method = "onHostileTakeover(Lsnoddasmannen/galimulator/Empire;)V", at = @At("HEAD"), cancellable = true)
     public void takeover(snoddasmannen.galimulator.Empire empire, CallbackInfo info) {
+        if (!EventManager.hasListeners(StarOwnershipTakeoverEvent.class)) {
+            return;
+        }
         StarOwnershipTakeoverEvent event = new StarOwnershipTakeoverEvent(this, getAssignedEmpire(),
                 NullUtils.requireNotNull((ActiveEmpire) empire));
         EventManager.handleEvent(event);
@@ -471,4 +487,15 @@ public class StarMixins implements Star {
             callback.tick(this);
         }
     }
+
+    /**
+     * Mixin injector. Do not call directly.
+     *
+     * @param star The star that was connected or disconnected, not used inside the method.
+     * @param info Callback info required for injection, not used inside the method.
+     */
+    @Inject(method = {"connect(Lsnoddasmannen/galimulator/Star;)V", "disconnect(Lsnoddasmannen/galimulator/Star;)V"}, at = @At("TAIL"))
+    public void updateStarlaneGraph(snoddasmannen.galimulator.Star star, CallbackInfo info) {
+        Galimulator.getStarlaneGraph().update(this);
+    }
 }
@@ -6,6 +6,7 @@ import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 
+import de.geolykt.starloader.api.Galimulator;
 import de.geolykt.starloader.api.empire.Star;
 
 import snoddasmannen.galimulator.Space;
@@ -57,7 +58,7 @@ public abstract class StateActorMixins extends ActorMixins implements de.geolykt
         // SLAPI: use distSq instead of dist - avoiding a Math#sqrt call
         if (this.location == null || getDistSq(this.location) > 0.01D) {
             snoddasmannen.galimulator.Star oldLocation = this.location;
-            this.location = Space.findStarNear(this.getX(), this.getY(), Space.getMaxX() * 200.0F, (snoddasmannen.galimulator.Empire) null);
+            this.location = (snoddasmannen.galimulator.Star) Galimulator.getStarSpatialIndex().findNearest(this.getX(), this.getY(), Space.getMaxX() * 200.0F);
             if (oldLocation != this.location) {
                 this.guide.arrivedAt(this.location);
             }
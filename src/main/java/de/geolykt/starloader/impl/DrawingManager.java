@@ -1,6 +1,7 @@
 package de.geolykt.starloader.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 
@@ -30,7 +31,9 @@ import de.geolykt.starloader.api.gui.canvas.CanvasManager;
 import de.geolykt.starloader.api.gui.rendercache.RenderCacheState;
 import de.geolykt.starloader.api.gui.rendercache.RendercacheUtils;
 import de.geolykt.starloader.api.gui.screen.Screen;
+import de.geolykt.starloader.impl.gui.GalColorCache;
 import de.geolykt.starloader.impl.gui.canvas.SLCanvasManager;
+import de.geolykt.starloader.impl.gui.rendercache.PrimitiveBatchRenderItem;
 import de.geolykt.starloader.impl.gui.s2d.MenuHandler;
 
 import snoddasmannen.galimulator.Dialog;
@@ -39,6 +42,7 @@ import snoddasmannen.galimulator.GalFX;
 import snoddasmannen.galimulator.OddityBulletin;
 import snoddasmannen.galimulator.Space;
 import snoddasmannen.galimulator.TextBulletin;
+import snoddasmannen.galimulator.rendersystem.RenderCache;
 import snoddasmannen.galimulator.ui.Widget;
 
 public class DrawingManager implements DrawingImpl, TextureProvider, RendercacheUtils {
@@ -51,6 +55,13 @@ public class DrawingManager implements DrawingImpl, TextureProvider, Rendercache
     @Deprecated
     private static final de.geolykt.starloader.impl.text.@NotNull StarloaderTextFactory TEXT_FACTORY = new de.geolykt.starloader.impl.text.StarloaderTextFactory();
 
+    private static void checkPrimitiveBuffers(float @NotNull[] data, float @NotNull[] packedColors, int count) {
+        if (count < 0 || count > data.length / 4 || count > packedColors.length) {
+            throw new IllegalArgumentException("The buffers are too small for " + count + " primitives (data length: " + data.length
+                    + ", color buffer length: " + packedColors.length + ")");
+        }
+    }
+
     private Collection<String> fonts;
 
     @SuppressWarnings({ "null", "deprecation" })
@@ -91,7 +102,27 @@ public class DrawingManager implements DrawingImpl, TextureProvider, Rendercache
 
     @Override
     public void drawLine(double x1, double y1, double x2, double y2, float width, @NotNull Color color, @NotNull Camera camera) {
-        GalFX.a(x1, y1, x2, y2, width, new GalColor(color), camera);
+        GalFX.a(x1, y1, x2, y2, width, GalColorCache.get(color), camera);
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2, float width, float packedColor, @NotNull Camera camera) {
+        GalFX.a(x1, y1, x2, y2, width, GalColorCache.getPacked(packedColor), camera);
+    }
+
+    @Override
+    public void drawLines(float @NotNull[] coordinates, float @NotNull[] packedColors, int count, float width,
+            @NotNull Camera camera) {
+        DrawingManager.checkPrimitiveBuffers(coordinates, packedColors, count);
+        if (count == 0) {
+            return;
+        }
+        RenderCache cache = (RenderCache) GalFX.RENDERCACHE_LOCAL.get();
+        if (cache != null) {
+            cache.pushItem(new PrimitiveBatchRenderItem(true, Arrays.copyOf(coordinates, count * 4), Arrays.copyOf(packedColors, count), count, width, camera));
+        } else {
+            PrimitiveBatchRenderItem.drawLines(coordinates, packedColors, count, width, camera);
+        }
     }
 
     @Override
@@ -101,13 +132,13 @@ public class DrawingManager implements DrawingImpl, TextureProvider, Rendercache
 
     @Override
     public float drawText(@NotNull String message, float x, float y, @NotNull Color color) {
-        return GalFX.a(x, y, message, new GalColor(color));
+        return GalFX.a(x, y, message, GalColorCache.get(color));
     }
 
     @Override
     public float drawText(@NotNull String message, float x, float y, @NotNull Color color,
             Drawing.@NotNull TextSize size) {
-        GalColor galColor = new GalColor(color);
+        GalColor galColor = GalColorCache.get(color);
         switch (size) {
         case LARGE:
             return GalFX.drawText(x, y, message, galColor, GalFX.FONT_TYPE.MONOTYPE_BIG);
@@ -122,7 +153,7 @@ public class DrawingManager implements DrawingImpl, TextureProvider, Rendercache
     @Override
     public float drawText(@NotNull String message, float x, float y, @NotNull Color color,
             Drawing.@NotNull TextSize size, @NotNull Camera camera) {
-        GalColor galColor = new GalColor(color);
+        GalColor galColor = GalColorCache.get(color);
         // x, y, rotation, pivot, text, color, font, scale, camera
         switch (size) {
         case LARGE:
@@ -155,6 +186,20 @@ public class DrawingManager implements DrawingImpl, TextureProvider, Rendercache
         }
     }
 
+    @Override
+    public void fillRects(float @NotNull[] rectangles, float @NotNull[] packedColors, int count, @NotNull Camera camera) {
+        DrawingManager.checkPrimitiveBuffers(rectangles, packedColors, count);
+        if (count == 0) {
+            return;
+        }
+        RenderCache cache = (RenderCache) GalFX.RENDERCACHE_LOCAL.get();
+        if (cache != null) {
+            cache.pushItem(new PrimitiveBatchRenderItem(false, Arrays.copyOf(rectangles, count * 4), Arrays.copyOf(packedColors, count), count, 0F, camera));
+        } else {
+            PrimitiveBatchRenderItem.fillRects(rectangles, packedColors, count, camera);
+        }
+    }
+
     @Override
     @NotNull
     public TextureRegion findTextureRegion(@NotNull String name) {
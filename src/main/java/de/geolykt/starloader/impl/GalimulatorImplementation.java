@@ -6,7 +6,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -40,6 +39,8 @@ import de.geolykt.starloader.api.actor.WeaponsManager;
 import de.geolykt.starloader.api.empire.ActiveEmpire;
 import de.geolykt.starloader.api.empire.Alliance;
 import de.geolykt.starloader.api.empire.Star;
+import de.geolykt.starloader.api.empire.StarSpatialIndex;
+import de.geolykt.starloader.api.empire.StarlaneGraph;
 import de.geolykt.starloader.api.empire.War;
 import de.geolykt.starloader.api.empire.people.DynastyMember;
 import de.geolykt.starloader.api.gui.MapMode;
@@ -55,7 +56,11 @@ import de.geolykt.starloader.impl.asm.SpaceASMTransformer;
 import de.geolykt.starloader.impl.gui.ForwardingListener;
 import de.geolykt.starloader.impl.gui.GLScissorState;
 import de.geolykt.starloader.impl.serial.BoilerplateSavegameFormat;
+import de.geolykt.starloader.impl.serial.CompressedSavegameFormat;
 import de.geolykt.starloader.impl.serial.VanillaSavegameFormat;
+import de.geolykt.starloader.impl.util.CompactStarlaneGraph;
+import de.geolykt.starloader.impl.util.GridStarIndex;
+import de.geolykt.starloader.impl.util.UIDIndex;
 import de.geolykt.starloader.mod.Extension;
 
 import snoddasmannen.galimulator.Galemulator;
@@ -105,14 +110,34 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
     });
 
     @NotNull
-    private static final List<SavegameFormat> SAVEGAME_FORMATS = new ArrayList<>(Arrays.asList(VanillaSavegameFormat.INSTANCE, BoilerplateSavegameFormat.INSTANCE));
+    private static final List<SavegameFormat> SAVEGAME_FORMATS = new ArrayList<>(Arrays.asList(VanillaSavegameFormat.INSTANCE, BoilerplateSavegameFormat.INSTANCE, CompressedSavegameFormat.INSTANCE));
 
     @NotNull
     private static final Deque<@NotNull Runnable> SCHEDULED_TASKS_NEXT_TICK = new ConcurrentLinkedDeque<>();
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @NotNull
+    private final UIDIndex<Actor> actorIndex = new UIDIndex<>(() -> (Vector) Space.actors, Actor::getUID);
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @NotNull
+    private final UIDIndex<ActiveEmpire> empireIndex = new UIDIndex<>(() -> (Vector) Space.empires, ActiveEmpire::getUID);
+
     @NotNull
     private final SpawnPredicatesContainer globalSpawningPredicates = new GlobalSpawningPredicatesContainer();
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @NotNull
+    private final UIDIndex<Star> starIndex = new UIDIndex<>(() -> (Vector) Space.stars, Star::getUID);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @NotNull
+    private final GridStarIndex starSpatialIndex = new GridStarIndex(() -> (Vector) Space.stars);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @NotNull
+    private final CompactStarlaneGraph starlaneGraph = new CompactStarlaneGraph(() -> (Vector) Space.stars);
+
     /**
      * A list of all currently registered {@link MouseInputListener MouseInputListeners}. This list is only here
      * to allow the registration of listeners at an arbitrary time and is synced to the internal list
@@ -304,6 +329,12 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
         return toSLMode(snoddasmannen.galimulator.MapMode.getCurrentMode());
     }
 
+    @Override
+    @Nullable
+    public Actor getActorByUID(int uid) {
+        return this.actorIndex.get(uid);
+    }
+
     @SuppressWarnings("rawtypes")
     @Override
     public Vector<Actor> getActorsUnsafe() {
@@ -335,6 +366,11 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
 
     @Override
     public @Nullable ActiveEmpire getEmpireByUID(int uid) {
+        ActiveEmpire empire = this.empireIndex.get(uid);
+        if (empire != null) {
+            return empire;
+        }
+        // Retain the vanilla behaviour for empires that are not registered, such as the neutral empire
         return (ActiveEmpire) Space.e(uid);
     }
 
@@ -382,7 +418,7 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
     @Nullable
     @Contract(pure = true)
     public Star getNearestStar(float boardX, float boardY, float searchRadius) {
-        return (Star) Space.findStarNear(boardX, boardY, searchRadius, null); // TODO Not fully efficient (uses Math#sqrt)
+        return this.starSpatialIndex.findNearest(boardX, boardY, searchRadius);
     }
 
     @SuppressWarnings("null")
@@ -437,6 +473,10 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
                 && JavaInterop.equals(header, 0, BoilerplateSavegameFormat.FORMAT_HEADER.length, BoilerplateSavegameFormat.FORMAT_HEADER, 0, BoilerplateSavegameFormat.FORMAT_HEADER.length)) {
             return BoilerplateSavegameFormat.INSTANCE;
         }
+        if (CompressedSavegameFormat.FORMAT_HEADER.length <= offset
+                && JavaInterop.equals(header, 0, CompressedSavegameFormat.FORMAT_HEADER.length, CompressedSavegameFormat.FORMAT_HEADER, 0, CompressedSavegameFormat.FORMAT_HEADER.length)) {
+            return CompressedSavegameFormat.INSTANCE;
+        }
         // I am quite sure that the ObjectOutputStream leaves behind some form of header too, but I am too lazy to go that route.
         return null;
     }
@@ -448,6 +488,8 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
         switch (format) {
         case SLAPI_BOILERPLATE:
             return BoilerplateSavegameFormat.INSTANCE;
+        case SLAPI_COMPRESSED:
+            return CompressedSavegameFormat.INSTANCE;
         case VANILLA:
             return VanillaSavegameFormat.INSTANCE;
         default:
@@ -483,6 +525,12 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
         return getNearestStar(boardX, boardY, snoddasmannen.galimulator.Star.globalSizeFactor * 2);
     }
 
+    @Override
+    @Nullable
+    public Star getStarByUID(int uid) {
+        return this.starIndex.get(uid);
+    }
+
     @SuppressWarnings("null")
     @Override
     @NotNull
@@ -490,6 +538,18 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
         return Collections.unmodifiableList(getStarsUnsafe());
     }
 
+    @Override
+    @NotNull
+    public StarSpatialIndex getStarSpatialIndex() {
+        return this.starSpatialIndex;
+    }
+
+    @Override
+    @NotNull
+    public StarlaneGraph getStarlaneGraph() {
+        return this.starlaneGraph;
+    }
+
     @SuppressWarnings({ "null" })
     @Override
     @ScheduledForRemoval(inVersion = "3.0.0")
@@ -583,7 +643,7 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
             try {
                 Space.getMainTickLoopLock().acquire(2);
                 acquiredLocks = true;
-                loadGameState(Files.newInputStream(savegameFile));
+                BoilerplateSavegameFormat.INSTANCE.loadGameState(savegameFile);
                 LOGGER.info("Restored from disk, stack depth was: " + Space.saveStackdepth);
             } catch (InterruptedException interrupted) {
                 if (!acquiredLocks) {
@@ -629,10 +689,11 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
     @Override
     @NotNull
     public Star lookupStar(int id) {
-        if (id < -1 || (id + 1) > Space.stars.size()) {
+        Star star = this.starIndex.get(id);
+        if (star == null) {
             throw new IllegalArgumentException("There is no star with the given UID: " + id);
         }
-        return (Star) Space.stars.get(id + 1);
+        return star;
     }
 
     @Override
@@ -727,6 +788,7 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
     @Override
     public void setActorsUnsafe(Vector<Actor> actors) {
         Space.actors = NullUtils.requireNotNull((Vector) actors);
+        this.actorIndex.invalidate();
     }
 
     @SuppressWarnings("rawtypes")
@@ -756,6 +818,7 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
     @Override
     public void setEmpiresUnsafe(Vector<ActiveEmpire> empires) {
         Space.empires = NullUtils.requireNotNull((Vector) empires);
+        this.empireIndex.invalidate();
     }
 
     @SuppressWarnings("rawtypes")
@@ -812,6 +875,9 @@ public class GalimulatorImplementation implements Galimulator.GameImplementation
     public void setStarsUnsafe(Vector<Star> stars) {
         Space.stars = NullUtils.requireNotNull((Vector) stars);
         Space.starCount = stars.size();
+        this.starIndex.invalidate();
+        this.starSpatialIndex.invalidate();
+        this.starlaneGraph.invalidate();
     }
 
     @Override
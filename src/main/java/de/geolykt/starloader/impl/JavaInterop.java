@@ -6,10 +6,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.AccessibleObject;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 
+import de.geolykt.starloader.api.NullUtils;
+
 /**
  * Abstraction layer for methods that exist in future (i.e. Java 9+) versions of Java
  * but do not exist in Java 8. When the adequate Java version is used to execute the SLAPI,
@@ -21,6 +24,9 @@ import org.jetbrains.annotations.NotNull;
 @Internal
 public final class JavaInterop {
 
+    @SuppressWarnings("unused")
+    private static volatile int fence;
+
     public static final boolean canAccess(@NotNull AccessibleObject subject, @NotNull Object accessedInstance) {
         // Technically, this is wrong - it just shows whether reflection access limitations are lifted.
         // However doing all the access checking stuff is quite a bit extreme - so we will leave it at this
@@ -32,6 +38,24 @@ public final class JavaInterop {
         return JavaInterop.mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex) == -1;
     }
 
+    /**
+     * Obtains the first frame of the stack of the current thread whose class is not skipped.
+     * Frames of this class are always skipped.
+     *
+     * @param skippedClasses Predicate that returns true for the names of classes whose frames should be skipped
+     * @return The frame in the format of {@link StackTraceElement#toString()}, or "unknown" if all frames were skipped
+     * @since 2.0.0
+     */
+    @NotNull
+    public static final String getCallSite(@NotNull Predicate<String> skippedClasses) {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!element.getClassName().equals(JavaInterop.class.getName()) && !skippedClasses.test(element.getClassName())) {
+                return NullUtils.requireNotNull(element.toString());
+            }
+        }
+        return "unknown";
+    }
+
     /**
      * Obtains the Java version this interoperability layer was made for.
      * Note that the selected release can differ from the actually used java version - for example
@@ -45,6 +69,17 @@ public final class JavaInterop {
         return 8;
     }
 
+    /**
+     * Ensures that loads before the fence are not reordered with loads and stores after the fence.
+     * On Java 8 this is emulated through a write to a volatile field, which is a stronger (and thus more expensive)
+     * barrier than needed.
+     *
+     * @since 2.0.0
+     */
+    public static final void loadFence() {
+        JavaInterop.fence = 0;
+    }
+
     public static int mismatch(byte[] a, byte[] b) {
         return JavaInterop.mismatch(a, 0, a.length, b, 0, b.length);
     }
@@ -0,0 +1,61 @@
+package de.geolykt.starloader.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import snoddasmannen.galimulator.Person;
+
+/**
+ * The result container of the parallel reduction that picks the candidate with the highest merit for a job
+ * when looking for a successor. Ties are broken in favour of the candidate that comes first in the list of
+ * candidates, so the chosen successor does not depend on how the candidates were split between threads.
+ */
+public final class SuccessorCandidate {
+
+    /**
+     * Combines two containers into one, keeping the better candidate of both.
+     *
+     * @param a The first container, which is returned
+     * @param b The second container
+     * @return The first container
+     */
+    @NotNull
+    public static SuccessorCandidate combine(@NotNull SuccessorCandidate a, @NotNull SuccessorCandidate b) {
+        Person person = b.person;
+        if (person != null) {
+            a.offer(person, b.merit, b.index);
+        }
+        return a;
+    }
+
+    private int index = -1;
+    private int merit;
+    @Nullable
+    private Person person;
+
+    /**
+     * Obtains the best candidate that was offered to this container.
+     *
+     * @return The candidate, or null if no candidate was offered
+     */
+    @Nullable
+    public Person getPerson() {
+        return this.person;
+    }
+
+    /**
+     * Offers a candidate, which replaces the current candidate if it has a higher merit or if it has the
+     * same merit but comes earlier in the list of candidates.
+     *
+     * @param person The candidate
+     * @param merit The merit of the candidate for the job
+     * @param index The index of the candidate in the list of candidates
+     */
+    public void offer(@NotNull Person person, int merit, int index) {
+        if (this.person == null || merit > this.merit || (merit == this.merit && index < this.index)) {
+            this.person = person;
+            this.merit = merit;
+            this.index = index;
+        }
+    }
+}
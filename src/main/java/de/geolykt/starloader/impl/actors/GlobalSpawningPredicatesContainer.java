@@ -25,6 +25,8 @@ import snoddasmannen.galimulator.actors.ShipFactory.ShipType;
  */
 public class GlobalSpawningPredicatesContainer implements SpawnPredicatesContainer {
 
+    @NotNull
+    private final SpawnEligibilityIndex eligibilityIndex = new SpawnEligibilityIndex(this);
     private boolean initialised = false;
     private final Map<@NotNull Native, StateActorSpawnPredicate<?>> natives = new HashMap<>();
     private List<@NotNull StateActorSpawnPredicate<?>> fallbackPredicates;
@@ -52,6 +54,28 @@ public class GlobalSpawningPredicatesContainer implements SpawnPredicatesContain
         fallbackShuffled = new ArrayList<>(fallbackPredicates);
     }
 
+    /**
+     * Obtains the index that stores which of the predicates of this container an empire is eligible for.
+     *
+     * @return The eligibility index
+     */
+    @NotNull
+    public SpawnEligibilityIndex getEligibilityIndex() {
+        return this.eligibilityIndex;
+    }
+
+    /**
+     * Obtains the fallback predicates in their original order.
+     *
+     * @return The fallback predicates
+     */
+    @SuppressWarnings("null")
+    @NotNull
+    List<@NotNull StateActorSpawnPredicate<?>> getFallbackPredicates() {
+        init();
+        return fallbackPredicates;
+    }
+
     @SuppressWarnings("null")
     @Override
     @NotNull
@@ -0,0 +1,39 @@
+package de.geolykt.starloader.impl.actors;
+
+import org.jetbrains.annotations.NotNull;
+
+import de.geolykt.starloader.api.actor.StateActorSpawnPredicate;
+import de.geolykt.starloader.api.empire.ActiveEmpire;
+import de.geolykt.starloader.api.empire.Star;
+
+/**
+ * An interface implemented by galimulator's {@link StateActorSpawnPredicate} implementation that splits
+ * {@link StateActorSpawnPredicate#testStable(Star)} into the requirements that only depend on the empire
+ * and the requirements that depend on the individual star, so that the former can be evaluated
+ * once per empire by the {@link SpawnEligibilityIndex}.
+ *
+ * @since 2.0.0
+ */
+public interface IndexedSpawnPredicate {
+
+    /**
+     * Checks whether the given empire fulfils the religion and special requirements of the predicate.
+     * The result only changes if the religion or the specials of the empire change.
+     *
+     * @param empire The empire to test
+     * @return True if the empire fulfils the requirements
+     * @since 2.0.0
+     */
+    public boolean testEmpireRequirements(@NotNull ActiveEmpire empire);
+
+    /**
+     * Checks the requirements of the predicate that may change at any time, that is whether the actor is disabled
+     * in the settings and the extra predicates added via {@link StateActorSpawnPredicate#addPredicate(java.util.function.Predicate)}.
+     * Does not check the empire requirements nor roll the spawning chance.
+     *
+     * @param star The star to test
+     * @return True if the star fulfils the requirements
+     * @since 2.0.0
+     */
+    public boolean testStarRequirements(@NotNull Star star);
+}
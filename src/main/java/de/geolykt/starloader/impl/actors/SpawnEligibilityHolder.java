@@ -0,0 +1,30 @@
+package de.geolykt.starloader.impl.actors;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An interface implemented by galimulator's empire class that stores the spawning predicates which are
+ * eligible for the empire, as computed by the {@link SpawnEligibilityIndex}. The stored value is reset
+ * by the empire whenever its religion or its specials change.
+ *
+ * @since 2.0.0
+ */
+public interface SpawnEligibilityHolder {
+
+    /**
+     * Obtains the stored eligibility of the empire.
+     *
+     * @return The stored eligibility, or null if it was never computed or was invalidated since
+     * @since 2.0.0
+     */
+    @Nullable
+    public SpawnEligibilityIndex.Eligibility getSpawnEligibility();
+
+    /**
+     * Stores the eligibility of the empire.
+     *
+     * @param eligibility The eligibility to store, or null to invalidate it
+     * @since 2.0.0
+     */
+    public void setSpawnEligibility(@Nullable SpawnEligibilityIndex.Eligibility eligibility);
+}
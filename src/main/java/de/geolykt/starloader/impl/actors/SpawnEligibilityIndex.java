@@ -0,0 +1,175 @@
+package de.geolykt.starloader.impl.actors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import de.geolykt.starloader.api.actor.StateActorSpawnPredicate;
+import de.geolykt.starloader.api.empire.ActiveEmpire;
+import de.geolykt.starloader.api.empire.Star;
+import de.geolykt.starloader.impl.util.ChanceSampler;
+
+/**
+ * Precomputes which general and fallback {@link StateActorSpawnPredicate spawning predicates} an empire is eligible for
+ * based on its religion and its specials, so that these requirements are not evaluated again for every star that
+ * wants to spawn an actor. The result is stored on the empire via {@link SpawnEligibilityHolder} and is reset by the
+ * empire whenever its religion or specials change, or by this index when the general predicates change.
+ *
+ * <p>The general predicates keep their order. The fallback predicates are picked through a {@link ChanceSampler}
+ * instead of shuffling the whole list for every star and rolling the chance of every predicate in turn.
+ *
+ * <p>This class is not thread safe, it should only be used from the simulation thread.
+ */
+public final class SpawnEligibilityIndex {
+
+    /**
+     * The predicates an empire is eligible for.
+     */
+    public static final class Eligibility {
+        private final StateActorSpawnPredicate<?> @NotNull[] fallback;
+        @Nullable
+        private final ChanceSampler fallbackSampler;
+        private final StateActorSpawnPredicate<?> @NotNull[] general;
+        private final int generation;
+
+        private Eligibility(int generation, StateActorSpawnPredicate<?> @NotNull[] general,
+                StateActorSpawnPredicate<?> @NotNull[] fallback, @Nullable ChanceSampler fallbackSampler) {
+            this.generation = generation;
+            this.general = general;
+            this.fallback = fallback;
+            this.fallbackSampler = fallbackSampler;
+        }
+    }
+
+    private static final StateActorSpawnPredicate<?> @NotNull[] NO_PREDICATES = new StateActorSpawnPredicate<?>[0];
+
+    private static boolean isEmpireEligible(@NotNull StateActorSpawnPredicate<?> predicate, @NotNull ActiveEmpire empire) {
+        return !(predicate instanceof IndexedSpawnPredicate) || ((IndexedSpawnPredicate) predicate).testEmpireRequirements(empire);
+    }
+
+    @NotNull
+    private final GlobalSpawningPredicatesContainer container;
+    private int generalCount = -1;
+    @Nullable
+    private Collection<?> generalSource;
+    private int generation;
+
+    SpawnEligibilityIndex(@NotNull GlobalSpawningPredicatesContainer container) {
+        this.container = container;
+    }
+
+    @NotNull
+    private Eligibility compute(@NotNull ActiveEmpire empire) {
+        List<StateActorSpawnPredicate<?>> general = new ArrayList<>();
+        for (StateActorSpawnPredicate<?> predicate : this.container.getGeneral()) {
+            if (isEmpireEligible(predicate, empire)) {
+                general.add(predicate);
+            }
+        }
+
+        List<StateActorSpawnPredicate<?>> fallback = new ArrayList<>();
+        for (StateActorSpawnPredicate<?> predicate : this.container.getFallbackPredicates()) {
+            if (predicate.getBaseSpawningChance() > 0 && isEmpireEligible(predicate, empire)) {
+                fallback.add(predicate);
+            }
+        }
+        ChanceSampler fallbackSampler = null;
+        if (!fallback.isEmpty()) {
+            float[] chances = new float[fallback.size()];
+            for (int i = 0; i < chances.length; i++) {
+                chances[i] = fallback.get(i).getBaseSpawningChance();
+            }
+            fallbackSampler = new ChanceSampler(chances);
+        }
+
+        return new Eligibility(this.generation, general.toArray(NO_PREDICATES), fallback.toArray(NO_PREDICATES), fallbackSampler);
+    }
+
+    /**
+     * Obtains the predicates the empire is eligible for, computing them if they were invalidated.
+     *
+     * @param empire The empire
+     * @return The eligible predicates
+     */
+    @NotNull
+    public Eligibility getEligibility(@NotNull ActiveEmpire empire) {
+        Collection<?> general = this.container.getGeneral();
+        if (general != this.generalSource || general.size() != this.generalCount) {
+            // Mods may register general predicates at any time, which invalidates all stored results
+            this.generalSource = general;
+            this.generalCount = general.size();
+            this.generation++;
+        }
+        SpawnEligibilityHolder holder = (SpawnEligibilityHolder) empire;
+        Eligibility eligibility = holder.getSpawnEligibility();
+        if (eligibility == null || eligibility.generation != this.generation) {
+            eligibility = compute(empire);
+            holder.setSpawnEligibility(eligibility);
+        }
+        return eligibility;
+    }
+
+    /**
+     * Picks a fallback predicate for the given star by sampling the eligible fallback predicates according to their
+     * spawning chance through a {@link ChanceSampler}. Predicates whose star requirements are not met or that are refused
+     * by the spawner are excluded from the selection, which keeps the probability of no predicate being picked equal to
+     * that of rolling the chance of every usable predicate in turn.
+     *
+     * @param <T> The type of the spawned object
+     * @param eligibility The eligible predicates of the empire of the star
+     * @param star The star to spawn the actor at
+     * @param spawner The function that spawns the actor of a predicate, or returns null if the spawning was refused
+     * @return The spawned object, or null if no predicate could be used
+     */
+    @Nullable
+    public <T> T selectFallback(@NotNull Eligibility eligibility, @NotNull Star star,
+            @NotNull Function<@NotNull StateActorSpawnPredicate<?>, @Nullable T> spawner) {
+        ChanceSampler sampler = eligibility.fallbackSampler;
+        if (sampler == null) {
+            return null;
+        }
+        StateActorSpawnPredicate<?>[] predicates = eligibility.fallback;
+        return sampler.select(star.getInternalRandom(), (index) -> tryPredicate(predicates[index], star, spawner, false));
+    }
+
+    /**
+     * Tests the eligible general predicates in order for the given star, including their spawning chance, and spawns the
+     * actor of the first predicate that succeeds and is accepted by the spawner.
+     *
+     * @param <T> The type of the spawned object
+     * @param eligibility The eligible predicates of the empire of the star
+     * @param star The star to spawn the actor at
+     * @param spawner The function that spawns the actor of a predicate, or returns null if the spawning was refused
+     * @return The spawned object, or null if no predicate could be used
+     */
+    @Nullable
+    public <T> T selectGeneral(@NotNull Eligibility eligibility, @NotNull Star star,
+            @NotNull Function<@NotNull StateActorSpawnPredicate<?>, @Nullable T> spawner) {
+        for (StateActorSpawnPredicate<?> predicate : eligibility.general) {
+            T spawned = tryPredicate(predicate, star, spawner, true);
+            if (spawned != null) {
+                return spawned;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @SuppressWarnings("null")
+    private <T> T tryPredicate(@NotNull StateActorSpawnPredicate<?> predicate, @NotNull Star star,
+            @NotNull Function<@NotNull StateActorSpawnPredicate<?>, @Nullable T> spawner, boolean rollChance) {
+        if (predicate instanceof IndexedSpawnPredicate) {
+            if (!((IndexedSpawnPredicate) predicate).testStarRequirements(star)
+                    || (rollChance && star.getInternalRandom().nextFloat() >= predicate.getBaseSpawningChance())) {
+                return null;
+            }
+        } else if (rollChance ? !predicate.test(star) : !predicate.testStable(star)) {
+            return null;
+        }
+        return spawner.apply(predicate);
+    }
+}
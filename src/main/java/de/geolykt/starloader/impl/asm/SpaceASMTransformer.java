@@ -33,7 +33,10 @@ import de.geolykt.starloader.api.event.empire.EmpireCollapseEvent.EmpireCollapse
 import de.geolykt.starloader.api.event.lifecycle.GalaxyGeneratedEvent;
 import de.geolykt.starloader.api.event.lifecycle.LogicalTickEvent;
 import de.geolykt.starloader.api.serial.SupportedSavegameFormat;
+import de.geolykt.starloader.api.utils.TickLoopLock;
 import de.geolykt.starloader.impl.GalimulatorImplementation;
+import de.geolykt.starloader.impl.serial.BoilerplateSavegameFormat;
+import de.geolykt.starloader.impl.util.SemaphoreLoopLock;
 import de.geolykt.starloader.starplane.annotations.MethodDesc;
 import de.geolykt.starloader.starplane.annotations.ReferenceSource;
 import de.geolykt.starloader.starplane.annotations.RemapClassReference;
@@ -152,6 +155,11 @@ public class SpaceASMTransformer extends ASMTransformer {
      * Called at the very beginning of the global tick method.
      */
     public static final void logicalTickEarly() {
+        TickLoopLock lock = Galimulator.getSimulationLoopLock();
+        if (lock instanceof SemaphoreLoopLock) {
+            // Invalidate optimistic reads for the duration of the tick
+            ((SemaphoreLoopLock) lock).beginTick();
+        }
         GalimulatorImplementation.fireScheduledTasks();
         EventManager.handleEvent(new LogicalTickEvent(LogicalTickEvent.Phase.PRE_GRAPHICAL));
     }
@@ -160,7 +168,14 @@ public class SpaceASMTransformer extends ASMTransformer {
      * Called at the end of the global tick method.
      */
     public static final void logicalTickPost() {
-        EventManager.handleEvent(new LogicalTickEvent(LogicalTickEvent.Phase.POST));
+        try {
+            EventManager.handleEvent(new LogicalTickEvent(LogicalTickEvent.Phase.POST));
+        } finally {
+            TickLoopLock lock = Galimulator.getSimulationLoopLock();
+            if (lock instanceof SemaphoreLoopLock) {
+                ((SemaphoreLoopLock) lock).endTick();
+            }
+        }
     }
 
     /**
@@ -186,6 +201,8 @@ public class SpaceASMTransformer extends ASMTransformer {
         Space.getMainTickLoopLock().acquireUninterruptibly(2);
         Space.backgroundTaskDescription = "Saving galaxy: " + cause;
         LOGGER.info("Saving state to disk.");
+        // Opening the file truncates it, so lazily loaded metadata must no longer reference it
+        BoilerplateSavegameFormat.detachLazyMetadata();
 
         try (FileOutputStream fos = new FileOutputStream(new File(location))) {
             Galimulator.getSavegameFormat(SupportedSavegameFormat.SLAPI_BOILERPLATE).saveGameState(fos, cause, location, false);
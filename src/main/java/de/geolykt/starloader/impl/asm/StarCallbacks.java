@@ -12,7 +12,6 @@ import de.geolykt.starloader.api.gui.MapMode;
 import de.geolykt.starloader.api.registry.MapModeRegistryPrototype.ClickInteractionResponse;
 import de.geolykt.starloader.impl.registry.SLMapMode;
 
-import snoddasmannen.galimulator.Space;
 import snoddasmannen.galimulator.Star;
 
 public class StarCallbacks {
@@ -26,7 +25,7 @@ public class StarCallbacks {
         MapMode mapMode = Galimulator.getActiveMapmode();
         if (mapMode instanceof SLMapMode) {
             SLMapMode slmapmode = (SLMapMode) mapMode;
-            Star galimulatorStar = Space.findStarNear(clickpos.x, clickpos.y, Star.globalSizeFactor * 10.0F, null);
+            Star galimulatorStar = (Star) Galimulator.getStarSpatialIndex().findNearest(clickpos.x, clickpos.y, Star.globalSizeFactor * 10.0F);
             if (galimulatorStar == null) {
                 return false;
             }
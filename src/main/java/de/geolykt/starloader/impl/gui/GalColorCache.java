@@ -0,0 +1,105 @@
+package de.geolykt.starloader.impl.gui;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.NumberUtils;
+
+import snoddasmannen.galimulator.GalColor;
+
+/**
+ * A cache that converts libGDX {@link Color colors} into {@link GalColor GalColors} without allocating
+ * a new instance on every draw call.
+ *
+ * <p>The cache is keyed by the value of the color rather than the instance, so that mutable or freshly allocated
+ * {@link Color} instances resolve to the same {@link GalColor} as long as their components are equal.
+ * It is a direct-mapped table with a fixed amount of slots, so a miss merely replaces the entry in the slot
+ * of the color. The entries are immutable and can thus be shared between threads without any synchronisation;
+ * a thread may at worst not see an entry that was written by another thread and create its own.
+ * The returned {@link GalColor GalColors} are shared and must not be modified.
+ */
+public final class GalColorCache {
+
+    /**
+     * An immutable mapping of the components of a color to the {@link GalColor} instance.
+     */
+    private static final class Entry {
+        private final float a;
+        private final float b;
+        private final float g;
+        @NotNull
+        private final GalColor galColor;
+        private final float r;
+
+        private Entry(float r, float g, float b, float a, @NotNull GalColor galColor) {
+            this.r = r;
+            this.g = g;
+            this.b = b;
+            this.a = a;
+            this.galColor = galColor;
+        }
+    }
+
+    private static final int SLOT_COUNT = 256;
+
+    private static final Entry @NotNull[] SLOTS = new Entry[SLOT_COUNT];
+
+    private GalColorCache() {
+        // Only consists of static methods
+    }
+
+    /**
+     * Obtains the {@link GalColor} of the given color.
+     *
+     * @param color The libGDX color
+     * @return The shared {@link GalColor} instance with the same components as the color
+     */
+    @NotNull
+    public static GalColor get(@NotNull Color color) {
+        float r = color.r;
+        float g = color.g;
+        float b = color.b;
+        float a = color.a;
+        int slot = GalColorCache.slotOf(r, g, b, a);
+        Entry entry = SLOTS[slot];
+        if (entry != null && entry.r == r && entry.g == g && entry.b == b && entry.a == a) {
+            return entry.galColor;
+        }
+        GalColor galColor = new GalColor(color);
+        SLOTS[slot] = new Entry(r, g, b, a, galColor);
+        return galColor;
+    }
+
+    /**
+     * Obtains the {@link GalColor} of a color that was packed into a float in the ABGR8888 format,
+     * as done by {@link Color#toFloatBits()}.
+     *
+     * @param packedColor The packed color
+     * @return The shared {@link GalColor} instance with the same components as the color
+     */
+    @NotNull
+    public static GalColor getPacked(float packedColor) {
+        int abgr = NumberUtils.floatToIntColor(packedColor);
+        float r = (abgr & 0xFF) / 255F;
+        float g = ((abgr >>> 8) & 0xFF) / 255F;
+        float b = ((abgr >>> 16) & 0xFF) / 255F;
+        float a = (abgr >>> 24) / 255F;
+        int slot = GalColorCache.slotOf(r, g, b, a);
+        Entry entry = SLOTS[slot];
+        if (entry != null && entry.r == r && entry.g == g && entry.b == b && entry.a == a) {
+            return entry.galColor;
+        }
+        GalColor galColor = new GalColor(new Color(r, g, b, a));
+        SLOTS[slot] = new Entry(r, g, b, a, galColor);
+        return galColor;
+    }
+
+    private static int slotOf(float r, float g, float b, float a) {
+        int hash = Float.floatToRawIntBits(r);
+        hash = hash * 31 + Float.floatToRawIntBits(g);
+        hash = hash * 31 + Float.floatToRawIntBits(b);
+        hash = hash * 31 + Float.floatToRawIntBits(a);
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (SLOT_COUNT - 1);
+    }
+}
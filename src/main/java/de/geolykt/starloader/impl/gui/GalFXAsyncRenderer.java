@@ -14,7 +14,6 @@ import de.geolykt.starloader.impl.GalimulatorImplementation;
 import de.geolykt.starloader.impl.gui.rendercache.AlignedTextRenderItem;
 import de.geolykt.starloader.impl.gui.rendercache.CenteredTextRenderItem;
 
-import snoddasmannen.galimulator.GalColor;
 import snoddasmannen.galimulator.GalFX;
 import snoddasmannen.galimulator.rendersystem.RenderCache;
 
@@ -29,7 +28,7 @@ public class GalFXAsyncRenderer implements AsyncRenderer {
     @Override
     public void drawNinepatch0(@NotNull NinePatch ninepatch, double x, double y, double width, double height, @NotNull Color color,
             @NotNull Camera camera) {
-        GalFX.drawNinepatch(ninepatch, (int) x, (int) y, (int) width, (int) height, new GalColor(color), camera);
+        GalFX.drawNinepatch(ninepatch, (int) x, (int) y, (int) width, (int) height, GalColorCache.get(color), camera);
     }
 
     @Override
@@ -57,19 +56,25 @@ public class GalFXAsyncRenderer implements AsyncRenderer {
     @Override
     public void drawTexture0(@NotNull TextureRegion region, double x, double yCenter, double width, double height, double rot,
             @NotNull Color tint) {
-        GalFX.drawTexture(region, x, yCenter, width, height, rot, new GalColor(tint), false);
+        GalFX.drawTexture(region, x, yCenter, width, height, rot, GalColorCache.get(tint), false);
     }
 
     @Override
     public void drawTexture0(@NotNull TextureRegion region, double x, double yCenter, double width, double height, double rot,
             @NotNull Color tint, @NotNull Camera camera) {
-        GalFX.drawTexture(region, x, yCenter, width, height, rot, new GalColor(tint), false, camera);
+        GalFX.drawTexture(region, x, yCenter, width, height, rot, GalColorCache.get(tint), false, camera);
+    }
+
+    @Override
+    public void drawTexture0(@NotNull TextureRegion region, double x, double yCenter, double width, double height, double rot,
+            float packedTint, @NotNull Camera camera) {
+        GalFX.drawTexture(region, x, yCenter, width, height, rot, GalColorCache.getPacked(packedTint), false, camera);
     }
 
     @Override
     public void fillWindow0(float x, float y, float width, float height, @NotNull Color color,
             @NotNull Camera camera) {
-        GalFX.drawWindow(x, y, width, height, new GalColor(color), camera);
+        GalFX.drawWindow(x, y, width, height, GalColorCache.get(color), camera);
     }
 
     @Override
@@ -0,0 +1,214 @@
+package de.geolykt.starloader.impl.gui;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+/**
+ * A bounded cache of computed {@link GlyphLayout glyph layouts}, so that texts which are drawn every frame
+ * only need to be shaped and wrapped once instead of once per frame.
+ *
+ * <p>The layouts are keyed by the font (including its scale), the text, the color, the target width and
+ * the horizontal alignment. Entries are evicted in least-recently-used order once either the amount of entries or
+ * the total amount of characters of the cached texts exceeds its bound, the latter being an approximation of the memory
+ * used by the layouts. Evicted layouts are not reused, so a layout that was returned by this cache stays valid
+ * even if it is evicted while it is still being drawn. The returned layouts are shared and must not be modified.
+ */
+public final class GlyphLayoutCache {
+
+    /**
+     * The key of a layout. A single mutable instance is used for lookups, while inserted keys are copies.
+     */
+    private static final class Key {
+        private int color;
+        private BitmapFont font;
+        private int halign;
+        private int hash;
+        private float scaleX;
+        private float scaleY;
+        private float targetWidth;
+        private String text;
+
+        private Key() {
+        }
+
+        private Key(@NotNull Key other) {
+            this.color = other.color;
+            this.font = other.font;
+            this.halign = other.halign;
+            this.hash = other.hash;
+            this.scaleX = other.scaleX;
+            this.scaleY = other.scaleY;
+            this.targetWidth = other.targetWidth;
+            this.text = other.text;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.hash == other.hash
+                    && this.font == other.font
+                    && this.color == other.color
+                    && this.halign == other.halign
+                    && Float.floatToIntBits(this.scaleX) == Float.floatToIntBits(other.scaleX)
+                    && Float.floatToIntBits(this.scaleY) == Float.floatToIntBits(other.scaleY)
+                    && Float.floatToIntBits(this.targetWidth) == Float.floatToIntBits(other.targetWidth)
+                    && this.text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        private void set(@NotNull BitmapFont font, @NotNull String text, @NotNull Color color, float targetWidth, int halign) {
+            this.font = font;
+            this.text = text;
+            // Layouts only retain the packed color, so colors which pack into the same bits are equal for the layout
+            this.color = color.toIntBits();
+            this.targetWidth = targetWidth;
+            this.halign = halign;
+            this.scaleX = font.getData().scaleX;
+            this.scaleY = font.getData().scaleY;
+
+            int hash = System.identityHashCode(font);
+            hash = hash * 31 + text.hashCode();
+            hash = hash * 31 + this.color;
+            hash = hash * 31 + Float.floatToIntBits(targetWidth);
+            hash = hash * 31 + halign;
+            hash = hash * 31 + Float.floatToIntBits(this.scaleX);
+            hash = hash * 31 + Float.floatToIntBits(this.scaleY);
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * The maximum amount of characters of all cached texts combined.
+     */
+    private static final int MAX_CACHED_CHARACTERS = 1 << 16;
+
+    /**
+     * The maximum amount of cached layouts.
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    /**
+     * Texts that are longer than this amount of characters are not cached as they are unlikely to be drawn repeatedly
+     * and would displace a lot of other entries.
+     */
+    private static final int MAX_TEXT_LENGTH = 1024;
+
+    private static int cachedCharacters;
+    private static final LinkedHashMap<Key, GlyphLayout> ENTRIES = new LinkedHashMap<>(16, 0.75F, true);
+    private static long evictions;
+    private static long hits;
+    @NotNull
+    private static final Key LOOKUP_KEY = new Key();
+    private static long misses;
+
+    private GlyphLayoutCache() {
+        // Only consists of static methods
+    }
+
+    /**
+     * Removes all cached layouts. This should be called whenever fonts are disposed, as otherwise the
+     * layouts would keep on referencing the fonts.
+     */
+    public static synchronized void clear() {
+        ENTRIES.clear();
+        cachedCharacters = 0;
+    }
+
+    /**
+     * Obtains the layout of a text, computing it if it is not yet cached.
+     * Text wrapping is always enabled.
+     *
+     * @param font The font to layout the text with
+     * @param text The text
+     * @param color The default color of the text
+     * @param targetWidth The width at which the text is wrapped and relative to which it is aligned
+     * @param halign The horizontal alignment, as defined by {@link com.badlogic.gdx.utils.Align}
+     * @return The shared layout instance
+     */
+    @NotNull
+    public static synchronized GlyphLayout get(@NotNull BitmapFont font, @NotNull CharSequence text, @NotNull Color color,
+            float targetWidth, int halign) {
+        String string = text.toString();
+        if (string.length() > MAX_TEXT_LENGTH) {
+            misses++;
+            return new GlyphLayout(font, string, color, targetWidth, halign, true);
+        }
+        Key lookup = LOOKUP_KEY;
+        lookup.set(font, string, color, targetWidth, halign);
+        GlyphLayout layout = ENTRIES.get(lookup);
+        if (layout != null) {
+            hits++;
+        } else {
+            misses++;
+            layout = new GlyphLayout(font, string, color, targetWidth, halign, true);
+            ENTRIES.put(new Key(lookup), layout);
+            cachedCharacters += string.length();
+            GlyphLayoutCache.evict();
+        }
+        // Do not retain the font or the text through the lookup key
+        lookup.font = null;
+        lookup.text = null;
+        return layout;
+    }
+
+    private static void evict() {
+        if (ENTRIES.size() > MAX_ENTRIES || cachedCharacters > MAX_CACHED_CHARACTERS) {
+            Iterator<Map.Entry<Key, GlyphLayout>> it = ENTRIES.entrySet().iterator();
+            while (ENTRIES.size() > MAX_ENTRIES || cachedCharacters > MAX_CACHED_CHARACTERS) {
+                cachedCharacters -= it.next().getKey().text.length();
+                it.remove();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Obtains the amount of layouts that were evicted from the cache in order to stay within its bounds.
+     *
+     * @return The amount of evictions
+     */
+    public static synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Obtains the amount of lookups that were answered by a cached layout.
+     *
+     * @return The amount of cache hits
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Obtains the amount of lookups that required the layout to be computed.
+     *
+     * @return The amount of cache misses
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Obtains the amount of currently cached layouts.
+     *
+     * @return The amount of cached layouts
+     */
+    public static synchronized int size() {
+        return ENTRIES.size();
+    }
+}
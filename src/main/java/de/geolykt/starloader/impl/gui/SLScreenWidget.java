@@ -72,6 +72,27 @@ public class SLScreenWidget extends SLAbstractWidget implements Screen {
 
     private double lastRenderHeight = Double.NaN;
 
+    /**
+     * The amount of components the retained layout was computed for. Used to detect components that were
+     * added to or removed from {@link #components} without going through {@link #addChild(ScreenComponent)}.
+     */
+    private int layoutComponentCount = -1;
+
+    /**
+     * Whether the retained layout in {@link #componentPositioningMeta} needs to be recomputed.
+     */
+    private boolean layoutDirty = true;
+
+    /**
+     * The height of the screen as computed alongside the retained layout.
+     */
+    private int layoutHeight;
+
+    /**
+     * The inner width the retained layout was computed for.
+     */
+    private int layoutInnerWidth;
+
     /**
      * The constructor of this screen instance.
      * Even if headless is true title and headerColor cannot be null.
@@ -131,6 +152,7 @@ public class SLScreenWidget extends SLAbstractWidget implements Screen {
     @Override
     public void addChild(@NotNull ScreenComponent child) {
         this.components.add(Objects.requireNonNull(child, "Cannot add a null child component."));
+        this.layoutDirty = true;
     }
 
     @Override
@@ -147,12 +169,16 @@ public class SLScreenWidget extends SLAbstractWidget implements Screen {
         return new ArrayList<>(components);
     }
 
-    @Override
-    public int getHeight() {
+    /**
+     * Computes the height of the screen based on the line wrapping behaviour and the sizes of the components.
+     *
+     * @param maxWidth The inner width of the screen
+     * @return The height of the screen
+     */
+    private int computeHeight(int maxWidth) {
         int height = 0;
         int lineheight = 0;
         int linewidth = 0;
-        final int maxWidth = getInnerWidth();
         ScreenComponent previousComponent = null;
         for (ScreenComponent component : components) {
             LineWrappingInfo lwrapinfo = component.getLineWrappingInfo();
@@ -201,6 +227,40 @@ public class SLScreenWidget extends SLAbstractWidget implements Screen {
         return height + lineheight;
     }
 
+    /**
+     * Recomputes the positions of the components and the height of the screen if the screen was marked dirty
+     * or the inner width or the amount of components changed since the layout was last computed.
+     * Otherwise the retained layout is reused. Components that change their size without the screen being marked
+     * dirty are detected by {@link #renderSLChildComponents()}.
+     */
+    private void ensureLayout() {
+        int innerWidth = getInnerWidth();
+        if (!this.layoutDirty && innerWidth == this.layoutInnerWidth && this.components.size() == this.layoutComponentCount) {
+            return;
+        }
+        int height = computeHeight(innerWidth);
+        @SuppressWarnings("null")
+        @NotNull Iterator<ScreenComponent> hackvar = this.components.iterator();
+        Iterator<Map.Entry<Vector2, ScreenComponent>> populator = new SLScreenWidgetPopulator(height, isHeadless(), innerWidth, hackvar, false);
+        this.componentPositioningMeta.clear();
+        while (populator.hasNext()) {
+            Map.Entry<Vector2, ScreenComponent> componentEntry = populator.next();
+            ScreenComponent component = NullUtils.requireNotNull(componentEntry.getValue());
+            this.componentPositioningMeta.add(new ScreenComponentPositioningMeta<>(NullUtils.requireNotNull(componentEntry.getKey()),
+                    component.getWidth(), component.getHeight(), component));
+        }
+        this.layoutHeight = height;
+        this.layoutInnerWidth = innerWidth;
+        this.layoutComponentCount = this.components.size();
+        this.layoutDirty = false;
+    }
+
+    @Override
+    public int getHeight() {
+        ensureLayout();
+        return this.layoutHeight;
+    }
+
     @Override
     public int getInnerWidth() {
         return getWidth() - 20;
@@ -233,6 +293,7 @@ public class SLScreenWidget extends SLAbstractWidget implements Screen {
 
     @Override
     public void markDirty() {
+        this.layoutDirty = true;
         this.dispatchMessage(WIDGET_MESSAGE.WIDGET_FORCE_REDRAW);
     }
 
@@ -256,21 +317,21 @@ public class SLScreenWidget extends SLAbstractWidget implements Screen {
         if (!Drawing.getDrawingBatch().isDrawing()) {
             throw new IllegalStateException("API contract violation: Drawing is not enabled for the main drawing batch");
         }
-        @SuppressWarnings("null")
-        @NotNull Iterator<ScreenComponent> hackvar = this.components.iterator();
         Camera c = NullUtils.requireNotNull(getCamera(), "The internal camera may not be null in order for draw operations to succeed.");
-        int height = getHeight();
-        Iterator<Map.Entry<Vector2, ScreenComponent>> populator = new SLScreenWidgetPopulator(height, isHeadless(), getInnerWidth(), hackvar, false);
-
-        componentPositioningMeta.clear();
-        lastRenderHeight = height;
-        while (populator.hasNext()) {
-            Map.Entry<Vector2, ScreenComponent> componentEntry = populator.next();
-            Vector2 pos = componentEntry.getKey();
-            ScreenComponent component = componentEntry.getValue();
+        List<ScreenComponentPositioningMeta<ScreenComponent>> layout = this.componentPositioningMeta;
+        for (int i = 0; i < layout.size() && !this.layoutDirty; i++) {
+            ScreenComponentPositioningMeta<ScreenComponent> posMeta = layout.get(i);
+            if (posMeta.component.getWidth() != posMeta.layoutWidth || posMeta.component.getHeight() != posMeta.height) {
+                this.layoutDirty = true;
+            }
+        }
+        ensureLayout();
+        lastRenderHeight = this.layoutHeight;
+        for (int i = 0; i < layout.size(); i++) {
+            ScreenComponentPositioningMeta<ScreenComponent> posMeta = layout.get(i);
+            Vector2 pos = posMeta.pos;
             try {
-                int width = component.renderAt((int) pos.x, (int) pos.y, c); // TODO originally the render operation had offsets, but not anymore. Explore why this may have been dumb to remove. (#getInnerWidth does not make any sense anymore dummy.)
-                componentPositioningMeta.add(new ScreenComponentPositioningMeta<>(pos, width, component.getHeight(), component));
+                posMeta.width = posMeta.component.renderAt((int) pos.x, (int) pos.y, c); // TODO originally the render operation had offsets, but not anymore. Explore why this may have been dumb to remove. (#getInnerWidth does not make any sense anymore dummy.)
             } catch (Exception e) {
                 // Throwing an exception here would cause serious UI issues
                 e.printStackTrace();
@@ -48,14 +48,26 @@ final class ScreenComponentPositioningMeta<T> {
     public final T component;
 
     public final int height;
+
+    /**
+     * The width reported by the component when the layout was computed. Used to detect components that changed
+     * their size without the screen being marked dirty.
+     */
+    public final int layoutWidth;
+
     @NotNull
     public final Vector2 pos;
 
-    public final int width;
+    /**
+     * The width of the component as returned by the last render operation, or the width reported by the component
+     * if it was not yet rendered.
+     */
+    public int width;
 
     public ScreenComponentPositioningMeta(@NotNull Vector2 pos, int width, int height, @NotNull T component) {
         this.pos = pos;
         this.width = width;
+        this.layoutWidth = width;
         this.height = height;
         this.component = component;
     }
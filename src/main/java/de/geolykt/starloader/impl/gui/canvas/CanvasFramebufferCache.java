@@ -0,0 +1,212 @@
+package de.geolykt.starloader.impl.gui.canvas;
+
+import java.nio.IntBuffer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.BufferUtils;
+
+/**
+ * Caches the output of a {@link de.geolykt.starloader.api.gui.canvas.CanvasContext} in an offscreen {@link FrameBuffer}.
+ *
+ * <p>The bounds of the canvas are projected into the viewport to obtain the area of the viewport the canvas covers,
+ * which is the size of the framebuffer. The context is rendered into the framebuffer with the very same projection,
+ * with the viewport of the framebuffer being offset so that the covered area ends up within the framebuffer.
+ * The cached texture then only needs to be drawn over the covered area again. This keeps the cache independent of
+ * how the camera of the canvas maps its coordinates. The content is rendered with premultiplied alpha, as blending translucent content into a transparent
+ * framebuffer would otherwise apply the alpha twice. All methods must be called on the rendering thread.
+ */
+final class CanvasFramebufferCache {
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * Identity matrix used to draw the cached texture over the covered area in normalised device coordinates.
+     */
+    @NotNull
+    private static final Matrix4 IDENTITY = new Matrix4();
+
+    @NotNull
+    private static final IntBuffer INT_BUFFER = BufferUtils.newIntBuffer(16);
+
+    @NotNull
+    private static final Vector3 TEMP_VECTOR = new Vector3();
+
+    /**
+     * The area of the viewport covered by the canvas, in pixels relative to the lower left corner of the viewport.
+     */
+    private int areaX;
+    private int areaY;
+    private boolean dirty = true;
+    @Nullable
+    private FrameBuffer framebuffer;
+    /**
+     * The projection the cached content was rendered with.
+     */
+    private final float @NotNull[] projection = new float[16];
+    @Nullable
+    private TextureRegion region;
+
+    /**
+     * Releases the framebuffer, after which the cache needs to render the context again.
+     */
+    void dispose() {
+        FrameBuffer framebuffer = this.framebuffer;
+        if (framebuffer != null) {
+            framebuffer.dispose();
+            this.framebuffer = null;
+            this.region = null;
+        }
+        this.dirty = true;
+    }
+
+    /**
+     * Draws the cached content, rendering it beforehand if the cache is invalid or if the projection
+     * of the batch changed, for example because the canvas was moved.
+     * The batch must be drawing and its projection matrix must be set to the camera of the canvas.
+     * Only content within the bounds of the canvas is cached.
+     *
+     * @param batch The batch to draw with
+     * @param width The width of the canvas in the coordinates of the camera, starting at 0
+     * @param height The height of the canvas in the coordinates of the camera, starting at 0
+     * @param renderer The action that renders the content of the canvas onto the batch
+     */
+    void draw(@NotNull SpriteBatch batch, float width, float height, @NotNull Runnable renderer) {
+        batch.flush();
+        INT_BUFFER.clear();
+        Gdx.gl.glGetIntegerv(GL20.GL_VIEWPORT, INT_BUFFER);
+        int viewportX = INT_BUFFER.get(0);
+        int viewportY = INT_BUFFER.get(1);
+        int viewportWidth = INT_BUFFER.get(2);
+        int viewportHeight = INT_BUFFER.get(3);
+        if (viewportWidth <= 0 || viewportHeight <= 0) {
+            return;
+        }
+
+        Matrix4 projectionMatrix = batch.getProjectionMatrix();
+        float[] projection = projectionMatrix.val;
+        for (int i = 0; i < 16; i++) {
+            if (this.projection[i] != projection[i]) {
+                this.projection[i] = projection[i];
+                this.dirty = true;
+            }
+        }
+
+        // Project the corners of the canvas into the viewport
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int corner = 0; corner < 4; corner++) {
+            Vector3 projected = TEMP_VECTOR.set((corner & 1) == 0 ? 0F : width, (corner & 2) == 0 ? 0F : height, 0F).prj(projectionMatrix);
+            minX = Math.min(minX, projected.x);
+            minY = Math.min(minY, projected.y);
+            maxX = Math.max(maxX, projected.x);
+            maxY = Math.max(maxY, projected.y);
+        }
+        int areaX = Math.max(0, (int) Math.floor((minX + 1F) * 0.5F * viewportWidth));
+        int areaY = Math.max(0, (int) Math.floor((minY + 1F) * 0.5F * viewportHeight));
+        int areaWidth = Math.min(viewportWidth, (int) Math.ceil((maxX + 1F) * 0.5F * viewportWidth)) - areaX;
+        int areaHeight = Math.min(viewportHeight, (int) Math.ceil((maxY + 1F) * 0.5F * viewportHeight)) - areaY;
+        if (areaWidth <= 0 || areaHeight <= 0) {
+            // The canvas is not within the viewport
+            return;
+        }
+        if (areaX != this.areaX || areaY != this.areaY) {
+            this.areaX = areaX;
+            this.areaY = areaY;
+            this.dirty = true;
+        }
+
+        FrameBuffer framebuffer = this.framebuffer;
+        TextureRegion region = this.region;
+        if (framebuffer == null || region == null || framebuffer.getWidth() != areaWidth || framebuffer.getHeight() != areaHeight) {
+            dispose();
+            framebuffer = new FrameBuffer(Pixmap.Format.RGBA8888, areaWidth, areaHeight, false);
+            this.framebuffer = framebuffer;
+            region = new TextureRegion(framebuffer.getColorBufferTexture());
+            region.flip(false, true);
+            this.region = region;
+            this.dirty = true;
+        }
+
+        int srcRGB = batch.getBlendSrcFunc();
+        int dstRGB = batch.getBlendDstFunc();
+        int srcAlpha = batch.getBlendSrcFuncAlpha();
+        int dstAlpha = batch.getBlendDstFuncAlpha();
+
+        if (this.dirty) {
+            INT_BUFFER.clear();
+            Gdx.gl.glGetIntegerv(GL20.GL_FRAMEBUFFER_BINDING, INT_BUFFER);
+            int previousFramebuffer = INT_BUFFER.get(0);
+            boolean scissor = Gdx.gl.glIsEnabled(GL20.GL_SCISSOR_TEST);
+
+            framebuffer.bind();
+            // Offset the viewport so that the area covered by the canvas is mapped onto the framebuffer
+            Gdx.gl.glViewport(-areaX, -areaY, viewportWidth, viewportHeight);
+            if (scissor) {
+                // The scissor box is relative to the window, not to the viewport. Clipping happens when drawing the cache.
+                Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+            }
+            Gdx.gl.glClearColor(0F, 0F, 0F, 0F);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            try {
+                renderer.run();
+                batch.flush();
+            } finally {
+                batch.setBlendFunctionSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+                Gdx.gl.glBindFramebuffer(GL20.GL_FRAMEBUFFER, previousFramebuffer);
+                Gdx.gl.glViewport(viewportX, viewportY, viewportWidth, viewportHeight);
+                if (scissor) {
+                    Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+                }
+            }
+            this.dirty = false;
+        }
+
+        Matrix4 oldProjection = batch.getProjectionMatrix().cpy();
+        float oldColor = batch.getPackedColor();
+        batch.setProjectionMatrix(IDENTITY);
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.setColor(1F, 1F, 1F, 1F);
+        try {
+            batch.draw(region, areaX * 2F / viewportWidth - 1F, areaY * 2F / viewportHeight - 1F,
+                    areaWidth * 2F / viewportWidth, areaHeight * 2F / viewportHeight);
+            batch.flush();
+        } finally {
+            batch.setPackedColor(oldColor);
+            batch.setBlendFunctionSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+            batch.setProjectionMatrix(oldProjection);
+        }
+    }
+
+    /**
+     * Obtains the estimated amount of memory used by the framebuffer of this cache.
+     *
+     * @return The amount of bytes, 0 if no framebuffer is allocated
+     */
+    long getMemory() {
+        FrameBuffer framebuffer = this.framebuffer;
+        if (framebuffer == null) {
+            return 0L;
+        }
+        return (long) framebuffer.getWidth() * framebuffer.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Invalidates the cached content, causing it to be rendered again the next time the cache is drawn.
+     */
+    void invalidate() {
+        this.dirty = true;
+    }
+}
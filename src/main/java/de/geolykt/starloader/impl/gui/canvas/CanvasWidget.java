@@ -6,8 +6,10 @@ import java.util.Collections;
 import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
@@ -21,6 +23,7 @@ import de.geolykt.starloader.api.gui.canvas.MultiCanvas;
 import de.geolykt.starloader.impl.GalimulatorImplementation;
 import de.geolykt.starloader.impl.gui.AsyncWidgetInput;
 import de.geolykt.starloader.impl.gui.GLScissorState;
+import de.geolykt.starloader.impl.gui.GalColorCache;
 import de.geolykt.starloader.impl.gui.SLAbstractWidget;
 
 import snoddasmannen.galimulator.GalColor;
@@ -32,6 +35,12 @@ import snoddasmannen.galimulator.ui.Widget;
 
 public class CanvasWidget extends SLAbstractWidget implements MultiCanvas, AsyncWidgetInput {
 
+    /**
+     * The offscreen cache of the rendered context, null if not enabled via {@link CanvasSettings#isFramebufferCached()}.
+     */
+    @Nullable
+    private final CanvasFramebufferCache cache;
+
     @NotNull
     private final CanvasSettings canvasSettings;
 
@@ -49,6 +58,7 @@ public class CanvasWidget extends SLAbstractWidget implements MultiCanvas, Async
         this.ctx = ctx;
         this.canvasSettings = settings;
         this.orientation = orientation;
+        this.cache = settings.isFramebufferCached() ? new CanvasFramebufferCache() : null;
         if (settings.hasHeader()) {
             setHeaderTitle(settings.getHeaderText());
             setHeaderColor(new GalColor(settings.getHeaderColor()));
@@ -139,6 +149,12 @@ public class CanvasWidget extends SLAbstractWidget implements MultiCanvas, Async
         return ctx;
     }
 
+    @Override
+    public long getFramebufferCacheMemory() {
+        CanvasFramebufferCache cache = this.cache;
+        return cache == null ? 0L : cache.getMemory();
+    }
+
     @Override
     public int getHeight() {
         if (canvasSettings.hasHeader()) {
@@ -177,6 +193,10 @@ public class CanvasWidget extends SLAbstractWidget implements MultiCanvas, Async
     @Override
     @NotNull
     public Canvas markDirty() {
+        CanvasFramebufferCache cache = this.cache;
+        if (cache != null) {
+            cache.invalidate();
+        }
         dispatchMessage(WIDGET_MESSAGE.WIDGET_FORCE_REDRAW);
         return this;
     }
@@ -184,6 +204,10 @@ public class CanvasWidget extends SLAbstractWidget implements MultiCanvas, Async
     @Override
     public void onDispose() {
         open = false;
+        CanvasFramebufferCache cache = this.cache;
+        if (cache != null) {
+            cache.dispose();
+        }
         ctx.onDispose(this);
         super.onDispose();
     }
@@ -204,7 +228,7 @@ public class CanvasWidget extends SLAbstractWidget implements MultiCanvas, Async
         }
 
         if (this.canvasSettings.getBackgroundColor().a != 0) {
-            drawBackground(new GalColor(this.canvasSettings.getBackgroundColor()));
+            drawBackground(GalColorCache.get(this.canvasSettings.getBackgroundColor()));
         }
         if (this.canvasSettings.hasHeader()) {
             drawHeader();
@@ -213,7 +237,15 @@ public class CanvasWidget extends SLAbstractWidget implements MultiCanvas, Async
         try {
             renderChildren();
             surface.setProjectionMatrix(internalCamera.combined);
-            ctx.render(surface, NullUtils.requireNotNull(getCamera(), "the internal camera is null, how strange"));
+            Camera camera = NullUtils.requireNotNull(getCamera(), "the internal camera is null, how strange");
+            CanvasFramebufferCache cache = this.cache;
+            if (cache == null) {
+                ctx.render(surface, camera);
+            } else {
+                cache.draw(surface, ctx.getWidth(), ctx.getHeight(), () -> {
+                    ctx.render(surface, camera);
+                });
+            }
         } finally {
             surface.flush();
             oldScissor.reapplyState();
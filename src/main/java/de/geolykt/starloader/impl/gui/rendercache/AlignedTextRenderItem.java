@@ -11,13 +11,12 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Matrix4;
-import com.badlogic.gdx.math.Rectangle;
 
 import de.geolykt.starloader.api.gui.AsyncRenderer;
 import de.geolykt.starloader.api.gui.Drawing;
+import de.geolykt.starloader.impl.gui.GlyphLayoutCache;
 
 import snoddasmannen.galimulator.GalFX;
-import snoddasmannen.galimulator.Space;
 import snoddasmannen.galimulator.rendersystem.RenderItem;
 import snoddasmannen.galimulator.rendersystem.TextRenderItem;
 
@@ -29,8 +28,6 @@ import snoddasmannen.galimulator.rendersystem.TextRenderItem;
  */
 public class AlignedTextRenderItem extends RenderItem {
 
-    private static final GlyphLayout COMMON_LAYOUT_INSTANCE = new GlyphLayout();
-
     /**
      * Draws a text on the main drawing batch with the given arguments.
      *
@@ -50,7 +47,7 @@ public class AlignedTextRenderItem extends RenderItem {
      */
     public static void drawText(float x, float y, float targetWidth, @NotNull CharSequence text, @NotNull Color color,
             @NotNull Camera camera, int halign, @NotNull BitmapFont font) {
-        COMMON_LAYOUT_INSTANCE.setText(font, text, color, targetWidth, halign, true);
+        GlyphLayout layout = GlyphLayoutCache.get(font, text, color, targetWidth, halign);
         Gdx.gl.glDisable(GL20.GL_CULL_FACE);
 
         SpriteBatch mainDrawingBatch = Drawing.getDrawingBatch();
@@ -61,7 +58,7 @@ public class AlignedTextRenderItem extends RenderItem {
             mainDrawingBatch.begin();
         }
 
-        font.draw(mainDrawingBatch, COMMON_LAYOUT_INSTANCE, x, y);
+        font.draw(mainDrawingBatch, layout, x, y);
 
         mainDrawingBatch.setProjectionMatrix(oldProjection);
 
@@ -95,7 +92,7 @@ public class AlignedTextRenderItem extends RenderItem {
         this.font = font;
 
         super.c = (OrthographicCamera) camera;
-        super.b = new Rectangle(-Space.getMaxX(), -Space.getMaxY(), Space.getMaxX() * 2.0F, Space.getMaxY() * 2.0F);
+        super.b = RenderItemBounds.getGalaxyBounds();
     }
 
     @Override
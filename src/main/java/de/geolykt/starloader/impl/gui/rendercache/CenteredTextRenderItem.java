@@ -11,14 +11,13 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Matrix4;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Align;
 
 import de.geolykt.starloader.api.gui.AsyncRenderer;
 import de.geolykt.starloader.api.gui.Drawing;
+import de.geolykt.starloader.impl.gui.GlyphLayoutCache;
 
 import snoddasmannen.galimulator.GalFX;
-import snoddasmannen.galimulator.Space;
 import snoddasmannen.galimulator.rendersystem.RenderItem;
 import snoddasmannen.galimulator.rendersystem.TextRenderItem;
 
@@ -30,8 +29,6 @@ import snoddasmannen.galimulator.rendersystem.TextRenderItem;
  */
 public class CenteredTextRenderItem extends RenderItem {
 
-    private static final GlyphLayout COMMON_LAYOUT_INSTANCE = new GlyphLayout();
-
     /**
      * Draws a text on the main drawing batch with the given arguments.
      * The text will be centred both vertically and horizontally.
@@ -54,7 +51,7 @@ public class CenteredTextRenderItem extends RenderItem {
      */
     public static void drawTextCentred(float x, float y, float width, float height, @NotNull CharSequence text,
             @NotNull Color color, @NotNull Camera camera, @NotNull BitmapFont font) {
-        COMMON_LAYOUT_INSTANCE.setText(font, text, color, width, Align.top | Align.center, true);
+        GlyphLayout layout = GlyphLayoutCache.get(font, text, color, width, Align.top | Align.center);
         Gdx.gl.glDisable(GL20.GL_CULL_FACE);
 
         SpriteBatch mainDrawingBatch = Drawing.getDrawingBatch();
@@ -65,9 +62,9 @@ public class CenteredTextRenderItem extends RenderItem {
             mainDrawingBatch.begin();
         }
 
-        float yDraw = y + (height / 2) + (COMMON_LAYOUT_INSTANCE.height / 2);
+        float yDraw = y + (height / 2) + (layout.height / 2);
         float xDraw = x;
-        font.draw(mainDrawingBatch, COMMON_LAYOUT_INSTANCE, xDraw, yDraw);
+        font.draw(mainDrawingBatch, layout, xDraw, yDraw);
 
         mainDrawingBatch.setProjectionMatrix(oldProjection);
 
@@ -101,7 +98,7 @@ public class CenteredTextRenderItem extends RenderItem {
         this.font = font;
 
         super.c = (OrthographicCamera) camera;
-        super.b = new Rectangle(-Space.getMaxX(), -Space.getMaxY(), Space.getMaxX() * 2.0F, Space.getMaxY() * 2.0F);
+        super.b = RenderItemBounds.getGalaxyBounds();
     }
 
     @Override
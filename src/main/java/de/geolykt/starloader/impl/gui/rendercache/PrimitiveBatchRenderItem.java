@@ -0,0 +1,160 @@
+package de.geolykt.starloader.impl.gui.rendercache;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+
+import de.geolykt.starloader.api.gui.Drawing;
+
+import snoddasmannen.galimulator.GalFX;
+import snoddasmannen.galimulator.rendersystem.RenderItem;
+
+/**
+ * A {@link RenderItem} that draws a whole buffer of lines or rectangles at once, so that a large amount
+ * of primitives only costs a single item within the rendercache. The primitives are drawn by stretching
+ * (and in the case of lines, rotating) the single pixel texture on the main drawing batch.
+ *
+ * @since 2.0.0
+ */
+public class PrimitiveBatchRenderItem extends RenderItem {
+
+    /**
+     * Draws lines on the main drawing batch.
+     *
+     * <p>Warning: This action is performed in sync. Use {@link Drawing#drawLines(float[], float[], int, float, Camera)}
+     * to use the rendercache functionality if needed.
+     *
+     * @param coordinates  The coordinates of the lines, four floats (x1, y1, x2, y2) per line
+     * @param packedColors The packed colors of the lines, one per line
+     * @param count        The amount of lines to draw
+     * @param width        The width of the lines
+     * @param camera       The camera to use for the drawing operation - the old
+     *                     projection will stay present after running this method.
+     * @since 2.0.0
+     */
+    public static void drawLines(float @NotNull[] coordinates, float @NotNull[] packedColors, int count, float width,
+            @NotNull Camera camera) {
+        SpriteBatch batch = Drawing.getDrawingBatch();
+        Matrix4 oldProjection = PrimitiveBatchRenderItem.begin(batch, camera);
+        float oldColor = batch.getPackedColor();
+        TextureRegion pixel = Drawing.getTextureProvider().getSinglePixelSquare();
+        float halfWidth = width / 2;
+
+        for (int i = 0; i < count; i++) {
+            int offset = i * 4;
+            float x1 = coordinates[offset];
+            float y1 = coordinates[offset + 1];
+            float dx = coordinates[offset + 2] - x1;
+            float dy = coordinates[offset + 3] - y1;
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            float rotation = MathUtils.atan2(dy, dx) * MathUtils.radiansToDegrees;
+            batch.setPackedColor(packedColors[i]);
+            batch.draw(pixel, x1, y1 - halfWidth, 0F, halfWidth, length, width, 1F, 1F, rotation);
+        }
+
+        batch.setPackedColor(oldColor);
+        PrimitiveBatchRenderItem.end(batch, oldProjection);
+    }
+
+    /**
+     * Fills rectangles on the main drawing batch.
+     *
+     * <p>Warning: This action is performed in sync. Use {@link Drawing#fillRects(float[], float[], int, Camera)}
+     * to use the rendercache functionality if needed.
+     *
+     * @param rectangles   The rectangles, four floats (x, y, width, height) per rectangle where x and y are the
+     *                     coordinates of the lower left corner
+     * @param packedColors The packed colors of the rectangles, one per rectangle
+     * @param count        The amount of rectangles to fill
+     * @param camera       The camera to use for the drawing operation - the old
+     *                     projection will stay present after running this method.
+     * @since 2.0.0
+     */
+    public static void fillRects(float @NotNull[] rectangles, float @NotNull[] packedColors, int count, @NotNull Camera camera) {
+        SpriteBatch batch = Drawing.getDrawingBatch();
+        Matrix4 oldProjection = PrimitiveBatchRenderItem.begin(batch, camera);
+        float oldColor = batch.getPackedColor();
+        TextureRegion pixel = Drawing.getTextureProvider().getSinglePixelSquare();
+
+        for (int i = 0; i < count; i++) {
+            int offset = i * 4;
+            batch.setPackedColor(packedColors[i]);
+            batch.draw(pixel, rectangles[offset], rectangles[offset + 1], rectangles[offset + 2], rectangles[offset + 3]);
+        }
+
+        batch.setPackedColor(oldColor);
+        PrimitiveBatchRenderItem.end(batch, oldProjection);
+    }
+
+    @NotNull
+    private static Matrix4 begin(@NotNull SpriteBatch batch, @NotNull Camera camera) {
+        Gdx.gl.glDisable(GL20.GL_CULL_FACE);
+        // The batch returns its own matrix instance, which is overwritten by setProjectionMatrix
+        Matrix4 oldProjection = batch.getProjectionMatrix().cpy();
+        batch.setProjectionMatrix(camera.combined);
+        if (!GalFX.v) {
+            batch.begin();
+        }
+        return oldProjection;
+    }
+
+    private static void end(@NotNull SpriteBatch batch, @NotNull Matrix4 oldProjection) {
+        batch.setProjectionMatrix(oldProjection);
+        if (!GalFX.v) {
+            batch.end();
+        }
+    }
+
+    @NotNull
+    private final Camera camera;
+    private final int count;
+    private final float @NotNull[] data;
+    private final boolean lines;
+    private final float @NotNull[] packedColors;
+    private final float width;
+
+    /**
+     * Creates a new render item. The arrays are not copied and must thus not be modified afterwards.
+     *
+     * @param lines        True to draw lines, false to fill rectangles
+     * @param data         The coordinates of the lines or the rectangles, four floats per primitive
+     * @param packedColors The packed colors of the primitives, one per primitive
+     * @param count        The amount of primitives
+     * @param width        The width of the lines, ignored for rectangles
+     * @param camera       The camera to use for the drawing operation
+     */
+    public PrimitiveBatchRenderItem(boolean lines, float @NotNull[] data, float @NotNull[] packedColors, int count, float width,
+            @NotNull Camera camera) {
+        this.lines = lines;
+        this.data = data;
+        this.packedColors = packedColors;
+        this.count = count;
+        this.width = width;
+        this.camera = camera;
+
+        super.c = (OrthographicCamera) camera;
+        super.b = RenderItemBounds.getGalaxyBounds();
+    }
+
+    @Override
+    public void a() {
+        if (this.lines) {
+            drawLines(this.data, this.packedColors, this.count, this.width, this.camera);
+        } else {
+            fillRects(this.data, this.packedColors, this.count, this.camera);
+        }
+    }
+
+    @Override
+    protected RenderItem.RenderCategory b() {
+        // Drawn in the same pass as the text items of the API, which is above the board
+        return RenderItem.RenderCategory.TEXT;
+    }
+}
@@ -0,0 +1,34 @@
+package de.geolykt.starloader.impl.gui.rendercache;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import snoddasmannen.galimulator.Space;
+import snoddasmannen.galimulator.rendersystem.RenderItem;
+
+/**
+ * Provides the bounds of {@link RenderItem render items} that should never be culled, which are the
+ * bounds of the whole galaxy. The rectangle is shared between all items and only recreated if the size
+ * of the galaxy changes, so it must not be modified.
+ */
+final class RenderItemBounds {
+
+    private static volatile Rectangle galaxyBounds;
+
+    @NotNull
+    static Rectangle getGalaxyBounds() {
+        float maxX = Space.getMaxX();
+        float maxY = Space.getMaxY();
+        Rectangle bounds = galaxyBounds;
+        if (bounds == null || bounds.x != -maxX || bounds.y != -maxY) {
+            bounds = new Rectangle(-maxX, -maxY, maxX * 2.0F, maxY * 2.0F);
+            galaxyBounds = bounds;
+        }
+        return bounds;
+    }
+
+    private RenderItemBounds() {
+        // Only consists of static methods
+    }
+}
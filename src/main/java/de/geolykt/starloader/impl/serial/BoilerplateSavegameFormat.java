@@ -6,7 +6,14 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -14,6 +21,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -21,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import de.geolykt.starloader.api.Galimulator;
 import de.geolykt.starloader.api.NamespacedKey;
+import de.geolykt.starloader.api.NullUtils;
 import de.geolykt.starloader.api.event.EventManager;
 import de.geolykt.starloader.api.event.lifecycle.GalaxyLoadingEndEvent;
 import de.geolykt.starloader.api.event.lifecycle.GalaxyLoadingEvent;
@@ -31,8 +40,12 @@ import de.geolykt.starloader.api.serial.Encoder;
 import de.geolykt.starloader.api.serial.MetadataCollector;
 import de.geolykt.starloader.api.serial.SavegameFormat;
 import de.geolykt.starloader.impl.JavaInterop;
+import de.geolykt.starloader.impl.util.ByteBufferInputStream;
+import de.geolykt.starloader.impl.util.ChunkedInputStream;
+import de.geolykt.starloader.impl.util.ChunkedOutputStream;
 import de.geolykt.starloader.impl.util.JoiningInputStream;
 import de.geolykt.starloader.impl.util.LEB128;
+import de.geolykt.starloader.impl.util.SegmentedByteArrayOutputStream;
 
 import snoddasmannen.galimulator.Space;
 
@@ -41,7 +54,23 @@ import snoddasmannen.galimulator.Space;
  * Invocation of any methods of this class outside of the main thread while the main tick loop is not halted
  * may lead to unexpected behaviour.
  * This implementation will automatically fall back to vanilla savegames if the savegame is determined to not be
- * compatible with this format.
+ * compatible with this format. Savegames that were written by the {@link CompressedSavegameFormat} are
+ * delegated to it.
+ *
+ * <p>Revision 0 of this format stores every metadata entry as a length-prefixed byte array, which means that the
+ * entire encoded form of an entry needs to be materialised before it can be written or decoded.
+ * Revision 1 (which is the revision written by this implementation) instead stores each entry as a sequence of chunks,
+ * see {@link ChunkedOutputStream}. Entries are then encoded directly into the savegame, with at most a single chunk
+ * being buffered at any time. When loading, the chunks of an entry are joined into its raw form, which is only
+ * decoded once a mod requests the entry.
+ *
+ * <p>When loading a savegame file through {@link #loadGameState(Path)} while lazy metadata loading is enabled,
+ * the file is memory-mapped and revision 1 metadata entries are neither read nor decoded until a mod requests
+ * them, see {@link WriteableMetadataState#addLazy(NamespacedKey, NamespacedKey, ByteBuffer)}. As the loaded
+ * metadata state references the mapped file, it is {@link WriteableMetadataState#detach() detached} before
+ * a savegame is written through the API. Lazy metadata loading is disabled by default as modifying the file in
+ * any other way while it is mapped leads to undefined behaviour. It can be enabled by setting the
+ * <code>de.geolykt.starloader.impl.serial.BoilerplateSavegameFormat.LAZY_METADATA</code> system property to true.
  *
  * @since 2.0.0
  */
@@ -49,6 +78,41 @@ public class BoilerplateSavegameFormat implements SavegameFormat {
 
     public static final byte[] FORMAT_HEADER = "SLAPI/0_SAVEGAME".getBytes(StandardCharsets.US_ASCII);
 
+    /**
+     * The revision of the format that is written by {@link #saveGameState(OutputStream, String, String, boolean)}.
+     */
+    private static final int FORMAT_REVISION = 1;
+
+    /**
+     * Whether {@link #loadGameState(Path)} should map the savegame file into memory and decode metadata entries lazily.
+     */
+    private static final boolean LAZY_METADATA = Boolean.getBoolean("de.geolykt.starloader.impl.serial.BoilerplateSavegameFormat.LAZY_METADATA");
+
+    /**
+     * The metadata state of the last savegame that was loaded with lazily decoded metadata, or null if there is none.
+     */
+    @Nullable
+    private static WriteableMetadataState lazyMetadataState;
+
+    /**
+     * Reads all lazily loaded metadata entries of the last loaded savegame into memory so that the
+     * savegame file is no longer referenced. Must be called before the savegame file is overwritten.
+     *
+     * @since 2.0.0
+     */
+    public static synchronized void detachLazyMetadata() {
+        WriteableMetadataState state = BoilerplateSavegameFormat.lazyMetadataState;
+        if (state != null) {
+            state.detach();
+            BoilerplateSavegameFormat.lazyMetadataState = null;
+        }
+    }
+
+    /**
+     * The maximum size of a single chunk of a metadata entry in revision 1 of the format.
+     */
+    private static final int METADATA_CHUNK_SIZE = 8192;
+
     @NotNull
     public static final BoilerplateSavegameFormat INSTANCE = new BoilerplateSavegameFormat();
 
@@ -71,14 +135,58 @@ public class BoilerplateSavegameFormat implements SavegameFormat {
 
     @Override
     public synchronized void loadGameState(@NotNull InputStream in) throws IOException {
+        this.loadGameState0(in, null);
+    }
+
+    /**
+     * Loads a savegame from a file. If lazy metadata loading is enabled, the file is mapped into memory and
+     * metadata entries are only decoded once they are requested. Otherwise this method behaves like
+     * {@link #loadGameState(InputStream)}.
+     *
+     * @param savegameFile The savegame file to load
+     * @throws IOException If the file cannot be read or is not a valid savegame
+     * @since 2.0.0
+     */
+    public synchronized void loadGameState(@NotNull Path savegameFile) throws IOException {
+        if (LAZY_METADATA) {
+            MappedByteBuffer buffer = null;
+            try (FileChannel channel = FileChannel.open(savegameFile, StandardOpenOption.READ)) {
+                if (channel.size() <= Integer.MAX_VALUE) {
+                    buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+            if (buffer != null) {
+                this.loadGameState0(new ByteBufferInputStream(buffer), buffer);
+                return;
+            }
+        }
+        try (InputStream in = Files.newInputStream(savegameFile)) {
+            this.loadGameState0(NullUtils.requireNotNull(in), null);
+        }
+    }
+
+    /**
+     * Loads a savegame from an input stream.
+     *
+     * @param in The stream to read the savegame from
+     * @param source The buffer that backs the stream if the stream is a {@link ByteBufferInputStream},
+     * in which case metadata entries are not decoded but added lazily. Null otherwise.
+     * @throws IOException If the savegame could not be read
+     */
+    private void loadGameState0(@NotNull InputStream in, @Nullable ByteBuffer source) throws IOException {
+        BoilerplateSavegameFormat.detachLazyMetadata();
         byte[] header = new byte[FORMAT_HEADER.length];
         if (JavaInterop.readNBytes(in, header, 0, header.length) != header.length) {
             throw new IOException("Input stream exhausted prematurely");
         }
         if (!Arrays.equals(FORMAT_HEADER, header)) {
+            // We already read a few bytes, so we have to prepend those bytes to the input stream again
+            JoiningInputStream fullIn = new JoiningInputStream(new ByteArrayInputStream(header), in);
+            if (Arrays.equals(CompressedSavegameFormat.FORMAT_HEADER, header)) {
+                CompressedSavegameFormat.INSTANCE.loadGameState(fullIn);
+                return;
+            }
             try {
-                // We already read a few bytes, so we have to prepend those bytes to the input stream again
-                JoiningInputStream fullIn = new JoiningInputStream(new ByteArrayInputStream(header), in);
                 VanillaSavegameFormat.INSTANCE.loadGameState(fullIn);
                 return;
             } catch (Throwable t) {
@@ -89,8 +197,8 @@ public class BoilerplateSavegameFormat implements SavegameFormat {
         EventManager.handleEvent(new GalaxyLoadingEvent());
         DataInputStream dataIn = new DataInputStream(in);
         int version = dataIn.readInt();
-        if (version != 0) {
-            throw new IOException("Unknown version: " + version + ". Only version 0 is supported.");
+        if (version != 0 && version != 1) {
+            throw new IOException("Unknown version: " + version + ". Only versions 0 and 1 are supported.");
         }
         dataIn.readInt(); // Discard amount of stars
         dataIn.readInt(); // Discard game year
@@ -107,12 +215,35 @@ public class BoilerplateSavegameFormat implements SavegameFormat {
         for (int read = dataIn.readInt(); read != -1; read = dataIn.readInt()) {
             NamespacedKey metadataKey = keyCache[read];
             NamespacedKey encodingKey = keyCache[dataIn.readInt()];
-            int len = LEB128.decodeUnsigned(dataIn);
-            byte[] data = new byte[len];
-            JavaInterop.readNBytes(dataIn, data, 0, len);
+            if (version == 0) {
+                int len = LEB128.decodeUnsigned(dataIn);
+                byte[] data = new byte[len];
+                JavaInterop.readNBytes(dataIn, data, 0, len);
+                metadataState.add(metadataKey, encodingKey, data);
+                continue;
+            }
+            ChunkedInputStream entryIn = new ChunkedInputStream(dataIn);
+            if (source != null) {
+                // The position of the buffer is the position of the stream, as DataInputStream does not buffer
+                ByteBuffer entrySource = source.duplicate();
+                entryIn.skipToEnd();
+                entrySource.limit(source.position());
+                metadataState.addLazy(metadataKey, encodingKey, NullUtils.requireNotNull(entrySource.slice()));
+                continue;
+            }
+            // Decoding is left to the first access so that faulty or missing decoders do not affect the loading of
+            // the savegame and the raw data of the entry is retained, as with revision 0
+            @SuppressWarnings("null")
+            byte @NotNull[] data = JavaInterop.readAllBytes(entryIn);
             metadataState.add(metadataKey, encodingKey, data);
         }
 
+        if (source != null) {
+            synchronized (BoilerplateSavegameFormat.class) {
+                BoilerplateSavegameFormat.lazyMetadataState = metadataState;
+            }
+        }
+
         VanillaSavegameFormat.loadVanillaState(in);
         VanillaSavegameFormat.inferSavegameData();
         EventManager.handleEvent(new GalaxyLoadingEndEvent(this, metadataState));
@@ -120,6 +251,7 @@ public class BoilerplateSavegameFormat implements SavegameFormat {
 
     @Override
     public synchronized void saveGameState(@NotNull OutputStream out, @Nullable String reason, @Nullable String location, boolean acquireLocks) throws IOException {
+        BoilerplateSavegameFormat.detachLazyMetadata();
         if (acquireLocks) {
             Space.getMainTickLoopLock().acquireUninterruptibly(2);
         }
@@ -130,76 +262,99 @@ public class BoilerplateSavegameFormat implements SavegameFormat {
             location = "Unspecified";
         }
         try {
-            // Obtain metadata from extensions
-            MetadataCollector collector = new BasicMetadataCollector();
-            EventManager.handleEvent(new GalaxySavingEvent(reason, location, collector));
-
-            DataOutputStream dataOut = new DataOutputStream(out);
-            dataOut.write(FORMAT_HEADER); // Format Header
-            dataOut.writeInt(0); // Version
-            dataOut.writeInt(Galimulator.getStarList().size()); // Amount of stars
-            dataOut.writeInt(Galimulator.getGameYear()); // Game year
-            dataOut.writeBoolean(Galimulator.hasUsedSandbox()); // Sandbox
-            dataOut.writeLong(System.currentTimeMillis()); // Time
-
-            Collection<@NotNull NamespacedKey> metadataKeys = collector.getKeys();
-            Set<NamespacedKey> namespacedKeys = new HashSet<>(metadataKeys);
-            Map<NamespacedKey, Integer> keyToId = new HashMap<>();
-            Map<NamespacedKey, byte[]> serializedMetadata = new HashMap<>();
-            Map<NamespacedKey, NamespacedKey> encoding = new HashMap<>();
-
-            for (NamespacedKey key : metadataKeys) {
-                Optional<Object> optional = collector.getDeserializedForm(key);
-                if (!optional.isPresent()) {
-                    continue; // Discard object
-                }
-                @SuppressWarnings("null") // It is safe
-                @NotNull
-                Object obj = optional.get();
-                Encoder<Object> encoder = Registry.CODECS.getEncoder(obj);
-                if (encoder == null) {
-                    LoggerFactory.getLogger(getClass()).warn("Cannot serialize an object of instance "
-                            + obj.getClass() + " which is the deserialized form of " + key + ". Did a mod forget to register a codec?");
-                    continue;
+            this.writeSavegame(out, reason, location);
+        } finally {
+            try {
+                EventManager.handleEvent(new GalaxySavingEndEvent(location));
+            } finally {
+                if (acquireLocks) {
+                    Space.getMainTickLoopLock().release(2);
                 }
-                encoding.put(key, encoder.getEncodingKey());
-                serializedMetadata.put(key, encoder.encode(obj));
-                namespacedKeys.add(encoder.getEncodingKey());
             }
+        }
+    }
 
-            dataOut.writeInt(namespacedKeys.size());
-            int i = 0;
-            for (NamespacedKey key : namespacedKeys) {
-                dataOut.writeUTF(key.toString());
-                keyToId.put(key, i++);
-            }
+    @Override
+    @NotNull
+    public CompletableFuture<Void> saveGameStateAsync(@NotNull OutputStream out, @Nullable String reason, @Nullable String location) {
+        return SavegameSnapshots.saveAsync(out, reason, location, this::writeSavegame, SegmentedByteArrayOutputStream::writeTo);
+    }
 
-            for (NamespacedKey key : metadataKeys) {
-                byte[] serialized = serializedMetadata.get(key);
-                if (serialized == null) {
-                    continue; // Previously discarded - discard again
-                }
-                dataOut.writeInt(keyToId.get(key));
-                dataOut.writeInt(keyToId.get(encoding.get(key)));
-                LEB128.encodeUnsigned(serialized.length, out);
-                dataOut.write(serialized);
+    /**
+     * Emits the {@link GalaxySavingEvent} and writes the savegame to the stream.
+     * The {@link GalaxySavingEndEvent} is not emitted by this method.
+     *
+     * @param out The stream to write to
+     * @param reason The reason of the save
+     * @param location The location of the save
+     * @throws IOException If the stream throws the exception or if the state could not be serialised
+     */
+    synchronized void writeSavegame(@NotNull OutputStream out, @NotNull String reason, @NotNull String location) throws IOException {
+        // Obtain metadata from extensions
+        MetadataCollector collector = new BasicMetadataCollector();
+        EventManager.handleEvent(new GalaxySavingEvent(reason, location, collector));
+
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.write(FORMAT_HEADER); // Format Header
+        dataOut.writeInt(FORMAT_REVISION); // Version
+        dataOut.writeInt(Galimulator.getStarList().size()); // Amount of stars
+        dataOut.writeInt(Galimulator.getGameYear()); // Game year
+        dataOut.writeBoolean(Galimulator.hasUsedSandbox()); // Sandbox
+        dataOut.writeLong(System.currentTimeMillis()); // Time
+
+        Collection<@NotNull NamespacedKey> metadataKeys = collector.getKeys();
+        Set<NamespacedKey> namespacedKeys = new HashSet<>(metadataKeys);
+        Map<NamespacedKey, Integer> keyToId = new HashMap<>();
+        Map<NamespacedKey, Encoder<Object>> encoders = new HashMap<>();
+
+        for (NamespacedKey key : metadataKeys) {
+            Optional<Object> optional = collector.getDeserializedForm(key);
+            if (!optional.isPresent()) {
+                continue; // Discard object
+            }
+            @SuppressWarnings("null") // It is safe
+            @NotNull
+            Object obj = optional.get();
+            Encoder<Object> encoder = Registry.CODECS.getEncoder(obj);
+            if (encoder == null) {
+                LoggerFactory.getLogger(getClass()).warn("Cannot serialize an object of instance "
+                        + obj.getClass() + " which is the deserialized form of " + key + ". Did a mod forget to register a codec?");
+                continue;
             }
-            dataOut.writeInt(-1);
+            encoders.put(key, encoder);
+            namespacedKeys.add(encoder.getEncodingKey());
+        }
 
-            try {
-                VanillaSavegameFormat.saveVanillaState(out);
-            } catch (Throwable var6) {
-                if (var6 instanceof ThreadDeath) {
-                    throw (ThreadDeath) var6;
-                }
-                throw new IOException("Issue during serialisation.", var6);
-            } finally {
-                EventManager.handleEvent(new GalaxySavingEndEvent(location));
+        dataOut.writeInt(namespacedKeys.size());
+        int i = 0;
+        for (NamespacedKey key : namespacedKeys) {
+            dataOut.writeUTF(key.toString());
+            keyToId.put(key, i++);
+        }
+
+        for (NamespacedKey key : metadataKeys) {
+            Encoder<Object> encoder = encoders.get(key);
+            if (encoder == null) {
+                continue; // Previously discarded - discard again
             }
-        } finally {
-            if (acquireLocks) {
-                Space.getMainTickLoopLock().release(2);
+            @SuppressWarnings("null") // Presence was checked beforehand
+            @NotNull
+            Object obj = collector.getDeserializedForm(key).get();
+            dataOut.writeInt(keyToId.get(key));
+            dataOut.writeInt(keyToId.get(encoder.getEncodingKey()));
+            ChunkedOutputStream entryOut = new ChunkedOutputStream(out, METADATA_CHUNK_SIZE);
+            encoder.encode(obj, entryOut);
+            entryOut.finish();
+        }
+        dataOut.writeInt(-1);
+
+        try {
+            VanillaSavegameFormat.saveVanillaState(out);
+        } catch (Throwable var6) {
+            if (var6 instanceof ThreadDeath) {
+                throw (ThreadDeath) var6;
             }
+            throw new IOException("Issue during serialisation.", var6);
         }
     }
 
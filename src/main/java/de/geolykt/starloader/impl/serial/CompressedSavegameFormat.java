@@ -0,0 +1,233 @@
+package de.geolykt.starloader.impl.serial;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import de.geolykt.starloader.api.serial.SavegameFormat;
+import de.geolykt.starloader.impl.JavaInterop;
+import de.geolykt.starloader.impl.util.BlockCodec;
+import de.geolykt.starloader.impl.util.BlockCompressingOutputStream;
+import de.geolykt.starloader.impl.util.BlockDecompressingInputStream;
+import de.geolykt.starloader.impl.util.JoiningInputStream;
+
+/**
+ * A container format that stores a savegame in the {@link BoilerplateSavegameFormat} as a sequence of
+ * independently compressed blocks. Blocks are compressed and decompressed in parallel on a shared pool of
+ * worker threads, so the serialisation of the game state only needs to wait on the compression of the blocks
+ * if the workers cannot keep up. This greatly reduces the size of savegames of large galaxies as well as the time
+ * spent writing them.
+ *
+ * <p>The container starts with the {@link #FORMAT_HEADER}, followed by the revision of the container format,
+ * the {@link BlockCodec#getId() identifier} of the codec of the blocks and the size of the blocks.
+ * Afterwards the blocks follow, as written by {@link BlockCompressingOutputStream}. Every block header
+ * stores the compressed and uncompressed length of the block, which allows to read and decompress blocks ahead
+ * of the deserializer.
+ *
+ * <p>The codec that is used for writing savegames can be selected via {@link #setCodec(BlockCodec)} or by setting the
+ * <code>de.geolykt.starloader.impl.serial.CompressedSavegameFormat.CODEC</code> system property to the name of a
+ * {@link BlockCodec}. Savegames can always be read regardless of the selected codec.
+ *
+ * @since 2.0.0
+ */
+public class CompressedSavegameFormat implements SavegameFormat {
+
+    /**
+     * The default amount of uncompressed bytes in a single block.
+     */
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    public static final byte[] FORMAT_HEADER = "SLAPI/Z_SAVEGAME".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The revision of the container format that is written by {@link #saveGameState(OutputStream, String, String, boolean)}.
+     */
+    private static final int FORMAT_REVISION = 0;
+
+    @NotNull
+    public static final CompressedSavegameFormat INSTANCE = new CompressedSavegameFormat();
+
+    /**
+     * The maximum size of a block that will be accepted while reading a savegame.
+     * Guards against allocating absurd amounts of memory when reading corrupt savegames.
+     */
+    private static final int MAX_BLOCK_SIZE = 64 << 20;
+
+    /**
+     * The amount of threads that compress or decompress blocks.
+     */
+    private static final int WORKER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    @NotNull
+    private static ExecutorService newWorkerPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService service = Executors.newFixedThreadPool(CompressedSavegameFormat.WORKER_THREADS, (runnable) -> {
+            Thread thread = new Thread(runnable, "SLAPI-Savegame-Compression-Worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (service == null) {
+            throw new InternalError();
+        }
+        return service;
+    }
+
+    @NotNull
+    private static BlockCodec readCodecProperty() {
+        String property = System.getProperty("de.geolykt.starloader.impl.serial.CompressedSavegameFormat.CODEC");
+        if (property != null) {
+            try {
+                return BlockCodec.valueOf(property);
+            } catch (IllegalArgumentException e) {
+                LoggerFactory.getLogger(CompressedSavegameFormat.class).warn("Unknown savegame compression codec: {}. Valid codecs are {}.", property, Arrays.toString(BlockCodec.values()));
+            }
+        }
+        return BlockCodec.DEFLATE_FAST;
+    }
+
+    @NotNull
+    private volatile BlockCodec codec = CompressedSavegameFormat.readCodecProperty();
+
+    @Nullable
+    private ExecutorService workerPool;
+
+    private CompressedSavegameFormat() {
+        // Prevent the arbitrary creation of instances of this class
+    }
+
+    /**
+     * Obtains the codec that is used to compress the blocks of written savegames.
+     *
+     * @return The currently used codec
+     * @since 2.0.0
+     */
+    @NotNull
+    public BlockCodec getCodec() {
+        return this.codec;
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return "SLAPI Compressed";
+    }
+
+    @NotNull
+    private synchronized ExecutorService getWorkerPool() {
+        ExecutorService workerPool = this.workerPool;
+        if (workerPool == null) {
+            this.workerPool = workerPool = CompressedSavegameFormat.newWorkerPool();
+        }
+        return workerPool;
+    }
+
+    @Override
+    public void loadGameState(byte[] data) throws IOException {
+        try (ByteArrayInputStream in = new ByteArrayInputStream(data)) {
+            loadGameState(in);
+        }
+    }
+
+    @Override
+    public void loadGameState(@NotNull InputStream in) throws IOException {
+        byte[] header = new byte[FORMAT_HEADER.length];
+        int headerLength = JavaInterop.readNBytes(in, header, 0, header.length);
+        if (headerLength != header.length || !Arrays.equals(FORMAT_HEADER, header)) {
+            // Not compressed, the boilerplate format will figure out what the savegame actually is
+            JoiningInputStream fullIn = new JoiningInputStream(new ByteArrayInputStream(header, 0, headerLength), in);
+            BoilerplateSavegameFormat.INSTANCE.loadGameState(fullIn);
+            return;
+        }
+        DataInputStream dataIn = new DataInputStream(in);
+        int revision = dataIn.readInt();
+        if (revision != 0) {
+            throw new IOException("Unknown revision: " + revision + ". Only revision 0 is supported.");
+        }
+        int codecId = dataIn.readUnsignedByte();
+        BlockCodec codec = BlockCodec.fromId(codecId);
+        if (codec == null) {
+            throw new IOException("Unknown codec: " + codecId);
+        }
+        int blockSize = dataIn.readInt();
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IOException("Invalid block size: " + blockSize);
+        }
+        try (BlockDecompressingInputStream blockIn = new BlockDecompressingInputStream(in, codec, blockSize, this.getWorkerPool(), WORKER_THREADS * 2)) {
+            BoilerplateSavegameFormat.INSTANCE.loadGameState(blockIn);
+        }
+    }
+
+    @Override
+    public void saveGameState(@NotNull OutputStream out, @Nullable String reason, @Nullable String location, boolean acquireLocks) throws IOException {
+        BlockCompressingOutputStream blockOut = this.startContainer(out);
+        try {
+            BoilerplateSavegameFormat.INSTANCE.saveGameState(blockOut, reason, location, acquireLocks);
+            blockOut.finish();
+        } finally {
+            // Does nothing if the container was finished, otherwise cancels the blocks that are still compressed
+            blockOut.abort();
+        }
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Void> saveGameStateAsync(@NotNull OutputStream out, @Nullable String reason, @Nullable String location) {
+        // The snapshot is stored uncompressed so that the compression happens after the lock was released
+        return SavegameSnapshots.saveAsync(out, reason, location, BoilerplateSavegameFormat.INSTANCE::writeSavegame, (snapshot, target) -> {
+            BlockCompressingOutputStream blockOut = this.startContainer(target);
+            try {
+                snapshot.writeTo(blockOut);
+                blockOut.finish();
+            } finally {
+                blockOut.abort();
+            }
+        });
+    }
+
+    /**
+     * Sets the codec that is used to compress the blocks of savegames that are written afterwards.
+     *
+     * @param codec The codec to use
+     * @since 2.0.0
+     */
+    public void setCodec(@NotNull BlockCodec codec) {
+        this.codec = Objects.requireNonNull(codec, "codec may not be null");
+    }
+
+    /**
+     * Writes the header of the container and opens the stream that compresses the contained savegame.
+     *
+     * @param out The stream to write the container to
+     * @return The stream to write the contained savegame to
+     * @throws IOException If the stream throws the exception
+     */
+    @NotNull
+    private BlockCompressingOutputStream startContainer(@NotNull OutputStream out) throws IOException {
+        BlockCodec codec = this.codec;
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.write(FORMAT_HEADER);
+        dataOut.writeInt(FORMAT_REVISION);
+        dataOut.writeByte(codec.getId());
+        dataOut.writeInt(DEFAULT_BLOCK_SIZE);
+        return new BlockCompressingOutputStream(out, codec, DEFAULT_BLOCK_SIZE, this.getWorkerPool(), WORKER_THREADS * 2);
+    }
+
+    @Override
+    public boolean supportsSLAPIMetadata() {
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package de.geolykt.starloader.impl.serial;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import de.geolykt.starloader.api.Galimulator;
+import de.geolykt.starloader.api.NullUtils;
+import de.geolykt.starloader.api.event.EventManager;
+import de.geolykt.starloader.api.event.lifecycle.GalaxySavingEndEvent;
+import de.geolykt.starloader.api.utils.TickLoopLock.LockScope;
+import de.geolykt.starloader.impl.util.SegmentedByteArrayOutputStream;
+
+/**
+ * Implementation of the snapshot-then-serialize saving strategy used by
+ * {@link de.geolykt.starloader.api.serial.SavegameFormat#saveGameStateAsync(OutputStream, String, String)}.
+ * The state of the game is captured into memory while hard control over the simulation loop is held,
+ * after which it is written out on a dedicated writer thread.
+ *
+ * <p>As the objects of the game are mutated by the simulation loop, the captured state is the serialised form
+ * of the game state rather than a shallow copy of the object graph. Only the serialisation into memory
+ * happens under the lock, all further processing (such as compression) and all I/O happen afterwards.
+ */
+final class SavegameSnapshots {
+
+    /**
+     * Writes the state of the game into a stream, emitting the {@link de.geolykt.starloader.api.event.lifecycle.GalaxySavingEvent}
+     * but not the {@link GalaxySavingEndEvent}. Called while the simulation loop lock is held.
+     */
+    @FunctionalInterface
+    static interface StateCapture {
+        public void capture(@NotNull OutputStream snapshot, @NotNull String reason, @NotNull String location) throws IOException;
+    }
+
+    /**
+     * Writes a captured state to the final destination. Called on the writer thread without holding any locks.
+     */
+    @FunctionalInterface
+    static interface SnapshotTransfer {
+        public void transfer(@NotNull SegmentedByteArrayOutputStream snapshot, @NotNull OutputStream out) throws IOException;
+    }
+
+    /**
+     * The single thread that writes snapshots. Using a single thread means that concurrent asynchronous saves
+     * are written in the order they were captured.
+     */
+    @NotNull
+    private static final ExecutorService WRITER = NullUtils.requireNotNull(Executors.newSingleThreadExecutor((runnable) -> {
+        Thread thread = new Thread(runnable, "SLAPI-Savegame-Writer");
+        thread.setDaemon(true);
+        return thread;
+    }));
+
+    @NotNull
+    static CompletableFuture<Void> saveAsync(@NotNull OutputStream out, @Nullable String reason, @Nullable String location,
+            @NotNull StateCapture capture, @NotNull SnapshotTransfer transfer) {
+        BoilerplateSavegameFormat.detachLazyMetadata();
+        String saveReason = reason == null ? "Programmer issued save" : reason;
+        String saveLocation = location == null ? "Unspecified" : location;
+
+        SegmentedByteArrayOutputStream snapshot = new SegmentedByteArrayOutputStream();
+        try (LockScope scope = Galimulator.getSimulationLoopLock().acquireHardControlWithResources()) {
+            capture.capture(snapshot, saveReason, saveLocation);
+        } catch (Throwable t) {
+            if (t instanceof InterruptedException) {
+                // The lock was never acquired, so the saving process did not start yet
+                Thread.currentThread().interrupt();
+            } else if (t instanceof ThreadDeath) {
+                throw (ThreadDeath) t;
+            } else {
+                try {
+                    EventManager.handleEvent(new GalaxySavingEndEvent(saveLocation));
+                } catch (Throwable suppressed) {
+                    t.addSuppressed(suppressed);
+                }
+            }
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(t);
+            return failed;
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            try {
+                transfer.transfer(snapshot, out);
+                out.flush();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } finally {
+                EventManager.handleEvent(new GalaxySavingEndEvent(saveLocation));
+            }
+        }, SavegameSnapshots.WRITER);
+    }
+
+    private SavegameSnapshots() {
+        throw new UnsupportedOperationException();
+    }
+}
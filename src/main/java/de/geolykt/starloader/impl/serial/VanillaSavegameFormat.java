@@ -7,9 +7,14 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.util.ArrayDeque;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -30,6 +35,10 @@ import de.geolykt.starloader.api.event.lifecycle.GalaxySavingEndEvent;
 import de.geolykt.starloader.api.event.lifecycle.GalaxySavingEvent;
 import de.geolykt.starloader.api.serial.SavegameFormat;
 import de.geolykt.starloader.impl.GalimulatorImplementation;
+import de.geolykt.starloader.impl.util.CompactStarlaneGraph;
+import de.geolykt.starloader.impl.util.IntObjectTable;
+import de.geolykt.starloader.impl.util.SegmentedByteArrayOutputStream;
+import de.geolykt.starloader.impl.util.StarNeighbourHolder;
 
 import snoddasmannen.galimulator.DeviceConfiguration;
 import snoddasmannen.galimulator.EmploymentAgency;
@@ -45,7 +54,58 @@ public class VanillaSavegameFormat implements SavegameFormat {
     @NotNull
     public static final VanillaSavegameFormat INSTANCE = new VanillaSavegameFormat();
 
+    /**
+     * Rebuilds the neighbour list of the stars in the given range of the array, splitting the range across the
+     * fork-join pool if it is large enough. The neighbours are set through {@link StarNeighbourHolder} so that
+     * the tasks do not contend on the starlane graph, which thus needs to be invalidated afterwards.
+     */
+    @SuppressWarnings("serial")
+    private static final class NeighbourReconstructionTask extends RecursiveAction {
+
+        private static final int THRESHOLD = 2048;
+
+        private final int end;
+        private final Star @NotNull[] stars;
+        private final int start;
+        @NotNull
+        private final IntObjectTable<Star> uidToStar;
+
+        NeighbourReconstructionTask(Star @NotNull[] stars, @NotNull IntObjectTable<Star> uidToStar, int start, int end) {
+            this.stars = stars;
+            this.uidToStar = uidToStar;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start > THRESHOLD) {
+                int middle = (this.start + this.end) >>> 1;
+                ForkJoinTask.invokeAll(new NeighbourReconstructionTask(this.stars, this.uidToStar, this.start, middle),
+                        new NeighbourReconstructionTask(this.stars, this.uidToStar, middle, this.end));
+                return;
+            }
+            for (int i = this.start; i < this.end; i++) {
+                Star star = this.stars[i];
+                Vector<Integer> neighbourIDs = star.getNeighbourIDs();
+                Vector<Star> neighbours = new Vector<>(Math.max(neighbourIDs.size(), 1));
+                for (int j = 0; j < neighbourIDs.size(); j++) {
+                    neighbours.add(this.uidToStar.get(neighbourIDs.get(j).intValue()));
+                }
+                ((StarNeighbourHolder) star).setNeighboursRaw(neighbours);
+            }
+        }
+    }
+
     // TODO move to the unsafe class
+    /**
+     * Reconstructs the transient state of the galaxy after it was deserialised.
+     *
+     * <p>Work that only touches a single star (such as the reconstruction of the starlanes) is split across the
+     * common fork-join pool. Alliances and followed people are restored while the quadtree is rebuilt. Phases that mutate state shared between
+     * multiple stars or empires - assigning the owners of stars, re-binding jobs and regenerating landmarks - run
+     * on the calling thread in the same order as in the vanilla implementation.
+     */
     @SuppressWarnings("deprecation")
     static synchronized void inferSavegameData() {
 
@@ -55,19 +115,18 @@ public class VanillaSavegameFormat implements SavegameFormat {
         // Many magic methods and stuff. See Space#loadState(String) (as of galimulator-5.0-BETA.?)
         Space.setBackgroundTaskDescription("Loading galaxy: Regenerating regions");
 
-        HashMap<Integer, Star> uidToStar = new HashMap<>();
-        HashMap<Integer, ActiveEmpire> uidToEmpire = new HashMap<>();
-
-        for (Star star : unsafe.getStarsUnsafe()) {
-            star.setInternalRandom(new Random());
-            uidToStar.put(star.getUID(), star);
-        }
+        @SuppressWarnings("null")
+        Star @NotNull[] stars = unsafe.getStarsUnsafe().toArray(new Star[0]);
+        IntObjectTable<Star> uidToStar = IntObjectTable.build(Arrays.asList(stars), Star::getUID);
+        // Seeding through ThreadLocalRandom avoids the contended global seed uniquifier of Random()
+        Arrays.stream(stars).parallel().forEach((star) -> star.setInternalRandom(new Random(ThreadLocalRandom.current().nextLong())));
 
-        for (ActiveEmpire empire : unsafe.getEmpiresUnsafe()) {
+        Vector<ActiveEmpire> empires = unsafe.getEmpiresUnsafe();
+        for (ActiveEmpire empire : empires) {
             empire.setRecentlyLostStars(new ArrayDeque<>());
             empire.setInternalRandom(new Random());
-            uidToEmpire.put(empire.getUID(), empire);
         }
+        IntObjectTable<ActiveEmpire> uidToEmpire = IntObjectTable.build(empires, ActiveEmpire::getUID);
 
         galiImpl.getNeutralEmpire().setInternalRandom(new Random());
         galiImpl.getNeutralEmpire().setRecentlyLostStars(new ArrayDeque<>());
@@ -77,19 +136,18 @@ public class VanillaSavegameFormat implements SavegameFormat {
         galiImpl.getNeutralEmpire().setReligion(nullReligion);
         Space.setupBackgroundEffects();
         Space.getMapData().getGenerator().prepareGenerator(); // Change the xmax and ymax of the generator area
+
         Space.regenerateVoronoiCells(); // big calculations with voronoi diagrams
+        // repopulate the starlanes (this was extracted from another method)
+        ForkJoinPool.commonPool().invoke(new NeighbourReconstructionTask(stars, uidToStar, 0, stars.length));
+        ((CompactStarlaneGraph) Galimulator.getStarlaneGraph()).invalidate();
         Space.setBackgroundTaskDescription("Loading galaxy: Reconstructing map metadata");
         Space.maxXCache = Space.getMaxX(); // set the width/height of the board
         Space.maxYCache = Space.getMaxY();
 
-        // repopulate the starlanes (this was extracted from another method)
         // Also sets the owner empire, which was also extracted from another method
-        for (Star star : unsafe.getStarsUnsafe()) {
-            Vector<Star> neighbours = new Vector<>();
-            for (Integer starB : star.getNeighbourIDs()) {
-                neighbours.add(uidToStar.get(starB));
-            }
-            star.setNeighbours(neighbours);
+        // Changing the owner updates the state of the old and new empire, which is why this is not done concurrently
+        for (Star star : stars) {
             ActiveEmpire owner = uidToEmpire.get(star.getAssignedEmpireUID());
             if (owner == null) {
                 owner = galiImpl.getNeutralEmpire();
@@ -97,23 +155,32 @@ public class VanillaSavegameFormat implements SavegameFormat {
             star.setAssignedEmpire(owner);
         }
 
-        Space.naiveRestoreQuadtree(); // setup quad trees
+        Vector<DynastyMember> followedMembers = new Vector<>();
+        CompletableFuture<Void> relations = CompletableFuture.runAsync(() -> {
+            if (unsafe.getAlliancesUnsafe() == null) {
+                unsafe.setAlliancesUnsafe(new Vector<>());
+            } else {
+                for (Alliance alliance : unsafe.getAlliancesUnsafe()) {
+                    for (ActiveEmpire member : alliance.getMembers()) {
+                        member.setAlliance(alliance);
+                    }
+                }
+            }
 
-        if (unsafe.getAlliancesUnsafe() == null) {
-            unsafe.setAlliancesUnsafe(new Vector<>());
-        } else {
-            for (Alliance alliance : unsafe.getAlliancesUnsafe()) {
-                for (ActiveEmpire member : alliance.getMembers()) {
-                    member.setAlliance(alliance);
+            for (DynastyMember member : unsafe.getPeopleUnsafe()) {
+                if (member.isFollowed()) {
+                    followedMembers.add(member);
                 }
             }
+        }, ForkJoinPool.commonPool());
+
+        try {
+            Space.naiveRestoreQuadtree(); // setup quad trees
+        } finally {
+            relations.join();
         }
 
-        Vector<DynastyMember> followedMembers = new Vector<>();
         for (DynastyMember member : unsafe.getPeopleUnsafe()) {
-            if (member.isFollowed()) {
-                followedMembers.add(member);
-            }
             if (((Person) member).getJob() != null) {
                 ((Person) member).getJob().a(((Person) member));
             }
@@ -182,6 +249,17 @@ public class VanillaSavegameFormat implements SavegameFormat {
         var5.flush();
     }
 
+    /**
+     * Fires the {@link GalaxySavingEvent} for both the synchronous and the asynchronous save path. The vanilla format
+     * cannot store metadata, so anything that is written to the collector of the event is discarded.
+     *
+     * @param reason The reason for saving
+     * @param location The location the galaxy is saved to
+     */
+    private static void fireSavingEvent(@NotNull String reason, @NotNull String location) {
+        EventManager.handleEvent(new GalaxySavingEvent(reason, location, new BasicMetadataCollector())); // TODO perhaps make a NOP metadata collection?
+    }
+
     private VanillaSavegameFormat() {
         // Prevent arbitrary initialisation of this class
     }
@@ -209,6 +287,7 @@ public class VanillaSavegameFormat implements SavegameFormat {
 
     @Override
     public void saveGameState(@NotNull OutputStream out, @Nullable String reason, @Nullable String location, boolean acquireLocks) throws IOException, OutOfMemoryError {
+        BoilerplateSavegameFormat.detachLazyMetadata();
         if (acquireLocks) {
             Space.getMainTickLoopLock().acquireUninterruptibly(2);
         }
@@ -223,7 +302,7 @@ public class VanillaSavegameFormat implements SavegameFormat {
         GalaxySavingEndEvent saveEndEvent;
 
         try {
-            EventManager.handleEvent(new GalaxySavingEvent(reason, location, new BasicMetadataCollector())); // TODO perhaps make a NOP metadata collection?
+            VanillaSavegameFormat.fireSavingEvent(reason, location);
             saveEndEvent = new GalaxySavingEndEvent(location);
         } catch (Throwable t) {
             if (acquireLocks) {
@@ -253,6 +332,25 @@ public class VanillaSavegameFormat implements SavegameFormat {
         }
     }
 
+    @Override
+    @NotNull
+    public CompletableFuture<Void> saveGameStateAsync(@NotNull OutputStream out, @Nullable String reason, @Nullable String location) {
+        return SavegameSnapshots.saveAsync(out, reason, location, (snapshot, saveReason, saveLocation) -> {
+            VanillaSavegameFormat.fireSavingEvent(saveReason, saveLocation);
+            try {
+                VanillaSavegameFormat.saveVanillaState(snapshot);
+            } catch (Throwable t) {
+                if (t instanceof ThreadDeath) {
+                    throw (ThreadDeath) t;
+                }
+                if (t instanceof OutOfMemoryError) {
+                    throw (OutOfMemoryError) t;
+                }
+                throw new IOException("Issue during serialisation.", t);
+            }
+        }, SegmentedByteArrayOutputStream::writeTo);
+    }
+
     @Override
     public boolean supportsSLAPIMetadata() {
         return false;
@@ -1,5 +1,10 @@
 package de.geolykt.starloader.impl.serial;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -11,23 +16,54 @@ import org.jetbrains.annotations.NotNull;
 import de.geolykt.starloader.api.NamespacedKey;
 import de.geolykt.starloader.api.registry.Registry;
 import de.geolykt.starloader.api.serial.Decoder;
+import de.geolykt.starloader.api.serial.Encoder;
 import de.geolykt.starloader.api.serial.MetadataCollector;
 import de.geolykt.starloader.api.serial.MetadataState;
+import de.geolykt.starloader.impl.JavaInterop;
+import de.geolykt.starloader.impl.util.ByteBufferInputStream;
+import de.geolykt.starloader.impl.util.ChunkedInputStream;
 
 /**
  * A mutable implementation of {@link MetadataState}. Unlike {@link MetadataCollector}, write operations have to be performed
  * with deserialised objects, and the decoder that needs to be used should be known beforehand.
  *
+ * <p>Entries can either be added in their serialised form through {@link #add(NamespacedKey, NamespacedKey, byte[])},
+ * in their already decoded form through {@link #addDecoded(NamespacedKey, NamespacedKey, Object)} or as a region of
+ * a savegame that was not yet read through {@link #addLazy(NamespacedKey, NamespacedKey, ByteBuffer)}. The latter is used
+ * when a savegame is loaded from a memory-mapped file, in which case the entry is only read and decoded once it is
+ * first requested.
+ *
+ * <p>Decoded values are memoised: {@link #getDeserializedForm(NamespacedKey)} decodes an entry at most once and returns
+ * the same instance on subsequent calls. The returned instance is owned by this state and shared between all callers,
+ * which is why callers must not mutate it. Callers that do need to mutate the value should either decode a private copy
+ * from the {@link #getSerializedForm(NamespacedKey) serialised form} or call {@link #invalidate(NamespacedKey)} afterwards
+ * so the next caller obtains a freshly decoded instance. Invalidation has no effect on entries that were added in their
+ * decoded form, as there is no serialised form to decode them from again.
+ *
+ * <p>All methods of this class are thread-safe.
+ *
  * @since 2.0.0
  */
 public class WriteableMetadataState implements MetadataState {
 
+    /**
+     * Memoised decoded values as well as values that were added in their decoded form.
+     */
+    @NotNull
+    private Map<@NotNull NamespacedKey, Object> decoded = new HashMap<>();
+
     @NotNull
     private Map<@NotNull NamespacedKey, byte[]> deserialized = new HashMap<>();
 
     @NotNull
     private Map<NamespacedKey, @NotNull NamespacedKey> encodingKeys = new HashMap<>();
 
+    /**
+     * Regions of a savegame that contain a chunked entry (see {@link ChunkedInputStream}) which was not yet read.
+     */
+    @NotNull
+    private Map<@NotNull NamespacedKey, @NotNull ByteBuffer> lazy = new HashMap<>();
+
     /**
      * Adds a metadata entry to the metadata state.
      * This will override any previous values associated with the key, should there be such values.
@@ -37,34 +73,153 @@ public class WriteableMetadataState implements MetadataState {
      * @param data The raw data associated with the key
      * @since 2.0.0
      */
-    public void add(@NotNull NamespacedKey key, @NotNull NamespacedKey encoding, byte @NotNull[] data) {
+    public synchronized void add(@NotNull NamespacedKey key, @NotNull NamespacedKey encoding, byte @NotNull[] data) {
+        decoded.remove(key);
+        lazy.remove(key);
         deserialized.put(key, data);
         encodingKeys.put(key, encoding);
     }
 
-    @SuppressWarnings("null")
+    /**
+     * Adds an already decoded metadata entry to the metadata state.
+     * This will override any previous values associated with the key, should there be such values.
+     * The serialised form of the entry is computed when it is requested through {@link #getSerializedForm(NamespacedKey)}
+     * by using the codec that is registered under the encoding key.
+     *
+     * @param key The key of the metadata entry
+     * @param encoding The encoding key of the decoder that was used to decode the value
+     * @param value The decoded value associated with the key
+     * @since 2.0.0
+     */
+    public synchronized void addDecoded(@NotNull NamespacedKey key, @NotNull NamespacedKey encoding, @NotNull Object value) {
+        deserialized.remove(key);
+        lazy.remove(key);
+        decoded.put(key, value);
+        encodingKeys.put(key, encoding);
+    }
+
+    /**
+     * Adds a metadata entry whose data has not yet been read to the metadata state.
+     * The remaining bytes of the buffer must be a chunk sequence as written by
+     * {@link de.geolykt.starloader.impl.util.ChunkedOutputStream}. The buffer is neither read nor modified
+     * until the entry is requested.
+     * This will override any previous values associated with the key, should there be such values.
+     *
+     * @param key The key of the metadata entry
+     * @param encoding The encoding key of the entry used to identify the decoder to use
+     * @param source The region of the savegame that contains the entry
+     * @since 2.0.0
+     */
+    public synchronized void addLazy(@NotNull NamespacedKey key, @NotNull NamespacedKey encoding, @NotNull ByteBuffer source) {
+        decoded.remove(key);
+        deserialized.remove(key);
+        lazy.put(key, source);
+        encodingKeys.put(key, encoding);
+    }
+
+    /**
+     * Reads all entries that were added through {@link #addLazy(NamespacedKey, NamespacedKey, ByteBuffer)} and
+     * that were not yet decoded into heap memory, so that this state no longer references the buffers.
+     * This must be called before the underlying savegame file is modified.
+     *
+     * @since 2.0.0
+     */
+    public synchronized void detach() {
+        for (Map.Entry<@NotNull NamespacedKey, @NotNull ByteBuffer> entry : lazy.entrySet()) {
+            if (!decoded.containsKey(entry.getKey())) {
+                deserialized.put(entry.getKey(), readLazy(entry.getValue()));
+            }
+        }
+        lazy.clear();
+    }
+
+    @SuppressWarnings({ "null", "unchecked" })
     @Override
     @NotNull
-    public <T> Optional<T> getDeserializedForm(@NotNull NamespacedKey key) {
+    public synchronized <T> Optional<T> getDeserializedForm(@NotNull NamespacedKey key) {
+        Object value = decoded.get(key);
+        if (value != null) {
+            return Optional.of((T) value);
+        }
+        ByteBuffer source = lazy.get(key);
         byte[] data = deserialized.get(key);
-        if (data == null) {
+        if (source == null && data == null) {
             return Optional.empty();
         }
         Decoder<T> decoder = Registry.CODECS.requireDecoder(encodingKeys.get(key));
-        return Optional.of(decoder.decode(data));
+        T decodedValue;
+        if (source != null) {
+            try {
+                decodedValue = decoder.decode(new DataInputStream(new ChunkedInputStream(new ByteBufferInputStream(source.duplicate()))));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to decode metadata entry " + key, e);
+            }
+        } else {
+            decodedValue = decoder.decode(data);
+        }
+        decoded.put(key, decodedValue);
+        return Optional.of(decodedValue);
     }
 
     @SuppressWarnings("null")
     @Override
     @NotNull
-    public Collection<@NotNull NamespacedKey> getKeys() {
-        return Collections.unmodifiableCollection(deserialized.keySet());
+    public synchronized Collection<@NotNull NamespacedKey> getKeys() {
+        // Copy the keys so that the returned collection can be iterated while other threads add entries
+        return Collections.unmodifiableCollection(new ArrayList<>(encodingKeys.keySet()));
     }
 
-    @SuppressWarnings("null")
+    @SuppressWarnings({ "null", "unchecked" })
     @Override
     @NotNull
-    public Optional<byte @NotNull []> getSerializedForm(@NotNull NamespacedKey key) {
-        return Optional.ofNullable(deserialized.get(key));
+    public synchronized Optional<byte @NotNull []> getSerializedForm(@NotNull NamespacedKey key) {
+        byte[] data = deserialized.get(key);
+        if (data != null) {
+            return Optional.of(data);
+        }
+        ByteBuffer source = lazy.get(key);
+        if (source != null) {
+            return Optional.of(readLazy(source));
+        }
+        Object value = decoded.get(key);
+        if (value == null) {
+            return Optional.empty();
+        }
+        NamespacedKey encoding = encodingKeys.get(key);
+        Decoder<?> decoder = Registry.CODECS.requireDecoder(encoding);
+        if (!(decoder instanceof Encoder)) {
+            throw new IllegalStateException("The decoder registered for encoding key " + encoding + " is not capable of encoding.");
+        }
+        return Optional.of(((Encoder<Object>) decoder).encode(value));
+    }
+
+    /**
+     * Discards the memoised decoded value of an entry, so that the next call to {@link #getDeserializedForm(NamespacedKey)}
+     * decodes a new instance. Has no effect for entries that were added in their decoded form.
+     *
+     * @param key The key of the entry
+     * @since 2.0.0
+     */
+    public synchronized void invalidate(@NotNull NamespacedKey key) {
+        if (deserialized.containsKey(key) || lazy.containsKey(key)) {
+            decoded.remove(key);
+        }
+    }
+
+    /**
+     * Discards all memoised decoded values, as per {@link #invalidate(NamespacedKey)}.
+     *
+     * @since 2.0.0
+     */
+    public synchronized void invalidateAll() {
+        decoded.keySet().removeIf((key) -> deserialized.containsKey(key) || lazy.containsKey(key));
+    }
+
+    private static byte @NotNull[] readLazy(@NotNull ByteBuffer source) {
+        try (ChunkedInputStream in = new ChunkedInputStream(new ByteBufferInputStream(source.duplicate()))) {
+            return JavaInterop.readAllBytes(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
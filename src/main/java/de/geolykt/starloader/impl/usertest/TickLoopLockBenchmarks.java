@@ -0,0 +1,166 @@
+package de.geolykt.starloader.impl.usertest;
+
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import de.geolykt.starloader.api.Galimulator;
+import de.geolykt.starloader.api.gui.BasicDialogBuilder;
+import de.geolykt.starloader.impl.util.MutableInteger;
+import de.geolykt.starloader.impl.util.SemaphoreLoopLock;
+
+/**
+ * Compares the uncontended throughput of the {@link SemaphoreLoopLock} against a plain semaphore that tracks the
+ * locally acquired permits through the same {@link ThreadLocal} counter. As both use the same tracking scheme,
+ * the acquisition figures show the overhead of the profiling, priority and optimistic read support of the
+ * {@link SemaphoreLoopLock}, most notably the write bookkeeping for optimistic reads whenever hard control is
+ * acquired or released.
+ *
+ * <p>The benchmark uses fresh lock instances and thus does not interfere with the running game.
+ */
+public class TickLoopLockBenchmarks extends Usertest {
+
+    /**
+     * Reentrancy tracking through a {@link ThreadLocal}, mirroring the {@link SemaphoreLoopLock} without
+     * any of its profiling, priority and optimistic read support.
+     */
+    private static class ThreadLocalTrackedSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ThreadLocal<MutableInteger> acquisitions = ThreadLocal.withInitial(MutableInteger::new);
+
+        public ThreadLocalTrackedSemaphore(int permits) {
+            super(permits);
+        }
+
+        public void acquireHardControl() {
+            if (this.getLocalAcquisitions() == 2) {
+                return;
+            } else if (this.getLocalAcquisitions() == 1) {
+                this.acquireUninterruptibly(1);
+                this.acquisitions.get().increment(1);
+            } else {
+                this.acquireUninterruptibly(2);
+                this.acquisitions.get().increment(2);
+            }
+        }
+
+        public void acquireSoftControl() {
+            if (this.getLocalAcquisitions() > 0) {
+                return;
+            }
+            this.acquireUninterruptibly(1);
+            this.acquisitions.get().increment(1);
+        }
+
+        public int getLocalAcquisitions() {
+            return this.acquisitions.get().getValue();
+        }
+
+        @Override
+        public void release(int permits) {
+            MutableInteger localAcquisitions = this.acquisitions.get();
+            if (localAcquisitions.getValue() < permits) {
+                throw new IllegalMonitorStateException("This thread has insufficent control over the semaphore");
+            }
+            super.release(permits);
+            localAcquisitions.decrement(permits);
+        }
+    }
+
+    private static final int ITERATIONS = 2_000_000;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static double measure(@NotNull Runnable operation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        operation.run();
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    @NotNull
+    private static String runBenchmark() {
+        SemaphoreLoopLock lock = new SemaphoreLoopLock(2);
+        ThreadLocalTrackedSemaphore baseline = new ThreadLocalTrackedSemaphore(2);
+        // Retain a dummy value so that the JIT cannot remove the queries
+        int[] sink = new int[1];
+
+        double softLock = measure(() -> {
+            try {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    lock.acquireSoftControl();
+                    lock.releaseSoft();
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("Uncontended acquisition was interrupted", e);
+            }
+        });
+        double softBaseline = measure(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                baseline.acquireSoftControl();
+                baseline.release(1);
+            }
+        });
+        double hardLock = measure(() -> {
+            try {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    lock.acquireHardControl();
+                    lock.releaseHard();
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("Uncontended acquisition was interrupted", e);
+            }
+        });
+        double hardBaseline = measure(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                baseline.acquireHardControl();
+                baseline.release(2);
+            }
+        });
+        double queryLock = measure(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink[0] += lock.getLocalAcquisitions();
+            }
+        });
+        double queryBaseline = measure(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink[0] += baseline.getLocalAcquisitions();
+            }
+        });
+
+        return String.format(Locale.ROOT, "Soft acquire/release: %.2f ns/op (plain semaphore: %.2f ns/op)%n"
+                + "Hard acquire/release: %.2f ns/op (plain semaphore: %.2f ns/op)%n"
+                + "getLocalAcquisitions: %.2f ns/op (plain semaphore: %.2f ns/op)%n(%d)",
+                softLock, softBaseline, hardLock, hardBaseline, queryLock, queryBaseline, sink[0] & 1);
+    }
+
+    @Override
+    @NotNull
+    public String getCategoryName() {
+        return "SLAPI";
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return "Benchmark tick loop lock";
+    }
+
+    @Override
+    public void runTest() {
+        Thread benchmarkingThread = new Thread(() -> {
+            String results = TickLoopLockBenchmarks.runBenchmark();
+            LoggerFactory.getLogger(TickLoopLockBenchmarks.class).info("Tick loop lock benchmark results:\n{}", results);
+            Galimulator.runTaskOnNextFrame(() -> {
+                new BasicDialogBuilder("Tick loop lock benchmark", results).setDuration(60).show();
+            });
+        }, "Tick loop lock benchmarker thread");
+        benchmarkingThread.setDaemon(true);
+        benchmarkingThread.start();
+    }
+}
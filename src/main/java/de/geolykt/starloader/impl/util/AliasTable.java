@@ -0,0 +1,104 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Random;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A table for sampling indices according to a discrete probability distribution in constant time,
+ * built with Vose's variant of the alias method. Each of the n columns of the table has the same chance
+ * of being picked, and a column either yields its own index or its alias, depending on the probability
+ * stored for the column.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ */
+public final class AliasTable {
+
+    private final int @NotNull[] alias;
+    private final float @NotNull[] probability;
+
+    /**
+     * Builds the alias table for the given weights. The weights do not need to be normalised.
+     *
+     * @param weights The weights of the indices, none of which may be negative. There must be at least
+     * one weight and the sum of the weights must be positive.
+     * @throws IllegalArgumentException If the weights do not form a valid distribution
+     */
+    public AliasTable(float @NotNull[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("At least one weight is required");
+        }
+        double sum = 0;
+        for (float weight : weights) {
+            if (!(weight >= 0) || weight == Float.POSITIVE_INFINITY) {
+                throw new IllegalArgumentException("Invalid weight: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("The sum of the weights must be positive");
+        }
+
+        this.alias = new int[n];
+        this.probability = new float[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1D) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount != 0 && largeCount != 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            this.probability[less] = (float) scaled[less];
+            this.alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1D;
+            if (scaled[more] < 1D) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Leftovers are only caused by rounding errors and thus always yield their own index
+        while (largeCount != 0) {
+            int index = large[--largeCount];
+            this.probability[index] = 1F;
+            this.alias[index] = index;
+        }
+        while (smallCount != 0) {
+            int index = small[--smallCount];
+            this.probability[index] = 1F;
+            this.alias[index] = index;
+        }
+    }
+
+    /**
+     * Samples an index according to the distribution of the table.
+     *
+     * @param random The source of randomness
+     * @return The sampled index, in the range of <code>[0, size())</code>
+     */
+    public int sample(@NotNull Random random) {
+        int column = random.nextInt(this.probability.length);
+        return random.nextFloat() < this.probability[column] ? column : this.alias[column];
+    }
+
+    /**
+     * Obtains the amount of indices the table samples from.
+     *
+     * @return The amount of indices
+     */
+    public int size() {
+        return this.probability.length;
+    }
+}
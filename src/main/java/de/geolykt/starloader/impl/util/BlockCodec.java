@@ -0,0 +1,142 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The codec that is used to compress the individual blocks written by {@link BlockCompressingOutputStream}.
+ * Each block is compressed independently of all other blocks so that blocks can be compressed and decompressed
+ * in parallel.
+ *
+ * @since 2.0.0
+ */
+public enum BlockCodec {
+
+    /**
+     * Blocks are stored without any compression.
+     *
+     * @since 2.0.0
+     */
+    STORED(0, Deflater.NO_COMPRESSION),
+
+    /**
+     * Blocks are compressed with the deflate algorithm at it's default compression level.
+     *
+     * @since 2.0.0
+     */
+    DEFLATE(1, Deflater.DEFAULT_COMPRESSION),
+
+    /**
+     * Blocks are compressed with the deflate algorithm at it's fastest compression level.
+     * This trades compression ratio for throughput much like LZ4 would.
+     *
+     * @since 2.0.0
+     */
+    DEFLATE_FAST(2, Deflater.BEST_SPEED);
+
+    @Nullable
+    public static BlockCodec fromId(int id) {
+        for (BlockCodec codec : BlockCodec.values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    private final int id;
+    private final int level;
+
+    private BlockCodec(int id, int level) {
+        this.id = id;
+        this.level = level;
+    }
+
+    /**
+     * Compresses a block of data. If the compressed form would not be smaller than the uncompressed data,
+     * the returned array is of the same length as the input and contains the uncompressed data.
+     * {@link #decompress(byte[], int, byte[], int)} relies on this behaviour.
+     *
+     * @param data The array storing the data to compress
+     * @param length The amount of bytes to compress, starting at index 0
+     * @return A new array storing the compressed data
+     */
+    public byte @NotNull[] compress(byte @NotNull[] data, int length) {
+        if (this != STORED) {
+            Deflater deflater = new Deflater(this.level);
+            try {
+                deflater.setInput(data, 0, length);
+                deflater.finish();
+                byte[] out = new byte[length];
+                int written = 0;
+                while (!deflater.finished() && written < out.length) {
+                    written += deflater.deflate(out, written, out.length - written);
+                }
+                if (deflater.finished() && written < length) {
+                    byte[] compressed = new byte[written];
+                    System.arraycopy(out, 0, compressed, 0, written);
+                    return compressed;
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        byte[] stored = new byte[length];
+        System.arraycopy(data, 0, stored, 0, length);
+        return stored;
+    }
+
+    /**
+     * Decompresses a block of data that was compressed by {@link #compress(byte[], int)}.
+     *
+     * @param compressed The compressed data
+     * @param compressedLength The amount of compressed bytes, starting at index 0
+     * @param out The array to write the uncompressed data into
+     * @param length The amount of uncompressed bytes
+     * @throws IOException If the compressed data is corrupt
+     */
+    public void decompress(byte @NotNull[] compressed, int compressedLength, byte @NotNull[] out, int length) throws IOException {
+        if (compressedLength == length) {
+            // The block was stored without compression
+            System.arraycopy(compressed, 0, out, 0, length);
+            return;
+        }
+        if (this == STORED) {
+            throw new IOException("Length mismatch in stored block: " + compressedLength + " compressed bytes but " + length + " uncompressed bytes.");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed, 0, compressedLength);
+            int read = 0;
+            while (read < length) {
+                int inflated = inflater.inflate(out, read, length - read);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != length || !inflater.finished()) {
+                throw new IOException("Corrupt block: Expected " + length + " uncompressed bytes but got " + read + ".");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Obtains the identifier of the codec, which is used to store the codec of a compressed stream.
+     *
+     * @return The identifier of the codec
+     * @see #fromId(int)
+     */
+    public int getId() {
+        return this.id;
+    }
+}
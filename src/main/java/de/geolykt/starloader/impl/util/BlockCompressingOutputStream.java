@@ -0,0 +1,230 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link OutputStream} that splits the written data into blocks of a fixed size and compresses each block
+ * independently on an {@link Executor}, which allows to compress multiple blocks in parallel. Blocks are still
+ * written in order. The amount of blocks that are compressed at the same time is bounded, after which writing
+ * to this stream blocks until the oldest block was written to the underlying stream.
+ *
+ * <p>Each block is preceded by a block header that consists of the uncompressed length of the block,
+ * the compressed length of the block and the CRC32 checksum of the uncompressed data, each stored as a
+ * big-endian int. The sequence of blocks is terminated by a block header with an uncompressed length of 0.
+ * As the block header is written before the block, a reader can read and decompress the following blocks
+ * before the current block is consumed, see {@link BlockDecompressingInputStream}.
+ *
+ * <p>Closing this stream finishes the sequence but does not close the underlying stream.
+ *
+ * @since 2.0.0
+ */
+public class BlockCompressingOutputStream extends OutputStream {
+
+    private static final class CompressedBlock {
+        final int checksum;
+        final byte @NotNull[] data;
+        final int length;
+
+        CompressedBlock(byte @NotNull[] data, int length, int checksum) {
+            this.data = data;
+            this.length = length;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * Waits for the completion of a future, unwrapping any exception thrown while the future was computed.
+     *
+     * @param <T> The type of the value computed by the future
+     * @param future The future to wait for
+     * @return The value computed by the future
+     * @throws IOException If the computation failed
+     */
+    @NotNull
+    static <T> T join(@NotNull CompletableFuture<@NotNull T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("Block processing was cancelled");
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Unable to process block", cause);
+        }
+    }
+
+    private byte @NotNull[] buffer;
+    private int bufferedBytes;
+    @NotNull
+    private final BlockCodec codec;
+    @NotNull
+    private final Executor executor;
+    private boolean finished;
+    private final int maxPendingBlocks;
+    @NotNull
+    private final DataOutputStream out;
+    @NotNull
+    private final Deque<@NotNull CompletableFuture<@NotNull CompressedBlock>> pendingBlocks = new ArrayDeque<>();
+
+    /**
+     * Constructor.
+     *
+     * @param out The stream to write the compressed blocks to
+     * @param codec The codec to compress the blocks with
+     * @param blockSize The maximum amount of uncompressed bytes in a single block
+     * @param executor The executor which compresses the blocks
+     * @param maxPendingBlocks The maximum amount of blocks that are compressed but not yet written at any given time
+     */
+    public BlockCompressingOutputStream(@NotNull OutputStream out, @NotNull BlockCodec codec, int blockSize, @NotNull Executor executor, int maxPendingBlocks) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        if (maxPendingBlocks <= 0) {
+            throw new IllegalArgumentException("maxPendingBlocks must be positive");
+        }
+        this.out = new DataOutputStream(out);
+        this.codec = codec;
+        this.buffer = new byte[blockSize];
+        this.executor = executor;
+        this.maxPendingBlocks = maxPendingBlocks;
+    }
+
+    /**
+     * Discards all buffered data and cancels the compression of all blocks that were not yet written, without
+     * writing the terminating block header. Further write operations will fail.
+     * This method should be called if the data written to this stream is incomplete, for example because the
+     * producer of the data failed, as the blocks that are still compressed would otherwise never be consumed.
+     * Does nothing if the stream was already finished.
+     */
+    public void abort() {
+        if (this.finished) {
+            return;
+        }
+        this.finished = true;
+        this.bufferedBytes = 0;
+        this.cancelPendingBlocks();
+    }
+
+    private void cancelPendingBlocks() {
+        for (CompletableFuture<@NotNull CompressedBlock> pending : this.pendingBlocks) {
+            pending.cancel(false);
+        }
+        this.pendingBlocks.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.finish();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.finished) {
+            throw new IOException("Stream already finished");
+        }
+    }
+
+    /**
+     * Compresses and writes all buffered data and writes the terminating block header.
+     * Further write operations will fail. Does nothing if the stream was already finished.
+     *
+     * @throws IOException If the underlying stream throws the exception or if a block could not be compressed
+     */
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+        this.finished = true;
+        try {
+            this.submitBufferedBlock();
+            while (!this.pendingBlocks.isEmpty()) {
+                this.writePendingBlock();
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            this.cancelPendingBlocks();
+            throw e;
+        }
+        this.out.writeInt(0);
+        this.out.flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Buffered data is not compressed as that would produce undersized blocks
+        this.out.flush();
+    }
+
+    private void submitBufferedBlock() throws IOException {
+        if (this.bufferedBytes == 0) {
+            return;
+        }
+        while (this.pendingBlocks.size() >= this.maxPendingBlocks) {
+            this.writePendingBlock();
+        }
+        byte[] data = this.buffer;
+        int length = this.bufferedBytes;
+        BlockCodec codec = this.codec;
+        this.pendingBlocks.add(CompletableFuture.supplyAsync(() -> {
+            CRC32 checksum = new CRC32();
+            checksum.update(data, 0, length);
+            return new CompressedBlock(codec.compress(data, length), length, (int) checksum.getValue());
+        }, this.executor));
+        // The previous buffer is now owned by the compression task
+        this.buffer = new byte[data.length];
+        this.bufferedBytes = 0;
+        // Write out blocks that are already compressed to not hold onto them for longer than needed
+        while (!this.pendingBlocks.isEmpty() && this.pendingBlocks.peekFirst().isDone()) {
+            this.writePendingBlock();
+        }
+    }
+
+    @Override
+    public void write(byte @NotNull[] b, int off, int len) throws IOException {
+        this.ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len != 0) {
+            if (this.bufferedBytes == this.buffer.length) {
+                this.submitBufferedBlock();
+            }
+            int copied = Math.min(len, this.buffer.length - this.bufferedBytes);
+            System.arraycopy(b, off, this.buffer, this.bufferedBytes, copied);
+            this.bufferedBytes += copied;
+            off += copied;
+            len -= copied;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.ensureOpen();
+        if (this.bufferedBytes == this.buffer.length) {
+            this.submitBufferedBlock();
+        }
+        this.buffer[this.bufferedBytes++] = (byte) b;
+    }
+
+    private void writePendingBlock() throws IOException {
+        CompressedBlock block = BlockCompressingOutputStream.join(this.pendingBlocks.removeFirst());
+        this.out.writeInt(block.length);
+        this.out.writeInt(block.data.length);
+        this.out.writeInt(block.checksum);
+        this.out.write(block.data);
+    }
+}
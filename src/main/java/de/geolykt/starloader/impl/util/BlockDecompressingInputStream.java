@@ -0,0 +1,171 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+import org.jetbrains.annotations.NotNull;
+
+import de.geolykt.starloader.impl.JavaInterop;
+
+/**
+ * An {@link InputStream} that reads a sequence of blocks as written by {@link BlockCompressingOutputStream}.
+ * The compressed blocks are read from the underlying stream by the consuming thread, but are decompressed on an
+ * {@link Executor}. Up to a given amount of blocks are read and decompressed ahead of the block that is
+ * currently consumed, so decompression can run in parallel with the consumer.
+ *
+ * <p>Closing this stream discards all blocks that were read ahead but does not close the underlying stream.
+ *
+ * @since 2.0.0
+ */
+public class BlockDecompressingInputStream extends InputStream {
+
+    private static final byte @NotNull[] EMPTY_BLOCK = new byte[0];
+
+    private byte @NotNull[] block = BlockDecompressingInputStream.EMPTY_BLOCK;
+    private int blockPosition;
+    private boolean closed;
+    @NotNull
+    private final BlockCodec codec;
+    private boolean ended;
+    @NotNull
+    private final Executor executor;
+    @NotNull
+    private final DataInputStream in;
+    private final int maxBlockSize;
+    @NotNull
+    private final Deque<@NotNull CompletableFuture<byte @NotNull[]>> pendingBlocks = new ArrayDeque<>();
+    private final int readAhead;
+
+    /**
+     * Constructor.
+     *
+     * @param in The stream to read the compressed blocks from
+     * @param codec The codec the blocks were compressed with
+     * @param maxBlockSize The maximum amount of uncompressed bytes in a single block. Used to reject corrupt data.
+     * @param executor The executor which decompresses the blocks
+     * @param readAhead The maximum amount of blocks that are read and decompressed ahead of the consumer
+     */
+    public BlockDecompressingInputStream(@NotNull InputStream in, @NotNull BlockCodec codec, int maxBlockSize, @NotNull Executor executor, int readAhead) {
+        if (readAhead <= 0) {
+            throw new IllegalArgumentException("readAhead must be positive");
+        }
+        this.in = new DataInputStream(in);
+        this.codec = codec;
+        this.maxBlockSize = maxBlockSize;
+        this.executor = executor;
+        this.readAhead = readAhead;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.block.length - this.blockPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        for (CompletableFuture<byte @NotNull[]> pending : this.pendingBlocks) {
+            pending.cancel(false);
+        }
+        this.pendingBlocks.clear();
+        this.block = BlockDecompressingInputStream.EMPTY_BLOCK;
+        this.blockPosition = 0;
+    }
+
+    /**
+     * Makes sure that there is at least one byte to read in the current block.
+     *
+     * @return False if the end of the sequence was reached, true otherwise
+     * @throws IOException If the underlying stream throws the exception or if a block is corrupt
+     */
+    private boolean nextBlock() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        while (this.blockPosition == this.block.length) {
+            this.readAhead();
+            CompletableFuture<byte @NotNull[]> next = this.pendingBlocks.pollFirst();
+            if (next == null) {
+                return false;
+            }
+            this.block = BlockCompressingOutputStream.join(next);
+            this.blockPosition = 0;
+            // Keep the worker busy while the consumer processes the current block
+            this.readAhead();
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!this.nextBlock()) {
+            return -1;
+        }
+        return this.block[this.blockPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @NotNull[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!this.nextBlock()) {
+            return -1;
+        }
+        int read = Math.min(len, this.block.length - this.blockPosition);
+        System.arraycopy(this.block, this.blockPosition, b, off, read);
+        this.blockPosition += read;
+        return read;
+    }
+
+    /**
+     * Reads compressed blocks from the underlying stream and submits them for decompression until either
+     * the read-ahead limit or the end of the sequence is reached.
+     *
+     * @throws IOException If the underlying stream throws the exception or if a block header is invalid
+     */
+    private void readAhead() throws IOException {
+        while (!this.ended && this.pendingBlocks.size() < this.readAhead) {
+            int length = this.in.readInt();
+            if (length == 0) {
+                this.ended = true;
+                return;
+            }
+            int compressedLength = this.in.readInt();
+            int checksum = this.in.readInt();
+            if (length < 0 || length > this.maxBlockSize || compressedLength < 0 || compressedLength > length) {
+                throw new IOException("Invalid block header: " + length + " uncompressed bytes, " + compressedLength + " compressed bytes.");
+            }
+            byte[] compressed = new byte[compressedLength];
+            if (JavaInterop.readNBytes(this.in, compressed, 0, compressedLength) != compressedLength) {
+                throw new EOFException("Stream ended within a block");
+            }
+            BlockCodec codec = this.codec;
+            this.pendingBlocks.add(CompletableFuture.supplyAsync(() -> {
+                byte[] data = new byte[length];
+                try {
+                    codec.decompress(compressed, compressedLength, data, length);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(data, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    throw new CompletionException(new IOException("Checksum mismatch in block"));
+                }
+                return data;
+            }, this.executor));
+        }
+    }
+}
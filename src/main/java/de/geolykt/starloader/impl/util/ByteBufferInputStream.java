@@ -0,0 +1,60 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link InputStream} that reads the remaining bytes of a {@link ByteBuffer}.
+ * Reading from the stream advances the position of the buffer, which means that the position of
+ * the buffer always reflects the amount of bytes read from this stream.
+ *
+ * @since 2.0.0
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    @NotNull
+    private final ByteBuffer buffer;
+
+    public ByteBufferInputStream(@NotNull ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+
+    @Override
+    public int read() {
+        if (!this.buffer.hasRemaining()) {
+            return -1;
+        }
+        return this.buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte @NotNull[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int remaining = this.buffer.remaining();
+        if (remaining == 0) {
+            return -1;
+        }
+        len = Math.min(len, remaining);
+        this.buffer.get(b, off, len);
+        return len;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int skipped = (int) Math.min(n, this.buffer.remaining());
+        this.buffer.position(this.buffer.position() + skipped);
+        return skipped;
+    }
+}
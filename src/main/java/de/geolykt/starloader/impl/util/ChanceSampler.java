@@ -0,0 +1,148 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Picks one of several options that each have an independent chance of succeeding, yielding the same outcome as
+ * rolling the chance of every option in turn in a random order until an option succeeds that is accepted by the caller,
+ * but without rolling the chance of every option.
+ *
+ * <p>The order in which the options are visited is sampled with a probability proportional to their chance through an
+ * {@link AliasTable}. The probability of none of the options succeeding is rolled once upfront, so that the usual case
+ * of nothing succeeding only requires a single roll. Once it is known that at least one of the remaining options
+ * succeeds, each visited option is rolled with its chance conditional on that knowledge. As a result, no option is
+ * picked with a probability equal to the product of <code>1 - chance</code> over all options that would have been
+ * accepted, regardless of how many options are refused.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ */
+public final class ChanceSampler {
+
+    /**
+     * The amount of draws from the alias table that may hit an already visited option before the
+     * remaining options are visited in sequence instead.
+     */
+    private static final int MAX_REJECTED_DRAWS = 8;
+
+    private final float @NotNull[] chances;
+    private final double noneChance;
+    @NotNull
+    private final AliasTable table;
+
+    /**
+     * Creates a sampler for the given chances.
+     *
+     * @param chances The chances of the options to succeed, none of which may be negative. Chances above 1 are
+     * treated as 1 when computing the probability of no option succeeding. There must be at least one chance and
+     * the sum of the chances must be positive.
+     * @throws IllegalArgumentException If the chances do not form a valid distribution
+     */
+    public ChanceSampler(float @NotNull[] chances) {
+        this.table = new AliasTable(chances);
+        this.chances = chances.clone();
+        this.noneChance = this.getNoneChance(null);
+    }
+
+    /**
+     * Computes the probability of none of the options succeeding.
+     *
+     * @param excluded The options to leave out, or null to consider all options
+     * @return The probability
+     */
+    private double getNoneChance(boolean @Nullable[] excluded) {
+        double chance = 1D;
+        for (int i = 0; i < this.chances.length; i++) {
+            if (excluded == null || !excluded[i]) {
+                chance *= 1D - Math.min(1F, this.chances[i]);
+            }
+        }
+        return chance;
+    }
+
+    /**
+     * Obtains the probability of no option being picked if the caller accepts every option.
+     *
+     * @return The probability of no option succeeding
+     */
+    public double getNoneChance() {
+        return this.noneChance;
+    }
+
+    /**
+     * Picks an option and passes it to the given function, which either accepts the option by returning a non-null
+     * value or refuses it by returning null, in which case the selection continues with the remaining options
+     * as described by the class documentation.
+     *
+     * @param <T> The type of the value returned by the function
+     * @param random The source of randomness
+     * @param attempt The function that is invoked with the index of the picked option
+     * @return The value returned by the function for the accepted option, or null if no option was accepted
+     */
+    @Nullable
+    public <T> T select(@NotNull Random random, @NotNull IntFunction<@Nullable T> attempt) {
+        // The probability of none of the options that were not visited yet succeeding
+        double noneChance = this.noneChance;
+        // Whether it is known that at least one of the options that were not visited yet succeeds
+        boolean succeeds = false;
+        int options = this.chances.length;
+        boolean[] visited = new boolean[options];
+        int remaining = options;
+        int rejectedDraws = 0;
+        int scanIndex = -1;
+
+        while (remaining != 0) {
+            if (!succeeds) {
+                if (random.nextDouble() < noneChance) {
+                    return null;
+                }
+                succeeds = true;
+            }
+
+            int index;
+            if (rejectedDraws < MAX_REJECTED_DRAWS) {
+                index = this.table.sample(random);
+                if (visited[index]) {
+                    rejectedDraws++;
+                    continue;
+                }
+            } else {
+                // Too many draws hit visited options, visit the remaining ones in sequence from a random offset
+                if (scanIndex == -1) {
+                    scanIndex = random.nextInt(options);
+                }
+                while (visited[scanIndex]) {
+                    scanIndex = (scanIndex + 1) % options;
+                }
+                index = scanIndex;
+            }
+
+            visited[index] = true;
+            remaining--;
+            // The option succeeds with its chance relative to the chance of any of the unvisited options succeeding
+            boolean success = random.nextDouble() * (1D - noneChance) < Math.min(1F, this.chances[index]);
+            noneChance = this.getNoneChance(visited);
+            if (success) {
+                T value = attempt.apply(index);
+                if (value != null) {
+                    return value;
+                }
+                // Nothing is known about the remaining options anymore
+                succeeds = false;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtains the amount of options of the sampler.
+     *
+     * @return The amount of options
+     */
+    public int size() {
+        return this.chances.length;
+    }
+}
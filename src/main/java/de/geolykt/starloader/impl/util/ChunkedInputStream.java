@@ -0,0 +1,118 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link InputStream} that reads a sequence of chunks as written by {@link ChunkedOutputStream}.
+ * The stream reports the end of the stream once the terminating chunk was read, so consumers can never read
+ * beyond the bounds of the sequence. The underlying stream is only read on demand.
+ *
+ * <p>Closing this stream skips the remainder of the sequence but does not close the underlying stream.
+ *
+ * @since 2.0.0
+ */
+public class ChunkedInputStream extends InputStream {
+
+    private boolean ended;
+    @NotNull
+    private final InputStream in;
+    private int remaining;
+
+    public ChunkedInputStream(@NotNull InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return Math.min(this.remaining, this.in.available());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.skipToEnd();
+    }
+
+    /**
+     * Makes sure that there is at least one byte to read in the current chunk.
+     *
+     * @return False if the end of the sequence was reached, true otherwise
+     * @throws IOException If the underlying stream throws the exception
+     */
+    private boolean nextChunk() throws IOException {
+        while (this.remaining == 0) {
+            if (this.ended) {
+                return false;
+            }
+            this.remaining = LEB128.decodeUnsigned(this.in);
+            if (this.remaining == 0) {
+                this.ended = true;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!this.nextChunk()) {
+            return -1;
+        }
+        int value = this.in.read();
+        if (value == -1) {
+            throw new EOFException("Stream ended within a chunk");
+        }
+        this.remaining--;
+        return value;
+    }
+
+    @Override
+    public int read(byte @NotNull[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!this.nextChunk()) {
+            return -1;
+        }
+        int read = this.in.read(b, off, Math.min(len, this.remaining));
+        if (read == -1) {
+            throw new EOFException("Stream ended within a chunk");
+        }
+        this.remaining -= read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0 || !this.nextChunk()) {
+            return 0;
+        }
+        long skipped = this.in.skip(Math.min(n, this.remaining));
+        this.remaining -= (int) skipped;
+        return skipped;
+    }
+
+    /**
+     * Skips all remaining bytes of the sequence including the terminating chunk, so the underlying stream
+     * is positioned directly after the sequence.
+     *
+     * @throws IOException If the underlying stream throws the exception
+     */
+    public void skipToEnd() throws IOException {
+        while (this.nextChunk()) {
+            while (this.remaining != 0) {
+                long skipped = this.in.skip(this.remaining);
+                if (skipped <= 0) {
+                    if (this.in.read() == -1) {
+                        throw new EOFException("Stream ended within a chunk");
+                    }
+                    skipped = 1;
+                }
+                this.remaining -= (int) skipped;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link OutputStream} that writes data of an unknown length as a sequence of chunks.
+ * Each chunk is prefixed by it's length as an unsigned {@link LEB128} integer and the sequence is terminated by
+ * a chunk with a length of 0. This allows to write data without knowing the length of it beforehand, while
+ * only needing to buffer a single chunk. The data can be read again via {@link ChunkedInputStream}.
+ *
+ * <p>Closing this stream finishes the sequence but does not close the underlying stream.
+ *
+ * @since 2.0.0
+ */
+public class ChunkedOutputStream extends OutputStream {
+
+    private final byte @NotNull[] buffer;
+    private int bufferedBytes;
+    private boolean finished;
+    @NotNull
+    private final OutputStream out;
+
+    public ChunkedOutputStream(@NotNull OutputStream out, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.out = out;
+        this.buffer = new byte[chunkSize];
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.finished) {
+            throw new IOException("Stream already finished");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.finish();
+    }
+
+    /**
+     * Writes all buffered data as well as the terminating chunk.
+     * Further write operations will fail. Does nothing if the stream was already finished.
+     *
+     * @throws IOException If the underlying stream throws the exception
+     */
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+        this.writeBufferedChunk();
+        this.out.write(0);
+        this.finished = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Buffered data is not written as a chunk as that would fragment the sequence
+        this.out.flush();
+    }
+
+    @Override
+    public void write(byte @NotNull[] b, int off, int len) throws IOException {
+        this.ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len >= this.buffer.length) {
+            // Avoid the copy and write the input as a chunk on it's own
+            this.writeBufferedChunk();
+            LEB128.encodeUnsigned(len, this.out);
+            this.out.write(b, off, len);
+            return;
+        }
+        if (len > this.buffer.length - this.bufferedBytes) {
+            this.writeBufferedChunk();
+        }
+        System.arraycopy(b, off, this.buffer, this.bufferedBytes, len);
+        this.bufferedBytes += len;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.ensureOpen();
+        if (this.bufferedBytes == this.buffer.length) {
+            this.writeBufferedChunk();
+        }
+        this.buffer[this.bufferedBytes++] = (byte) b;
+    }
+
+    private void writeBufferedChunk() throws IOException {
+        if (this.bufferedBytes == 0) {
+            return;
+        }
+        LEB128.encodeUnsigned(this.bufferedBytes, this.out);
+        this.out.write(this.buffer, 0, this.bufferedBytes);
+        this.bufferedBytes = 0;
+    }
+}
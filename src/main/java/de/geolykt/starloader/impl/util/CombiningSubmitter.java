@@ -0,0 +1,183 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hands elements over to a sink that is guarded by a monitor while acquiring that monitor only once per batch
+ * of submissions instead of once per element. Producers place their submissions in a lock-free queue, after which
+ * a single producer - the combiner - moves the queued submissions into the sink while holding the monitor.
+ * Producers that lose the race for becoming the combiner do not touch the monitor at all, but park until
+ * their submission was handed over before returning, so that an element is always within the sink once the
+ * submitting method returns. Producers that already hold the monitor hand their elements over directly, as they
+ * could otherwise wait for a combiner that in turn waits for the monitor. Exceptions thrown by the sink are rethrown
+ * in the thread that submitted the affected elements.
+ *
+ * <p>The order of the elements submitted by a single thread is preserved, elements of a single submission
+ * are never interleaved with elements of other submissions.
+ *
+ * @param <T> The type of the elements
+ */
+public final class CombiningSubmitter<T> {
+
+    /**
+     * A range of elements that were submitted in a single call.
+     *
+     * @param <T> The type of the elements
+     */
+    private static final class Submission<T> {
+        private volatile boolean done;
+        private final T element;
+        private final T @Nullable[] elements;
+        private final int end;
+        /**
+         * The exception thrown by the sink while handing over the elements. Published through {@link #done}.
+         */
+        @Nullable
+        private Throwable failure;
+        private final int start;
+        @NotNull
+        private final Thread submitter = Thread.currentThread();
+
+        private Submission(T element) {
+            this.element = element;
+            this.elements = null;
+            this.start = 0;
+            this.end = 0;
+        }
+
+        private Submission(T @NotNull[] elements, int start, int end) {
+            this.element = null;
+            this.elements = elements;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * The maximum amount of submissions of other threads the combiner hands over once its own submission is done.
+     * Without this bound a thread could be stuck combining for as long as other threads keep on submitting elements.
+     */
+    private static final int MAX_FOREIGN_SUBMISSIONS = 64;
+
+    private final AtomicBoolean combining = new AtomicBoolean();
+    @NotNull
+    private final Object monitor;
+    @NotNull
+    private final ConcurrentLinkedQueue<Submission<T>> queue = new ConcurrentLinkedQueue<>();
+    @NotNull
+    private final Consumer<T> sink;
+
+    /**
+     * Constructor.
+     *
+     * @param monitor The monitor that guards the sink
+     * @param sink The sink the elements are handed over to. Only ever invoked while holding the monitor.
+     */
+    public CombiningSubmitter(@NotNull Object monitor, @NotNull Consumer<T> sink) {
+        this.monitor = monitor;
+        this.sink = sink;
+    }
+
+    private void combine(@NotNull Submission<T> own) {
+        try {
+            synchronized (this.monitor) {
+                int foreign = 0;
+                Submission<T> submission;
+                while ((!own.done || foreign++ < MAX_FOREIGN_SUBMISSIONS) && (submission = this.queue.poll()) != null) {
+                    this.handOver(submission);
+                    submission.done = true;
+                    if (submission != own) {
+                        LockSupport.unpark(submission.submitter);
+                    }
+                }
+            }
+        } finally {
+            this.combining.set(false);
+        }
+        // A producer that failed to become the combiner while this thread was combining needs to take over
+        Submission<T> next = this.queue.peek();
+        if (next != null) {
+            LockSupport.unpark(next.submitter);
+        }
+    }
+
+    /**
+     * Hands the elements of a submission over to the sink, recording any exception thrown by the sink in the submission.
+     * Must be called while holding the monitor.
+     *
+     * @param submission The submission to hand over
+     */
+    private void handOver(@NotNull Submission<T> submission) {
+        try {
+            T[] elements = submission.elements;
+            if (elements == null) {
+                this.sink.accept(submission.element);
+            } else {
+                for (int i = submission.start; i < submission.end; i++) {
+                    this.sink.accept(elements[i]);
+                }
+            }
+        } catch (Throwable t) {
+            submission.failure = t;
+        }
+    }
+
+    private void submit0(@NotNull Submission<T> submission) {
+        if (Thread.holdsLock(this.monitor)) {
+            // The monitor is reentrant, but a combiner could not acquire it until this thread returns
+            this.handOver(submission);
+        } else {
+            this.queue.add(submission);
+            while (!submission.done) {
+                if (this.combining.compareAndSet(false, true)) {
+                    this.combine(submission);
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        }
+
+        Throwable failure = submission.failure;
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException("The sink threw an exception while handing over the submitted elements", failure);
+        }
+    }
+
+    /**
+     * Submits a single element to the sink.
+     *
+     * @param element The element to submit
+     */
+    public void submit(@NotNull T element) {
+        this.submit0(new Submission<>(element));
+    }
+
+    /**
+     * Submits multiple elements to the sink. If no other thread is currently submitting elements,
+     * the monitor is only acquired once for all elements.
+     *
+     * @param elements The elements to submit. The array must not be modified until this method returns.
+     * @param offset The index of the first element to submit
+     * @param length The amount of elements to submit
+     * @throws IndexOutOfBoundsException If the range is not within the bounds of the array
+     */
+    public void submitAll(T @NotNull[] elements, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > elements.length - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + elements.length);
+        }
+        if (length == 0) {
+            return;
+        }
+        this.submit0(new Submission<>(elements, offset, offset + length));
+    }
+}
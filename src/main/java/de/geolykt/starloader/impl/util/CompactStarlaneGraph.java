@@ -0,0 +1,448 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Arrays;
+import java.util.Vector;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import de.geolykt.starloader.api.empire.Star;
+import de.geolykt.starloader.api.empire.StarlaneGraph;
+
+/**
+ * A {@link StarlaneGraph} that stores the neighbours of all nodes in a single array, in the manner of a compressed
+ * sparse row layout. Each node owns a contiguous range of that array which has some spare capacity, so that starlanes
+ * can be added without rebuilding the graph. If the range of a node runs out of capacity, the neighbours of the node
+ * are moved to a larger range at the end of the array; the abandoned range is reclaimed once the graph is rebuilt.
+ *
+ * <p>Like the {@link UIDIndex}, the graph validates itself against a {@link VectorFingerprint} of the live vector of stars
+ * on each access and is rebuilt if the vector was replaced, or if its size or last element changed since the graph was built.
+ * The connected components are computed lazily and cached until the starlanes change. All methods synchronise on the graph.
+ */
+public final class CompactStarlaneGraph implements StarlaneGraph {
+
+    /**
+     * The amount of spare capacity each node is given when the graph is built.
+     */
+    private static final int SPARE_CAPACITY = 2;
+
+    private static int findRoot(int @NotNull[] parents, int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    private int @NotNull[] capacities = new int[0];
+    private int componentCount = -1;
+    private int @NotNull[] components = new int[0];
+    private int count;
+    private int @NotNull[] degrees = new int[0];
+    @NotNull
+    private VectorFingerprint fingerprint = VectorFingerprint.NONE;
+    @NotNull
+    private IntObjectTable<Integer> nodes = IntObjectTable.buildIndex(new int[0], 0);
+    private int @NotNull[] offsets = new int[0];
+    private int revision;
+    private int @NotNull[] scratchQueue = new int[0];
+    private int @NotNull[] scratchParents = new int[0];
+    @NotNull
+    private final Supplier<@Nullable Vector<? extends Star>> source;
+    private Star @NotNull[] stars = new Star[0];
+    private int @NotNull[] targets = new int[0];
+    private int usedTargets;
+    private int visitStamp;
+    private int @NotNull[] visitStamps = new int[0];
+
+    /**
+     * Creates a new graph.
+     *
+     * @param source The supplier of the vector of stars, which is queried on every access in order to detect
+     * the vector being replaced
+     */
+    public CompactStarlaneGraph(@NotNull Supplier<@Nullable Vector<? extends Star>> source) {
+        this.source = source;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= this.count) {
+            throw new IndexOutOfBoundsException("Node " + node + " is out of bounds for node count " + this.count);
+        }
+    }
+
+    private void computeComponents() {
+        int count = this.count;
+        int[] parents = new int[count];
+        for (int i = 0; i < count; i++) {
+            parents[i] = i;
+        }
+        for (int node = 0; node < count; node++) {
+            int offset = this.offsets[node];
+            for (int i = this.degrees[node] - 1; i >= 0; i--) {
+                int a = CompactStarlaneGraph.findRoot(parents, node);
+                int b = CompactStarlaneGraph.findRoot(parents, this.targets[offset + i]);
+                if (a != b) {
+                    parents[Math.max(a, b)] = Math.min(a, b);
+                }
+            }
+        }
+        // Roots are always the smallest node of their component, so they are labelled before any other member
+        int[] components = new int[count];
+        int componentCount = 0;
+        for (int node = 0; node < count; node++) {
+            int root = CompactStarlaneGraph.findRoot(parents, node);
+            components[node] = root == node ? componentCount++ : components[root];
+        }
+        this.components = components;
+        this.componentCount = componentCount;
+    }
+
+    /**
+     * Rebuilds the graph if the vector of stars changed since the graph was last built.
+     */
+    private void ensureCurrent() {
+        Vector<? extends Star> vector = this.source.get();
+        if (vector == null) {
+            if (!this.fingerprint.matches(null)) {
+                this.rebuild(null);
+            }
+            return;
+        }
+        synchronized (vector) {
+            if (!this.fingerprint.matches(vector)) {
+                this.rebuild(vector);
+            }
+        }
+    }
+
+    @Override
+    public synchronized int @Nullable[] findShortestPath(int from, int to) {
+        this.ensureCurrent();
+        this.checkNode(from);
+        this.checkNode(to);
+        if (from == to) {
+            return new int[] {from};
+        }
+        int stamp = this.nextVisitStamp();
+        int[] queue = this.scratchQueue;
+        int[] parents = this.scratchParents;
+        int[] visited = this.visitStamps;
+        visited[from] = stamp;
+        parents[from] = -1;
+        queue[0] = from;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int node = queue[head++];
+            int offset = this.offsets[node];
+            for (int i = 0, degree = this.degrees[node]; i < degree; i++) {
+                int neighbour = this.targets[offset + i];
+                if (visited[neighbour] == stamp) {
+                    continue;
+                }
+                visited[neighbour] = stamp;
+                parents[neighbour] = node;
+                if (neighbour == to) {
+                    int length = 1;
+                    for (int n = node; n != -1; n = parents[n]) {
+                        length++;
+                    }
+                    int[] path = new int[length];
+                    for (int n = neighbour; n != -1; n = parents[n]) {
+                        path[--length] = n;
+                    }
+                    return path;
+                }
+                queue[tail++] = neighbour;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized int getComponent(int node) {
+        this.ensureCurrent();
+        this.checkNode(node);
+        if (this.componentCount == -1) {
+            this.computeComponents();
+        }
+        return this.components[node];
+    }
+
+    @Override
+    public synchronized int getComponentCount() {
+        this.ensureCurrent();
+        if (this.componentCount == -1) {
+            this.computeComponents();
+        }
+        return this.componentCount;
+    }
+
+    @Override
+    public synchronized int getDegree(int node) {
+        this.ensureCurrent();
+        this.checkNode(node);
+        return this.degrees[node];
+    }
+
+    @Override
+    public synchronized int getHopDistances(int source, int maxHops, int @NotNull[] distances) {
+        this.ensureCurrent();
+        this.checkNode(source);
+        if (distances.length < this.count) {
+            throw new IllegalArgumentException("The distance array must have at least " + this.count + " elements.");
+        }
+        Arrays.fill(distances, 0, this.count, -1);
+        int[] queue = this.scratchQueue;
+        distances[source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int node = queue[head++];
+            int hops = distances[node];
+            if (hops >= maxHops) {
+                // Nodes are dequeued in the order of their distance, so all remaining nodes are at the limit too
+                break;
+            }
+            int offset = this.offsets[node];
+            for (int i = 0, degree = this.degrees[node]; i < degree; i++) {
+                int neighbour = this.targets[offset + i];
+                if (distances[neighbour] == -1) {
+                    distances[neighbour] = hops + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return tail;
+    }
+
+    @Override
+    public synchronized int getNeighbour(int node, int index) {
+        this.ensureCurrent();
+        this.checkNode(node);
+        if (index < 0 || index >= this.degrees[node]) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for degree " + this.degrees[node]);
+        }
+        return this.targets[this.offsets[node] + index];
+    }
+
+    @Override
+    public synchronized int getNode(@NotNull Star star) {
+        this.ensureCurrent();
+        return this.lookup(star);
+    }
+
+    @Override
+    public synchronized int getNodeCount() {
+        this.ensureCurrent();
+        return this.count;
+    }
+
+    @Override
+    public synchronized int @NotNull[] getNodesWithinHops(int source, int maxHops) {
+        this.ensureCurrent();
+        this.checkNode(source);
+        int stamp = this.nextVisitStamp();
+        int[] queue = this.scratchQueue;
+        int[] visited = this.visitStamps;
+        visited[source] = stamp;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        for (int hops = 0; hops < maxHops && head < tail; hops++) {
+            for (int levelEnd = tail; head < levelEnd; head++) {
+                int node = queue[head];
+                int offset = this.offsets[node];
+                for (int i = 0, degree = this.degrees[node]; i < degree; i++) {
+                    int neighbour = this.targets[offset + i];
+                    if (visited[neighbour] != stamp) {
+                        visited[neighbour] = stamp;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    @Override
+    public synchronized int getRevision() {
+        this.ensureCurrent();
+        return this.revision;
+    }
+
+    @SuppressWarnings("null")
+    @Override
+    @NotNull
+    public synchronized Star getStar(int node) {
+        this.ensureCurrent();
+        this.checkNode(node);
+        return this.stars[node];
+    }
+
+    /**
+     * Discards the graph, causing it to be rebuilt on the next access.
+     */
+    public synchronized void invalidate() {
+        this.fingerprint = VectorFingerprint.NONE;
+    }
+
+    @Override
+    public synchronized boolean isConnected(int from, int to) {
+        this.ensureCurrent();
+        this.checkNode(from);
+        this.checkNode(to);
+        return this.isConnected0(from, to);
+    }
+
+    @Override
+    public synchronized boolean isConnected(@NotNull Star from, @NotNull Star to) {
+        this.ensureCurrent();
+        int fromNode = this.lookup(from);
+        int toNode = this.lookup(to);
+        return fromNode != -1 && toNode != -1 && this.isConnected0(fromNode, toNode);
+    }
+
+    private boolean isConnected0(int from, int to) {
+        int[] targets = this.targets;
+        int offset = this.offsets[from];
+        for (int i = offset + this.degrees[from] - 1; i >= offset; i--) {
+            if (targets[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtains the node of a star without validating the graph against the vector of stars.
+     *
+     * @param star The star
+     * @return The node of the star, or -1 if the star is not known to the graph
+     */
+    private int lookup(@NotNull Star star) {
+        Integer node = this.nodes.get(star.getUID());
+        return node != null && this.stars[node.intValue()] == star ? node.intValue() : -1;
+    }
+
+    private int nextVisitStamp() {
+        if (++this.visitStamp == 0) {
+            // The stamp overflowed, so stale stamps could collide with new ones
+            Arrays.fill(this.visitStamps, 0);
+            this.visitStamp = 1;
+        }
+        return this.visitStamp;
+    }
+
+    /**
+     * Reads the neighbours of a star into the given range of the target array.
+     *
+     * @param star The star whose neighbours should be read
+     * @param node The node of the star
+     * @return False if the range of the node does not have enough capacity
+     */
+    private boolean readNeighbours(@NotNull Star star, int node) {
+        Vector<Star> neighbours = star.getNeighbours();
+        if (neighbours == null) {
+            this.degrees[node] = 0;
+            return true;
+        }
+        synchronized (neighbours) {
+            int size = neighbours.size();
+            if (size > this.capacities[node]) {
+                return false;
+            }
+            int offset = this.offsets[node];
+            int degree = 0;
+            for (int i = 0; i < size; i++) {
+                Star neighbour = neighbours.get(i);
+                int neighbourNode = neighbour == null ? -1 : this.lookup(neighbour);
+                if (neighbourNode != -1) {
+                    this.targets[offset + degree++] = neighbourNode;
+                }
+            }
+            this.degrees[node] = degree;
+            return true;
+        }
+    }
+
+    private void rebuild(@Nullable Vector<? extends Star> vector) {
+        int size = vector == null ? 0 : vector.size();
+        Star[] stars = new Star[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("null")
+            Star star = vector.get(i);
+            if (star != null) {
+                stars[count++] = star;
+            }
+        }
+        this.fingerprint = VectorFingerprint.of(vector);
+        this.stars = stars;
+        this.count = count;
+        this.revision++;
+        this.componentCount = -1;
+
+        int[] uids = new int[count];
+        for (int i = 0; i < count; i++) {
+            uids[i] = stars[i].getUID();
+        }
+        this.nodes = IntObjectTable.buildIndex(uids, count);
+
+        this.offsets = new int[count];
+        this.degrees = new int[count];
+        this.capacities = new int[count];
+        int usedTargets = 0;
+        for (int i = 0; i < count; i++) {
+            Vector<Star> neighbours = stars[i].getNeighbours();
+            this.offsets[i] = usedTargets;
+            this.capacities[i] = (neighbours == null ? 0 : neighbours.size()) + SPARE_CAPACITY;
+            usedTargets += this.capacities[i];
+        }
+        this.targets = new int[usedTargets];
+        this.usedTargets = usedTargets;
+        for (int i = 0; i < count; i++) {
+            while (!this.readNeighbours(stars[i], i)) {
+                // The neighbours changed concurrently
+                this.relocate(i);
+            }
+        }
+
+        this.scratchQueue = new int[count];
+        this.scratchParents = new int[count];
+        this.visitStamps = new int[count];
+        this.visitStamp = 0;
+    }
+
+    /**
+     * Moves the neighbours of a node into a range with twice the capacity at the end of the target array.
+     *
+     * @param node The node to move
+     */
+    private void relocate(int node) {
+        int capacity = Math.max(4, this.capacities[node] * 2);
+        int offset = this.usedTargets;
+        if (offset + capacity > this.targets.length) {
+            this.targets = Arrays.copyOf(this.targets, Math.max(offset + capacity, this.targets.length + (this.targets.length >> 1)));
+        }
+        System.arraycopy(this.targets, this.offsets[node], this.targets, offset, this.degrees[node]);
+        this.offsets[node] = offset;
+        this.capacities[node] = capacity;
+        this.usedTargets = offset + capacity;
+    }
+
+    @Override
+    public synchronized void update(@NotNull Star star) {
+        int node = this.lookup(star);
+        if (node == -1) {
+            return;
+        }
+        while (!this.readNeighbours(star, node)) {
+            this.relocate(node);
+        }
+        this.componentCount = -1;
+    }
+}
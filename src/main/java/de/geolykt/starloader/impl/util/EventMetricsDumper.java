@@ -0,0 +1,105 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.geolykt.starloader.api.event.EventManager;
+
+/**
+ * Periodically writes the handler metrics recorded by the {@link EventManager} to a file in the CSV format.
+ * The dumper is started by the SLAPI bootstrap if the <code>de.geolykt.starloader.api.event.EventManager.METRICS_CSV</code>
+ * system property is set and stopped once SLAPI is unloaded, at which point the metrics are written a last time.
+ */
+public final class EventMetricsDumper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventMetricsDumper.class);
+
+    /**
+     * Creates a dumper as configured through the <code>de.geolykt.starloader.api.event.EventManager.METRICS_CSV</code>
+     * and <code>de.geolykt.starloader.api.event.EventManager.METRICS_CSV_INTERVAL</code> system properties.
+     *
+     * @return The dumper, or null if no metrics file is configured
+     */
+    @Nullable
+    public static EventMetricsDumper fromSystemProperties() {
+        String metricsFile = System.getProperty("de.geolykt.starloader.api.event.EventManager.METRICS_CSV");
+        if (metricsFile == null) {
+            return null;
+        }
+        long interval = Long.getLong("de.geolykt.starloader.api.event.EventManager.METRICS_CSV_INTERVAL", 10L);
+        return new EventMetricsDumper(Paths.get(metricsFile), interval);
+    }
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    private final long intervalSeconds;
+
+    @NotNull
+    private final Path target;
+
+    public EventMetricsDumper(@NotNull Path target, long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("The interval must be positive, but was " + intervalSeconds);
+        }
+        this.target = target;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    /**
+     * Stops writing the metrics periodically and writes them a last time. Does nothing if the dumper is not running.
+     */
+    public synchronized void shutdown() {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            return;
+        }
+        this.executor = null;
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.write();
+    }
+
+    /**
+     * Enables the recording of metrics and starts writing them periodically on a daemon thread.
+     *
+     * @throws IllegalStateException If the dumper is already running
+     */
+    public synchronized void start() {
+        if (this.executor != null) {
+            throw new IllegalStateException("The dumper is already running");
+        }
+        EventManager.setMetricsEnabled(true);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor((task) -> {
+            Thread thread = new Thread(task, "SLAPI-Event-Metrics-Dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::write, this.intervalSeconds, this.intervalSeconds, TimeUnit.SECONDS);
+        this.executor = executor;
+    }
+
+    private void write() {
+        try (Writer writer = Files.newBufferedWriter(this.target, StandardCharsets.UTF_8)) {
+            EventManager.writeMetricsCSV(writer);
+        } catch (IOException e) {
+            EventMetricsDumper.LOGGER.warn("Unable to write event metrics to {}", this.target, e);
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Arrays;
+import java.util.Vector;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import de.geolykt.starloader.api.empire.Star;
+import de.geolykt.starloader.api.empire.StarQueryResult;
+import de.geolykt.starloader.api.empire.StarSpatialIndex;
+
+/**
+ * A {@link StarSpatialIndex} that sorts the stars into a uniform grid of square cells, whose size is chosen
+ * so that a cell contains about {@link #TARGET_STARS_PER_CELL} stars.
+ *
+ * <p>The extent of the grid is fixed when the grid is built. Stars that are moved outside of it are stored in the
+ * closest cell at the border of the grid, so that the border cells effectively extend into infinity.
+ * Like the {@link UIDIndex}, the grid validates itself against a {@link VectorFingerprint} of the live vector of stars
+ * before each query and is rebuilt if the vector was replaced, or if its size or last element changed since the grid was built.
+ * Moved stars are updated incrementally via {@link #update(Star)}. All methods synchronise on the index.
+ */
+public final class GridStarIndex implements StarSpatialIndex {
+
+    /**
+     * The upper bound of the amount of cells per star, which keeps the grid reasonably small if the stars
+     * are distributed very unevenly.
+     */
+    private static final int MAX_CELLS_PER_STAR = 4;
+
+    /**
+     * The average amount of stars a cell should contain.
+     */
+    private static final float TARGET_STARS_PER_CELL = 2F;
+
+    private int @NotNull[] cellCounts = new int[1];
+    private int @NotNull[] @NotNull[] cells = new int[1][0];
+    private float cellSize = 1F;
+    private int columns = 1;
+    private int count;
+    private int @NotNull[] entryCells = new int[0];
+    @NotNull
+    private IntObjectTable<Integer> entries = IntObjectTable.buildIndex(new int[0], 0);
+    private int @NotNull[] entrySlots = new int[0];
+    @NotNull
+    private VectorFingerprint fingerprint = VectorFingerprint.NONE;
+    private float invCellSize = 1F;
+    private float maxX;
+    private float maxY;
+    private float minX;
+    private float minY;
+    private float originX;
+    private float originY;
+    private int rows = 1;
+    private float @NotNull[] scratchDistances = new float[0];
+    private int @NotNull[] scratchEntries = new int[0];
+    @NotNull
+    private final Supplier<@Nullable Vector<? extends Star>> source;
+    private Star @NotNull[] stars = new Star[0];
+    private float @NotNull[] xs = new float[0];
+    private float @NotNull[] ys = new float[0];
+
+    /**
+     * Creates a new index.
+     *
+     * @param source The supplier of the vector of stars, which is queried before every query in order to detect
+     * the vector being replaced
+     */
+    public GridStarIndex(@NotNull Supplier<@Nullable Vector<? extends Star>> source) {
+        this.source = source;
+    }
+
+    private int cellX(float x) {
+        int cell = (int) ((x - this.originX) * this.invCellSize);
+        return cell < 0 ? 0 : cell >= this.columns ? this.columns - 1 : cell;
+    }
+
+    private int cellY(float y) {
+        int cell = (int) ((y - this.originY) * this.invCellSize);
+        return cell < 0 ? 0 : cell >= this.rows ? this.rows - 1 : cell;
+    }
+
+    /**
+     * Rebuilds the grid if the vector of stars changed since the grid was last built.
+     */
+    private void ensureCurrent() {
+        Vector<? extends Star> vector = this.source.get();
+        if (vector == null) {
+            if (!this.fingerprint.matches(null)) {
+                this.rebuild(null);
+            }
+            return;
+        }
+        synchronized (vector) {
+            if (!this.fingerprint.matches(vector)) {
+                this.rebuild(vector);
+            }
+        }
+    }
+
+    @Override
+    public synchronized int findInRadius(float x, float y, float radius, @NotNull StarQueryResult result) {
+        result.clear();
+        this.ensureCurrent();
+        if (this.count == 0 || !(radius >= 0)) {
+            return 0;
+        }
+        float radiusSquared = radius * radius;
+        int maxCellX = this.cellX(x + radius);
+        int maxCellY = this.cellY(y + radius);
+        for (int cellY = this.cellY(y - radius); cellY <= maxCellY; cellY++) {
+            for (int cellX = this.cellX(x - radius); cellX <= maxCellX; cellX++) {
+                int cell = cellY * this.columns + cellX;
+                int[] entries = this.cells[cell];
+                for (int i = this.cellCounts[cell] - 1; i >= 0; i--) {
+                    int entry = entries[i];
+                    float dx = this.xs[entry] - x;
+                    float dy = this.ys[entry] - y;
+                    float distanceSquared = dx * dx + dy * dy;
+                    if (distanceSquared <= radiusSquared) {
+                        result.add(this.stars[entry], distanceSquared);
+                    }
+                }
+            }
+        }
+        return result.size();
+    }
+
+    @Override
+    public synchronized int findInRectangle(float minX, float minY, float maxX, float maxY, @NotNull StarQueryResult result) {
+        result.clear();
+        this.ensureCurrent();
+        if (this.count == 0 || !(minX <= maxX && minY <= maxY)) {
+            return 0;
+        }
+        int maxCellX = this.cellX(maxX);
+        int maxCellY = this.cellY(maxY);
+        for (int cellY = this.cellY(minY); cellY <= maxCellY; cellY++) {
+            for (int cellX = this.cellX(minX); cellX <= maxCellX; cellX++) {
+                int cell = cellY * this.columns + cellX;
+                int[] entries = this.cells[cell];
+                for (int i = this.cellCounts[cell] - 1; i >= 0; i--) {
+                    int entry = entries[i];
+                    float starX = this.xs[entry];
+                    float starY = this.ys[entry];
+                    if (starX >= minX && starX <= maxX && starY >= minY && starY <= maxY) {
+                        result.add(this.stars[entry], 0F);
+                    }
+                }
+            }
+        }
+        return result.size();
+    }
+
+    @Override
+    @Nullable
+    public synchronized Star findNearest(float x, float y, float maxDistance) {
+        this.ensureCurrent();
+        if (this.findNearest0(x, y, 1, maxDistance) == 0) {
+            return null;
+        }
+        return this.stars[this.scratchEntries[0]];
+    }
+
+    @Override
+    public synchronized int findNearest(float x, float y, int k, float maxDistance, @NotNull StarQueryResult result) {
+        result.clear();
+        this.ensureCurrent();
+        int found = this.findNearest0(x, y, k, maxDistance);
+        for (int i = 0; i < found; i++) {
+            result.add(this.stars[this.scratchEntries[i]], this.scratchDistances[i]);
+        }
+        return found;
+    }
+
+    /**
+     * Searches the k nearest stars by scanning the cells in rings of increasing size around the cell of the location,
+     * stopping once the unscanned cells cannot contain any star that is nearer than the k-th nearest star found so far.
+     * The entries of the stars that were found are written into the scratch arrays, ordered by their distance.
+     *
+     * @param x The X-coordinate of the location
+     * @param y The Y-coordinate of the location
+     * @param k The maximum amount of stars to find
+     * @param maxDistance The maximum distance of the stars to the location
+     * @return The amount of stars found
+     */
+    private int findNearest0(float x, float y, int k, float maxDistance) {
+        k = Math.min(k, this.count);
+        if (k <= 0 || !(maxDistance >= 0)) {
+            return 0;
+        }
+        if (this.scratchEntries.length < k) {
+            this.scratchEntries = new int[k];
+            this.scratchDistances = new float[k];
+        }
+        int[] foundEntries = this.scratchEntries;
+        float[] foundDistances = this.scratchDistances;
+        float maxDistanceSquared = maxDistance * maxDistance;
+        int centerX = this.cellX(x);
+        int centerY = this.cellY(y);
+        int found = 0;
+        for (int ring = 0;; ring++) {
+            int minCellX = centerX - ring;
+            int maxCellX = centerX + ring;
+            int minCellY = centerY - ring;
+            int maxCellY = centerY + ring;
+            for (int cellY = Math.max(0, minCellY); cellY <= Math.min(this.rows - 1, maxCellY); cellY++) {
+                boolean edgeRow = cellY == minCellY || cellY == maxCellY;
+                for (int cellX = Math.max(0, minCellX); cellX <= Math.min(this.columns - 1, maxCellX); cellX++) {
+                    if (!edgeRow && cellX != minCellX && cellX != maxCellX) {
+                        // Skip the interior of the ring, which was already scanned
+                        cellX = maxCellX - 1;
+                        continue;
+                    }
+                    int cell = cellY * this.columns + cellX;
+                    int[] entries = this.cells[cell];
+                    for (int i = this.cellCounts[cell] - 1; i >= 0; i--) {
+                        int entry = entries[i];
+                        float dx = this.xs[entry] - x;
+                        float dy = this.ys[entry] - y;
+                        float distanceSquared = dx * dx + dy * dy;
+                        if (distanceSquared > maxDistanceSquared || (found == k && distanceSquared >= foundDistances[k - 1])) {
+                            continue;
+                        }
+                        int insertAt = found == k ? k - 1 : found++;
+                        while (insertAt > 0 && foundDistances[insertAt - 1] > distanceSquared) {
+                            foundEntries[insertAt] = foundEntries[insertAt - 1];
+                            foundDistances[insertAt] = foundDistances[insertAt - 1];
+                            insertAt--;
+                        }
+                        foundEntries[insertAt] = entry;
+                        foundDistances[insertAt] = distanceSquared;
+                    }
+                }
+            }
+
+            // Stars in unscanned cells are at least as far away as the nearest side of the scanned area that
+            // is not at the border of the grid, as the border cells were scanned in their entirety.
+            float bound = Float.POSITIVE_INFINITY;
+            if (minCellX > 0) {
+                bound = Math.min(bound, x - (this.originX + minCellX * this.cellSize));
+            }
+            if (maxCellX < this.columns - 1) {
+                bound = Math.min(bound, this.originX + (maxCellX + 1) * this.cellSize - x);
+            }
+            if (minCellY > 0) {
+                bound = Math.min(bound, y - (this.originY + minCellY * this.cellSize));
+            }
+            if (maxCellY < this.rows - 1) {
+                bound = Math.min(bound, this.originY + (maxCellY + 1) * this.cellSize - y);
+            }
+            if (bound == Float.POSITIVE_INFINITY) {
+                return found;
+            }
+            bound = Math.max(0F, bound);
+            float boundSquared = bound * bound;
+            if (boundSquared > maxDistanceSquared || (found == k && boundSquared >= foundDistances[k - 1])) {
+                return found;
+            }
+        }
+    }
+
+    private void insert(int entry) {
+        int cell = this.cellY(this.ys[entry]) * this.columns + this.cellX(this.xs[entry]);
+        int slot = this.cellCounts[cell]++;
+        int[] entries = this.cells[cell];
+        if (slot == entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(4, slot * 2));
+            this.cells[cell] = entries;
+        }
+        entries[slot] = entry;
+        this.entryCells[entry] = cell;
+        this.entrySlots[entry] = slot;
+    }
+
+    /**
+     * Discards the grid, causing it to be rebuilt on the next query.
+     */
+    public synchronized void invalidate() {
+        this.fingerprint = VectorFingerprint.NONE;
+    }
+
+    @Override
+    @Nullable
+    public synchronized Star raycast(float originX, float originY, float directionX, float directionY, float maxDistance, float hitRadius) {
+        float length = (float) Math.sqrt(directionX * directionX + directionY * directionY);
+        if (!(length > 0F) || Float.isInfinite(length)) {
+            throw new IllegalArgumentException("Invalid ray direction: (" + directionX + ", " + directionY + ")");
+        }
+        this.ensureCurrent();
+        if (this.count == 0 || !(maxDistance >= 0) || !(hitRadius >= 0)) {
+            return null;
+        }
+        float dirX = directionX / length;
+        float dirY = directionY / length;
+
+        // Clip the ray to the bounding box of all stars, inflated by the hit radius
+        float start = 0F;
+        float end = maxDistance;
+        if (dirX == 0F) {
+            if (originX < this.minX - hitRadius || originX > this.maxX + hitRadius) {
+                return null;
+            }
+        } else {
+            float a = (this.minX - hitRadius - originX) / dirX;
+            float b = (this.maxX + hitRadius - originX) / dirX;
+            start = Math.max(start, Math.min(a, b));
+            end = Math.min(end, Math.max(a, b));
+        }
+        if (dirY == 0F) {
+            if (originY < this.minY - hitRadius || originY > this.maxY + hitRadius) {
+                return null;
+            }
+        } else {
+            float a = (this.minY - hitRadius - originY) / dirY;
+            float b = (this.maxY + hitRadius - originY) / dirY;
+            start = Math.max(start, Math.min(a, b));
+            end = Math.min(end, Math.max(a, b));
+        }
+        if (!(start <= end)) {
+            return null;
+        }
+
+        // Sample the ray every half cell and scan the cells around each sample that could contain a star within the
+        // hit radius. Any star that is hit is found by a sample that is at most a quarter cell further along the ray.
+        float step = this.cellSize * 0.5F;
+        int reach = (int) Math.ceil(hitRadius * this.invCellSize) + 1;
+        float hitRadiusSquared = hitRadius * hitRadius;
+        int best = -1;
+        float bestProjection = Float.POSITIVE_INFINITY;
+        float bestDistanceSquared = Float.POSITIVE_INFINITY;
+        int lastCellX = -1;
+        int lastCellY = -1;
+        for (int sample = 0;; sample++) {
+            float t = start + sample * step;
+            boolean last = t >= end;
+            if (last) {
+                t = end;
+            }
+            if (t > bestProjection + step) {
+                break;
+            }
+            int sampleX = this.cellX(originX + dirX * t);
+            int sampleY = this.cellY(originY + dirY * t);
+            if (sampleX != lastCellX || sampleY != lastCellY) {
+                lastCellX = sampleX;
+                lastCellY = sampleY;
+                int maxCellX = Math.min(this.columns - 1, sampleX + reach);
+                int maxCellY = Math.min(this.rows - 1, sampleY + reach);
+                for (int cellY = Math.max(0, sampleY - reach); cellY <= maxCellY; cellY++) {
+                    for (int cellX = Math.max(0, sampleX - reach); cellX <= maxCellX; cellX++) {
+                        int cell = cellY * this.columns + cellX;
+                        int[] entries = this.cells[cell];
+                        for (int i = this.cellCounts[cell] - 1; i >= 0; i--) {
+                            int entry = entries[i];
+                            float relX = this.xs[entry] - originX;
+                            float relY = this.ys[entry] - originY;
+                            float projection = Math.min(maxDistance, Math.max(0F, relX * dirX + relY * dirY));
+                            if (projection > bestProjection) {
+                                continue;
+                            }
+                            float dx = relX - dirX * projection;
+                            float dy = relY - dirY * projection;
+                            float distanceSquared = dx * dx + dy * dy;
+                            if (distanceSquared <= hitRadiusSquared
+                                    && (projection < bestProjection || distanceSquared < bestDistanceSquared)) {
+                                best = entry;
+                                bestProjection = projection;
+                                bestDistanceSquared = distanceSquared;
+                            }
+                        }
+                    }
+                }
+            }
+            if (last) {
+                break;
+            }
+        }
+        return best == -1 ? null : this.stars[best];
+    }
+
+    private void rebuild(@Nullable Vector<? extends Star> vector) {
+        int size = vector == null ? 0 : vector.size();
+        Star[] stars = new Star[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("null")
+            Star star = vector.get(i);
+            if (star != null) {
+                stars[count++] = star;
+            }
+        }
+        this.fingerprint = VectorFingerprint.of(vector);
+        this.stars = stars;
+        this.count = count;
+        this.xs = new float[count];
+        this.ys = new float[count];
+        this.entryCells = new int[count];
+        this.entrySlots = new int[count];
+
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            float x = stars[i].getX();
+            float y = stars[i].getY();
+            this.xs[i] = x;
+            this.ys[i] = y;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        if (count == 0) {
+            minX = minY = maxX = maxY = 0F;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+
+        float width = Math.max(maxX - minX, 1e-3F);
+        float height = Math.max(maxY - minY, 1e-3F);
+        float cellSize = (float) Math.sqrt(width * height * TARGET_STARS_PER_CELL / Math.max(1, count));
+        long maxCells = (long) Math.max(1, count) * MAX_CELLS_PER_STAR;
+        while ((long) Math.ceil(width / cellSize) * (long) Math.ceil(height / cellSize) > maxCells) {
+            cellSize *= 2F;
+        }
+        this.cellSize = cellSize;
+        this.invCellSize = 1F / cellSize;
+        this.originX = minX;
+        this.originY = minY;
+        this.columns = (int) Math.max(1L, (long) Math.ceil(width / cellSize));
+        this.rows = (int) Math.max(1L, (long) Math.ceil(height / cellSize));
+        this.cells = new int[this.columns * this.rows][];
+        Arrays.fill(this.cells, new int[0]);
+        this.cellCounts = new int[this.columns * this.rows];
+        for (int i = 0; i < count; i++) {
+            this.insert(i);
+        }
+
+        int[] uids = new int[count];
+        for (int i = 0; i < count; i++) {
+            uids[i] = stars[i].getUID();
+        }
+        this.entries = IntObjectTable.buildIndex(uids, count);
+    }
+
+    private void remove(int entry) {
+        int cell = this.entryCells[entry];
+        int slot = this.entrySlots[entry];
+        int[] entries = this.cells[cell];
+        int moved = entries[--this.cellCounts[cell]];
+        entries[slot] = moved;
+        this.entrySlots[moved] = slot;
+    }
+
+    @Override
+    public synchronized void update(@NotNull Star star) {
+        Integer boxedEntry = this.entries.get(star.getUID());
+        if (boxedEntry == null || this.stars[boxedEntry.intValue()] != star) {
+            return;
+        }
+        int entry = boxedEntry.intValue();
+        float x = star.getX();
+        float y = star.getY();
+        this.xs[entry] = x;
+        this.ys[entry] = y;
+        this.minX = Math.min(this.minX, x);
+        this.minY = Math.min(this.minY, y);
+        this.maxX = Math.max(this.maxX, x);
+        this.maxY = Math.max(this.maxY, y);
+        if (this.cellY(y) * this.columns + this.cellX(x) != this.entryCells[entry]) {
+            this.remove(entry);
+            this.insert(entry);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable lookup table that maps primitive int keys (usually UIDs) to objects without boxing the keys.
+ *
+ * <p>If the keys are reasonably dense, which is the case for the UIDs of most game objects, the values are
+ * stored in a plain array that is indexed by the key relative to the smallest key. Otherwise the table falls back
+ * to open addressing with linear probing. As the table is immutable, it can be queried by any amount of threads
+ * concurrently once it was built.
+ *
+ * @param <T> The type of the values
+ * @since 2.0.0
+ */
+public final class IntObjectTable<T> {
+
+    /**
+     * The amount of slots per value that a dense table may use at most before the table falls back to hashing.
+     */
+    private static final int MAX_DENSE_SLOTS_PER_VALUE = 4;
+
+    /**
+     * Builds a table out of a collection of values, obtaining the key of each value through the given function.
+     * If multiple values share the same key, the value that comes last in the iteration order of the
+     * collection is stored.
+     *
+     * @param <T> The type of the values
+     * @param values The values to store in the table
+     * @param keyFunction The function that obtains the key of a value
+     * @return The newly built table
+     * @since 2.0.0
+     */
+    @NotNull
+    public static <T> IntObjectTable<T> build(@NotNull Collection<? extends T> values, @NotNull ToIntFunction<? super T> keyFunction) {
+        int size = values.size();
+        int[] keys = new int[size];
+        Object[] objects = new Object[size];
+        int count = 0;
+        for (T value : values) {
+            if (count == size) {
+                break; // The collection grew while it was iterated over
+            }
+            keys[count] = keyFunction.applyAsInt(value);
+            objects[count++] = value;
+        }
+        return IntObjectTable.build(keys, objects, count);
+    }
+
+    /**
+     * Builds a table that maps each of the first <code>count</code> keys of the array to its index within the array,
+     * which can be used to look up the position of an object within an array of objects by the key of the object.
+     * If a key occurs multiple times, the largest index is stored.
+     *
+     * @param keys The keys
+     * @param count The amount of keys to store, starting with the first key of the array
+     * @return The newly built table
+     * @since 2.0.0
+     */
+    @NotNull
+    public static IntObjectTable<Integer> buildIndex(int @NotNull[] keys, int count) {
+        Object[] indices = new Object[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = Integer.valueOf(i);
+        }
+        return IntObjectTable.build(keys, indices, count);
+    }
+
+    @NotNull
+    private static <T> IntObjectTable<T> build(int @NotNull[] keys, Object @NotNull[] objects, int count) {
+        if (count == 0) {
+            return new IntObjectTable<>(0, new Object[0], null, 0);
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, keys[i]);
+            max = Math.max(max, keys[i]);
+        }
+
+        long range = (long) max - min + 1;
+        if (range <= Math.max(16L, (long) count * MAX_DENSE_SLOTS_PER_VALUE)) {
+            Object[] dense = new Object[(int) range];
+            int stored = 0;
+            for (int i = 0; i < count; i++) {
+                int slot = keys[i] - min;
+                if (dense[slot] == null) {
+                    stored++;
+                }
+                dense[slot] = objects[i];
+            }
+            return new IntObjectTable<>(min, dense, null, stored);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1;
+        int mask = capacity - 1;
+        int[] hashedKeys = new int[capacity];
+        Object[] hashedValues = new Object[capacity];
+        int stored = 0;
+        for (int i = 0; i < count; i++) {
+            int key = keys[i];
+            int slot = IntObjectTable.mix(key) & mask;
+            while (hashedValues[slot] != null && hashedKeys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (hashedValues[slot] == null) {
+                stored++;
+            }
+            hashedKeys[slot] = key;
+            hashedValues[slot] = objects[i];
+        }
+        return new IntObjectTable<>(0, hashedValues, hashedKeys, stored);
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * The keys of the hashed table or null if the table is dense.
+     */
+    private final int @Nullable[] keys;
+    private final int offset;
+    private final int size;
+    private final Object @NotNull[] values;
+
+    private IntObjectTable(int offset, Object @NotNull[] values, int @Nullable[] keys, int size) {
+        this.offset = offset;
+        this.values = values;
+        this.keys = keys;
+        this.size = size;
+    }
+
+    /**
+     * Obtains the value that is stored under the given key.
+     *
+     * @param key The key to look up
+     * @return The value stored under the key, or null if there is none
+     * @since 2.0.0
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public T get(int key) {
+        Object[] values = this.values;
+        int[] keys = this.keys;
+        if (keys == null) {
+            int slot = key - this.offset;
+            if (slot < 0 || slot >= values.length) {
+                return null;
+            }
+            return (T) values[slot];
+        }
+        int mask = values.length - 1;
+        for (int slot = IntObjectTable.mix(key) & mask;; slot = (slot + 1) & mask) {
+            Object value = values[slot];
+            if (value == null || keys[slot] == key) {
+                return (T) value;
+            }
+        }
+    }
+
+    /**
+     * Obtains the amount of distinct keys stored in this table.
+     *
+     * @return The amount of stored keys
+     * @since 2.0.0
+     */
+    public int size() {
+        return this.size;
+    }
+}
@@ -0,0 +1,165 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import de.geolykt.starloader.api.utils.LockContentionStatistics;
+import de.geolykt.starloader.impl.JavaInterop;
+
+/**
+ * Records the time threads wait for and hold the permits of a {@link SemaphoreLoopLock}, keyed by the acquiring
+ * thread and the call site of the acquisition. The recording methods are only invoked while the profiler
+ * is {@link #isEnabled() enabled}, so holds that are in progress while the profiler is disabled are not recorded.
+ */
+final class LockContentionProfiler {
+
+    /**
+     * The mutable statistics of a single pair of thread and call site.
+     */
+    static final class Site {
+        final AtomicLong acquisitions = new AtomicLong();
+        @NotNull
+        final String callSite;
+        final AtomicLong holdCount = new AtomicLong();
+        final AtomicLongArray holdHistogram = new AtomicLongArray(LockContentionStatistics.HISTOGRAM_BUCKETS);
+        final AtomicLong maxHoldNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        @NotNull
+        final String threadName;
+        final AtomicLong totalHoldNanos = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLongArray waitHistogram = new AtomicLongArray(LockContentionStatistics.HISTOGRAM_BUCKETS);
+
+        Site(@NotNull String threadName, @NotNull String callSite) {
+            this.threadName = threadName;
+            this.callSite = callSite;
+        }
+
+        @NotNull
+        LockContentionStatistics snapshot() {
+            long[] waitHistogram = new long[LockContentionStatistics.HISTOGRAM_BUCKETS];
+            long[] holdHistogram = new long[LockContentionStatistics.HISTOGRAM_BUCKETS];
+            for (int i = 0; i < LockContentionStatistics.HISTOGRAM_BUCKETS; i++) {
+                waitHistogram[i] = this.waitHistogram.get(i);
+                holdHistogram[i] = this.holdHistogram.get(i);
+            }
+            return new LockContentionStatistics(this.threadName, this.callSite, this.acquisitions.get(), this.totalWaitNanos.get(),
+                    this.maxWaitNanos.get(), waitHistogram, this.holdCount.get(), this.totalHoldNanos.get(), this.maxHoldNanos.get(), holdHistogram);
+        }
+    }
+
+    /**
+     * The hold that is currently in progress on a thread.
+     */
+    private static final class ThreadHold {
+        @Nullable
+        Site site;
+        long start;
+    }
+
+    private static boolean isSkippedFrame(String className) {
+        return className.startsWith("java.util.concurrent.")
+                || className.equals(SemaphoreLoopLock.class.getName())
+                || className.startsWith(SemaphoreLoopLock.class.getName() + "$")
+                || className.equals(LockContentionProfiler.class.getName());
+    }
+
+    private static void updateMax(@NotNull AtomicLong max, long value) {
+        for (long current = max.get(); value > current; current = max.get()) {
+            if (max.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    private volatile boolean enabled;
+
+    @NotNull
+    private final ThreadLocal<ThreadHold> holds = ThreadLocal.withInitial(ThreadHold::new);
+
+    @NotNull
+    private final ConcurrentMap<String, Site> sites = new ConcurrentHashMap<>();
+
+    /**
+     * Records that the current thread acquired the first permit it holds.
+     *
+     * @param site The site returned by {@link #recordAcquisition(long)}
+     */
+    void beginHold(@NotNull Site site) {
+        ThreadHold hold = this.holds.get();
+        hold.site = site;
+        hold.start = System.nanoTime();
+    }
+
+    /**
+     * Records that the current thread released the last permit it held. Does nothing if the hold was not
+     * started while the profiler was enabled.
+     */
+    void endHold() {
+        ThreadHold hold = this.holds.get();
+        Site site = hold.site;
+        if (site == null) {
+            return;
+        }
+        hold.site = null;
+        long nanos = System.nanoTime() - hold.start;
+        site.holdCount.incrementAndGet();
+        site.totalHoldNanos.addAndGet(nanos);
+        site.holdHistogram.incrementAndGet(LockContentionStatistics.getBucket(nanos));
+        LockContentionProfiler.updateMax(site.maxHoldNanos, nanos);
+    }
+
+    @NotNull
+    Collection<@NotNull LockContentionStatistics> getStatistics() {
+        Collection<@NotNull LockContentionStatistics> statistics = new ArrayList<>();
+        for (Site site : this.sites.values()) {
+            statistics.add(site.snapshot());
+        }
+        return statistics;
+    }
+
+    boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Records that the current thread acquired permits after waiting for the given duration.
+     *
+     * @param waitNanos The duration the thread waited in nanoseconds
+     * @return The site of the acquisition, to be passed to {@link #beginHold(Site)}
+     */
+    @NotNull
+    Site recordAcquisition(long waitNanos) {
+        String threadName = Thread.currentThread().getName();
+        String callSite = JavaInterop.getCallSite(LockContentionProfiler::isSkippedFrame);
+        String key = threadName + '\u0000' + callSite;
+        Site site = this.sites.get(key);
+        if (site == null) {
+            site = new Site(threadName, callSite);
+            Site witness = this.sites.putIfAbsent(key, site);
+            if (witness != null) {
+                site = witness;
+            }
+        }
+        site.acquisitions.incrementAndGet();
+        site.totalWaitNanos.addAndGet(waitNanos);
+        site.waitHistogram.incrementAndGet(LockContentionStatistics.getBucket(waitNanos));
+        LockContentionProfiler.updateMax(site.maxWaitNanos, waitNanos);
+        return site;
+    }
+
+    void reset() {
+        this.sites.clear();
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
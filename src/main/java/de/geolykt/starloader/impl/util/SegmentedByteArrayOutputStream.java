@@ -0,0 +1,82 @@
+package de.geolykt.starloader.impl.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link OutputStream} that buffers all written data in memory, much like {@link java.io.ByteArrayOutputStream}.
+ * However, the data is stored in a list of segments instead of a single array, so growing the buffer never copies
+ * already written data and the amount of buffered data is not limited to the maximum length of an array.
+ *
+ * @since 2.0.0
+ */
+public class SegmentedByteArrayOutputStream extends OutputStream {
+
+    private static final int INITIAL_SEGMENT_SIZE = 8192;
+    private static final int MAX_SEGMENT_SIZE = 1 << 20;
+
+    private byte @NotNull[] segment = new byte[INITIAL_SEGMENT_SIZE];
+    private int segmentPosition;
+    @NotNull
+    private final List<byte @NotNull[]> segments = new ArrayList<>();
+    private long size;
+
+    private void nextSegment() {
+        this.segments.add(this.segment);
+        this.segment = new byte[Math.min(MAX_SEGMENT_SIZE, this.segment.length * 2)];
+        this.segmentPosition = 0;
+    }
+
+    /**
+     * Obtains the amount of bytes that were written to this stream.
+     *
+     * @return The amount of buffered bytes
+     */
+    public long size() {
+        return this.size;
+    }
+
+    @Override
+    public void write(byte @NotNull[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.size += len;
+        while (len != 0) {
+            if (this.segmentPosition == this.segment.length) {
+                this.nextSegment();
+            }
+            int copied = Math.min(len, this.segment.length - this.segmentPosition);
+            System.arraycopy(b, off, this.segment, this.segmentPosition, copied);
+            this.segmentPosition += copied;
+            off += copied;
+            len -= copied;
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        if (this.segmentPosition == this.segment.length) {
+            this.nextSegment();
+        }
+        this.segment[this.segmentPosition++] = (byte) b;
+        this.size++;
+    }
+
+    /**
+     * Writes all buffered data to another stream.
+     *
+     * @param out The stream to write the data to
+     * @throws IOException If the other stream throws the exception
+     */
+    public void writeTo(@NotNull OutputStream out) throws IOException {
+        for (byte[] full : this.segments) {
+            out.write(full);
+        }
+        out.write(this.segment, 0, this.segmentPosition);
+    }
+}
@@ -3,14 +3,44 @@ package de.geolykt.starloader.impl.util;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import de.geolykt.starloader.api.utils.LockContentionStatistics;
+import de.geolykt.starloader.api.utils.LockPriorityPolicy;
 import de.geolykt.starloader.api.utils.TickLoopLock;
-
+import de.geolykt.starloader.impl.JavaInterop;
+
+/**
+ * The {@link TickLoopLock} implementation that replaces the {@link Semaphore} used by Galimulator as the main tick loop lock.
+ *
+ * <p>Contention can be profiled at runtime via {@link #setContentionProfilingEnabled(boolean)}, which records nanosecond
+ * wait and hold time histograms per thread and call site. Acquisitions of all permits ("hard control") can be ordered
+ * after acquisitions of a single permit ("soft control") via {@link #setPriorityPolicy(LockPriorityPolicy)}.
+ * Under the {@link LockPriorityPolicy#PREFER_SOFT_CONTROL} policy, hard acquisitions do not queue on the semaphore
+ * but wait on a separate condition until no soft acquisition is waiting and all permits can be acquired at once,
+ * which is why a queued hard acquisition can no longer block soft acquisitions that are queued behind it.
+ *
+ * <p>Optimistic reads are implemented through a write version that is incremented whenever a write starts and
+ * whenever it ends, alongside a count of the writes in progress. A write is in progress while a thread holds
+ * all permits or while a tick of the simulation loop is performed, as reported through {@link #beginTick()}
+ * and {@link #endTick()}.
+ *
+ * <p>If the <code>de.geolykt.starloader.impl.util.SemaphoreLoopLock.FAIR</code> system property is set to true, the
+ * underlying semaphore uses a fair ordering policy.
+ */
 public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
 
     private final class SemaphoreLockScope implements LockScope {
@@ -44,6 +74,27 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
     private final ThreadLocal<MutableInteger> acquisitions = ThreadLocal.withInitial(MutableInteger::new);
     private final LockScope scopes[];
     private static final boolean DEBUG = Boolean.getBoolean("de.geolykt.starloader.impl.util.SemaphoreLoopLock.DEBUG");
+    private static final boolean FAIR = Boolean.getBoolean("de.geolykt.starloader.impl.util.SemaphoreLoopLock.FAIR");
+
+    /**
+     * The maximum time a deferred hard acquisition waits before checking the state of the lock again.
+     * Guards against missed signals, for example if a soft acquisition timed out.
+     */
+    private static final long DEFERRED_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ReentrantLock deferredLock = new ReentrantLock();
+    private final AtomicInteger deferredWaiters = new AtomicInteger();
+    private final Condition permitsReleased = this.deferredLock.newCondition();
+    @NotNull
+    private volatile LockPriorityPolicy priorityPolicy = LockPriorityPolicy.BARGING;
+    @NotNull
+    private final LockContentionProfiler profiler = new LockContentionProfiler();
+    private final AtomicInteger softWaiters = new AtomicInteger();
+    private final AtomicBoolean tickInProgress = new AtomicBoolean();
+    private final int totalPermits;
+    private final AtomicInteger activeWrites = new AtomicInteger();
+    private final AtomicReference<@Nullable Thread> hardHolder = new AtomicReference<>();
+    private final AtomicLong writeVersion = new AtomicLong(1L);
     private static final AtomicLong DEBUG_ID_COUNTER = new AtomicLong();
     private static final PrintWriter DEBUG_OUT;
 
@@ -63,7 +114,8 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
     }
 
     public SemaphoreLoopLock(int permits) {
-        super(permits);
+        super(permits, FAIR);
+        this.totalPermits = permits;
         this.scopes = new LockScope[permits];
         for (int i = 0; i < permits; i++) {
             this.scopes[i] = new SemaphoreLockScope(i);
@@ -80,12 +132,10 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
         if (DEBUG) {
             long debugId = DEBUG_ID_COUNTER.getAndIncrement();
             long start = System.currentTimeMillis();
-            super.acquire();
-            acquisitions.get().increment();
+            this.acquire0(1, true, -1L);
             writeDebug(debugId + ",ACQUIRE_ONE,1," + start+ "," + System.currentTimeMillis());
         } else {
-            super.acquire();
-            acquisitions.get().increment();
+            this.acquire0(1, true, -1L);
         }
     }
 
@@ -94,20 +144,98 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
         if (DEBUG) {
             long debugId = DEBUG_ID_COUNTER.getAndIncrement();
             long start = System.currentTimeMillis();
-            super.acquire(permits);
-            acquisitions.get().increment(permits);
+            this.acquire0(permits, true, -1L);
             writeDebug(debugId + ",ACQUIRE," + permits + "," + start+ "," + System.currentTimeMillis());
         } else {
-            super.acquire(permits);
-            acquisitions.get().increment(permits);
+            this.acquire0(permits, true, -1L);
+        }
+    }
+
+    /**
+     * Acquires the given amount of permits for the current thread, recording the acquisition in the contention
+     * profiler if it is enabled.
+     *
+     * @param permits The amount of permits to acquire
+     * @param interruptible Whether the acquisition should be aborted if the thread is interrupted
+     * @param timeoutNanos The maximum time to wait, 0 to not wait at all or a negative value to wait indefinitely
+     * @return True if the permits were acquired, false if the timeout elapsed
+     * @throws InterruptedException If the thread was interrupted while waiting and interruptible is true
+     */
+    private boolean acquire0(int permits, boolean interruptible, long timeoutNanos) throws InterruptedException {
+        LockContentionProfiler profiler = this.profiler;
+        if (!profiler.isEnabled()) {
+            if (!this.acquirePermits(permits, interruptible, timeoutNanos)) {
+                return false;
+            }
+            MutableInteger localAcquisitions = this.acquisitions.get();
+            localAcquisitions.increment(permits);
+            this.checkHardControlAcquired(localAcquisitions.getValue(), permits);
+            return true;
+        }
+        long start = System.nanoTime();
+        if (!this.acquirePermits(permits, interruptible, timeoutNanos)) {
+            return false;
+        }
+        LockContentionProfiler.Site site = profiler.recordAcquisition(System.nanoTime() - start);
+        MutableInteger localAcquisitions = this.acquisitions.get();
+        if (localAcquisitions.getValue() == 0) {
+            profiler.beginHold(site);
+        }
+        localAcquisitions.increment(permits);
+        this.checkHardControlAcquired(localAcquisitions.getValue(), permits);
+        return true;
+    }
+
+    /**
+     * Waits until no soft acquisition is waiting and the permits can be acquired at once.
+     * Used for hard acquisitions under the {@link LockPriorityPolicy#PREFER_SOFT_CONTROL} policy.
+     *
+     * @param permits The amount of permits to acquire
+     * @param interruptible Whether the acquisition should be aborted if the thread is interrupted
+     * @param timeoutNanos The maximum time to wait, 0 to not wait at all or a negative value to wait indefinitely
+     * @return True if the permits were acquired, false if the timeout elapsed
+     * @throws InterruptedException If the thread was interrupted while waiting and interruptible is true
+     */
+    private boolean acquireDeferred(int permits, boolean interruptible, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        boolean interrupted = false;
+        this.deferredWaiters.incrementAndGet();
+        this.deferredLock.lock();
+        try {
+            while (this.softWaiters.get() != 0 || !super.tryAcquire(permits)) {
+                long waitNanos = DEFERRED_POLL_NANOS;
+                if (timeoutNanos >= 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    waitNanos = Math.min(waitNanos, remaining);
+                }
+                try {
+                    this.permitsReleased.awaitNanos(waitNanos);
+                } catch (InterruptedException e) {
+                    if (interruptible) {
+                        throw e;
+                    }
+                    interrupted = true;
+                }
+            }
+            return true;
+        } finally {
+            this.deferredLock.unlock();
+            this.deferredWaiters.decrementAndGet();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
     @Override
     public void acquireHardControl() throws InterruptedException {
-        if (getLocalAcquisitions() == 2) {
+        int localAcquisitions = this.getLocalAcquisitions();
+        if (localAcquisitions == 2) {
             return;
-        } else if (getLocalAcquisitions() == 1) {
+        } else if (localAcquisitions == 1) {
             acquire(1);
         } else {
             acquire(2);
@@ -121,6 +249,50 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
         return this.scopes[targetAcquisitions];
     }
 
+    /**
+     * Acquires the given amount of permits from the underlying semaphore, honouring the current priority policy.
+     * Does not update the amount of locally acquired permits.
+     *
+     * @param permits The amount of permits to acquire
+     * @param interruptible Whether the acquisition should be aborted if the thread is interrupted
+     * @param timeoutNanos The maximum time to wait, 0 to not wait at all or a negative value to wait indefinitely
+     * @return True if the permits were acquired, false if the timeout elapsed
+     * @throws InterruptedException If the thread was interrupted while waiting and interruptible is true
+     */
+    private boolean acquirePermits(int permits, boolean interruptible, long timeoutNanos) throws InterruptedException {
+        if (this.priorityPolicy != LockPriorityPolicy.PREFER_SOFT_CONTROL) {
+            return this.acquireQueued(permits, interruptible, timeoutNanos);
+        }
+        if (permits >= this.totalPermits) {
+            return this.acquireDeferred(permits, interruptible, timeoutNanos);
+        }
+        if (super.tryAcquire(permits)) {
+            return true;
+        } else if (timeoutNanos == 0) {
+            return false;
+        }
+        this.softWaiters.incrementAndGet();
+        try {
+            return this.acquireQueued(permits, interruptible, timeoutNanos);
+        } finally {
+            this.softWaiters.decrementAndGet();
+            this.signalDeferred();
+        }
+    }
+
+    private boolean acquireQueued(int permits, boolean interruptible, long timeoutNanos) throws InterruptedException {
+        if (timeoutNanos == 0) {
+            return super.tryAcquire(permits);
+        } else if (timeoutNanos > 0) {
+            return super.tryAcquire(permits, timeoutNanos, TimeUnit.NANOSECONDS);
+        } else if (interruptible) {
+            super.acquire(permits);
+        } else {
+            super.acquireUninterruptibly(permits);
+        }
+        return true;
+    }
+
     @Override
     public void acquireSoftControl() throws InterruptedException {
         if (getLocalAcquisitions() > 0) {
@@ -142,12 +314,10 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
         if (DEBUG) {
             long debugId = DEBUG_ID_COUNTER.getAndIncrement();
             long start = System.currentTimeMillis();
-            super.acquireUninterruptibly();
-            acquisitions.get().increment();
+            this.acquireUninterruptibly0(1);
             writeDebug(debugId + ",ACQUIRE_HARD_ONE,1," + start+ "," + System.currentTimeMillis());
         } else {
-            super.acquireUninterruptibly();
-            acquisitions.get().increment();
+            this.acquireUninterruptibly0(1);
         }
     }
 
@@ -156,22 +326,69 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
         if (DEBUG) {
             long debugId = DEBUG_ID_COUNTER.getAndIncrement();
             long start = System.currentTimeMillis();
-            super.acquireUninterruptibly(permits);
-            acquisitions.get().increment(permits);
+            this.acquireUninterruptibly0(permits);
             writeDebug(debugId + ",ACQUIRE_HARD," + permits + "," + start+ "," + System.currentTimeMillis());
         } else {
-            super.acquireUninterruptibly(permits);
-            acquisitions.get().increment(permits);
+            this.acquireUninterruptibly0(permits);
+        }
+    }
+
+    private void acquireUninterruptibly0(int permits) {
+        try {
+            this.acquire0(permits, false, -1L);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Uninterruptible acquisition was interrupted", e);
         }
     }
 
+    /**
+     * Marks the start of a tick of the simulation loop, invalidating all optimistic reads until {@link #endTick()}
+     * is called. Calling this method while a tick is already in progress does nothing.
+     */
+    @ApiStatus.Internal
+    public void beginTick() {
+        if (this.tickInProgress.compareAndSet(false, true)) {
+            this.beginWrite();
+        }
+    }
+
+    private void beginWrite() {
+        this.activeWrites.incrementAndGet();
+        this.writeVersion.incrementAndGet();
+    }
+
+    private void checkHardControlAcquired(int localAcquisitions, int permits) {
+        if (localAcquisitions >= this.totalPermits && localAcquisitions - permits < this.totalPermits) {
+            this.hardHolder.set(Thread.currentThread());
+            this.beginWrite();
+        }
+    }
+
+    /**
+     * Marks the end of a tick of the simulation loop. Calling this method while no tick is in progress does nothing.
+     */
+    @ApiStatus.Internal
+    public void endTick() {
+        if (this.tickInProgress.compareAndSet(true, false)) {
+            this.endWrite();
+        }
+    }
+
+    private void endWrite() {
+        // Incrementing the version before decrementing the count means that a stamp obtained after the count was
+        // decremented already contains the final version
+        this.writeVersion.incrementAndGet();
+        this.activeWrites.decrementAndGet();
+    }
+
     /**
      * Force the release of a given amounts of permits, ignoring how many permits are held by the executing thread.
      *
      * <p>This method is inherently unsafe and needs to be used with utter caution. Appropriate usecases are when releasing
      * permits on behalf of another thread - for example in the case of a thread death.
      *
-     * <p>This method behaves identically to {@link Semaphore#release(int)}.
+     * <p>This method behaves identically to {@link Semaphore#release(int)}, except that if a thread held hard control
+     * it is considered to no longer do so for the purpose of optimistic reads.
      *
      * @param permits The amounts of permits to release.
      * @since 2.0.0
@@ -180,6 +397,11 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
     @ApiStatus.Internal
     public void forceRelease(int permits) {
         super.release(permits);
+        Thread holder = this.hardHolder.get();
+        if (holder != null && this.hardHolder.compareAndSet(holder, null)) {
+            this.endWrite();
+        }
+        this.signalDeferred();
     }
 
     @Override
@@ -187,27 +409,51 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
         return super.availablePermits();
     }
 
+    @Override
+    @NotNull
+    public Collection<@NotNull LockContentionStatistics> getContentionStatistics() {
+        return this.profiler.getStatistics();
+    }
+
     @Override
     public int getLocalAcquisitions() {
         return acquisitions.get().getValue();
     }
 
+    @Override
+    @NotNull
+    public LockPriorityPolicy getPriorityPolicy() {
+        return this.priorityPolicy;
+    }
+
+    @Override
+    public boolean isContentionProfilingEnabled() {
+        return this.profiler.isEnabled();
+    }
+
     @Override
     public void release() {
-        if (acquisitions.get().getValue() < 1) {
-            throw new IllegalMonitorStateException("This thread has no control over the semaphore");
-        }
-        super.release();
-        acquisitions.get().decrement();
+        this.release(1);
     }
 
     @Override
     public void release(int permits) {
-        if (acquisitions.get().getValue() < permits) {
+        MutableInteger localAcquisitions = this.acquisitions.get();
+        if (localAcquisitions.getValue() < permits) {
+            if (permits == 1) {
+                throw new IllegalMonitorStateException("This thread has no control over the semaphore");
+            }
             throw new IllegalMonitorStateException("This thread has insufficent control over the semaphore");
         }
         super.release(permits);
-        acquisitions.get().decrement(permits);
+        localAcquisitions.decrement(permits);
+        if (localAcquisitions.getValue() < this.totalPermits && this.hardHolder.compareAndSet(Thread.currentThread(), null)) {
+            this.endWrite();
+        }
+        if (localAcquisitions.getValue() == 0 && this.profiler.isEnabled()) {
+            this.profiler.endHold();
+        }
+        this.signalDeferred();
     }
 
     @Override
@@ -221,50 +467,66 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
     }
 
     @Override
-    public boolean tryAcquire() {
-        if (super.tryAcquire()) {
-            acquisitions.get().increment();
-            return true;
-        } else {
-            return false;
+    public void resetContentionStatistics() {
+        this.profiler.reset();
+    }
+
+    @Override
+    public void setContentionProfilingEnabled(boolean enabled) {
+        this.profiler.setEnabled(enabled);
+    }
+
+    @Override
+    public void setPriorityPolicy(@NotNull LockPriorityPolicy policy) {
+        this.priorityPolicy = Objects.requireNonNull(policy, "policy may not be null");
+        // Deferred acquisitions need to recheck whether they may still acquire permits
+        this.signalDeferred();
+    }
+
+    /**
+     * Wakes up all deferred hard acquisitions so that they check whether they can acquire their permits.
+     */
+    private void signalDeferred() {
+        if (this.deferredWaiters.get() != 0) {
+            this.deferredLock.lock();
+            try {
+                this.permitsReleased.signalAll();
+            } finally {
+                this.deferredLock.unlock();
+            }
         }
     }
 
+    @Override
+    public boolean tryAcquire() {
+        return this.tryAcquire(1);
+    }
+
     @Override
     public boolean tryAcquire(int permits) {
-        if (super.tryAcquire(permits)) {
-            acquisitions.get().increment(permits);
-            return true;
-        } else {
-            return false;
+        try {
+            return this.acquire0(permits, false, 0L);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Non-blocking acquisition was interrupted", e);
         }
     }
 
     @Override
     public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
-        if (super.tryAcquire(permits, timeout, unit)) {
-            acquisitions.get().increment(permits);
-            return true;
-        } else {
-            return false;
-        }
+        return this.acquire0(permits, true, Math.max(0L, unit.toNanos(timeout)));
     }
 
     @Override
     public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
-        if (super.tryAcquire(timeout, unit)) {
-            acquisitions.get().increment();
-            return true;
-        } else {
-            return false;
-        }
+        return this.tryAcquire(1, timeout, unit);
     }
 
     @Override
     public boolean tryAcquireHardControl() {
-        if (getLocalAcquisitions() == 2) {
+        int localAcquisitions = this.getLocalAcquisitions();
+        if (localAcquisitions == 2) {
             return true;
-        } else if (getLocalAcquisitions() == 1) {
+        } else if (localAcquisitions == 1) {
             return tryAcquire(1);
         } else {
             return tryAcquire(2);
@@ -279,4 +541,19 @@ public class SemaphoreLoopLock extends Semaphore implements TickLoopLock {
             return tryAcquire(1);
         }
     }
+
+    @Override
+    public long tryOptimisticRead() {
+        if (this.activeWrites.get() != 0) {
+            return 0L;
+        }
+        return this.writeVersion.get();
+    }
+
+    @Override
+    public boolean validate(long stamp) {
+        // Plain reads performed by the caller must not be reordered after the checks below
+        JavaInterop.loadFence();
+        return stamp != 0L && this.activeWrites.get() == 0 && this.writeVersion.get() == stamp;
+    }
 }
@@ -0,0 +1,49 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+
+import de.geolykt.starloader.api.utils.ComputeScheduler;
+
+/**
+ * A {@link ComputeScheduler} that processes all jobs on the calling thread in ascending order of their indices.
+ * As nothing depends on the scheduling of threads, jobs yield the same result on every run, which is meant for
+ * reproducible simulations and for debugging.
+ */
+public final class SequentialComputeScheduler implements ComputeScheduler {
+
+    @Override
+    public void execute(@NotNull Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void forEach(int start, int end, @NotNull RangeAction action) {
+        if (end < start) {
+            throw new IllegalArgumentException("end (" + end + ") is smaller than start (" + start + ")");
+        }
+        if (start != end) {
+            action.run(start, end);
+        }
+    }
+
+    @Override
+    public int getParallelism() {
+        return 1;
+    }
+
+    @Override
+    @NotNull
+    public <R> R reduce(int start, int end, @NotNull Supplier<@NotNull R> supplier, @NotNull RangeAccumulator<R> accumulator, @NotNull BinaryOperator<@NotNull R> combiner) {
+        if (end < start) {
+            throw new IllegalArgumentException("end (" + end + ") is smaller than start (" + start + ")");
+        }
+        R container = supplier.get();
+        if (start != end) {
+            accumulator.accumulate(container, start, end);
+        }
+        return container;
+    }
+}
@@ -0,0 +1,26 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Vector;
+
+import org.jetbrains.annotations.NotNull;
+
+import de.geolykt.starloader.api.empire.Star;
+
+/**
+ * An interface implemented by galimulator's star class that allows to replace the neighbours of a star without
+ * updating the {@link CompactStarlaneGraph}. It is meant for bulk operations such as loading a savegame, after
+ * which the graph should be invalidated once instead of being updated for every single star.
+ *
+ * @since 2.0.0
+ */
+public interface StarNeighbourHolder {
+
+    /**
+     * Sets the neighbours of the star like {@link Star#setNeighbours(Vector)}, but without updating the starlane graph.
+     * This method only touches the star itself and can thus be called for different stars concurrently.
+     *
+     * @param neighbours The new neighbours of the star
+     * @since 2.0.0
+     */
+    public void setNeighboursRaw(@NotNull Vector<Star> neighbours);
+}
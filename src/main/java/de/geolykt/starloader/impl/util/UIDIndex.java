@@ -0,0 +1,151 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Vector;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A maintained index that maps the UIDs of the elements of one of the vectors of the game (such as the vector of
+ * stars) to the element, using an {@link IntObjectTable} that maps each UID to the position of the
+ * element within the vector.
+ *
+ * <p>As the vectors of the game are modified by the game itself without any means of observing these modifications,
+ * the index validates every hit against the live vector: a lookup only succeeds if the element at the indexed
+ * position still has the requested UID. The index is rebuilt if that check fails (which happens after an element
+ * was removed, shifting the subsequent elements), if the vector was replaced or if the size or the last element
+ * of the vector changed since the index was built (which happens whenever an element was created and added).
+ * Rebuilding the index is an O(n) operation which is performed at most once per modification, while all other
+ * lookups are O(1) and do not allocate. Replacing an element in place (for example through
+ * {@link Vector#set(int, Object)}) is not detected, so code that does so or that replaces the vector should
+ * call {@link #invalidate()}.
+ *
+ * @param <T> The type of the indexed elements
+ * @since 2.0.0
+ */
+public final class UIDIndex<T> {
+
+    /**
+     * An immutable snapshot of the positions of the elements of a vector at the time the snapshot was created.
+     */
+    private static final class Snapshot {
+        @NotNull
+        private final IntObjectTable<Integer> entries;
+        @NotNull
+        private final VectorFingerprint fingerprint;
+        private final int @NotNull[] positions;
+
+        private Snapshot(@NotNull VectorFingerprint fingerprint, @NotNull IntObjectTable<Integer> entries, int @NotNull[] positions) {
+            this.fingerprint = fingerprint;
+            this.entries = entries;
+            this.positions = positions;
+        }
+
+        /**
+         * Obtains the position of the element with the given UID at the time the snapshot was created.
+         *
+         * @param uid The UID of the element
+         * @return The position of the element, or -1 if there was no such element
+         */
+        private int positionOf(int uid) {
+            Integer entry = this.entries.get(uid);
+            return entry == null ? -1 : this.positions[entry.intValue()];
+        }
+    }
+
+    @NotNull
+    private static final Snapshot EMPTY_SNAPSHOT = new Snapshot(VectorFingerprint.NONE, IntObjectTable.buildIndex(new int[0], 0), new int[0]);
+
+    @NotNull
+    private final ToIntFunction<? super T> keyFunction;
+    @NotNull
+    private volatile Snapshot snapshot = UIDIndex.EMPTY_SNAPSHOT;
+    @NotNull
+    private final Supplier<@Nullable Vector<? extends T>> source;
+
+    /**
+     * Creates a new index.
+     *
+     * @param source The supplier of the vector whose elements are indexed, which is queried on every lookup in order
+     * to detect the vector being replaced
+     * @param keyFunction The function that obtains the UID of an element
+     */
+    public UIDIndex(@NotNull Supplier<@Nullable Vector<? extends T>> source, @NotNull ToIntFunction<? super T> keyFunction) {
+        this.source = source;
+        this.keyFunction = keyFunction;
+    }
+
+    @Nullable
+    private T find(@NotNull Vector<? extends T> vector, @NotNull Snapshot snapshot, int uid) {
+        int position = snapshot.positionOf(uid);
+        if (position == -1 || position >= vector.size()) {
+            return null;
+        }
+        T element = vector.get(position);
+        if (element == null || this.keyFunction.applyAsInt(element) != uid) {
+            return null;
+        }
+        return element;
+    }
+
+    /**
+     * Obtains the element with the given UID.
+     *
+     * @param uid The UID of the element
+     * @return The element with the given UID, or null if the vector does not contain such an element
+     * @since 2.0.0
+     */
+    @Nullable
+    public T get(int uid) {
+        Vector<? extends T> vector = this.source.get();
+        if (vector == null) {
+            return null;
+        }
+        synchronized (vector) {
+            Snapshot snapshot = this.snapshot;
+            if (snapshot.fingerprint.matches(vector)) {
+                T element = this.find(vector, snapshot, uid);
+                if (element != null || snapshot.positionOf(uid) == -1) {
+                    return element;
+                }
+                // The element was moved or removed
+            }
+            return this.find(vector, this.rebuild(vector), uid);
+        }
+    }
+
+    /**
+     * Discards the index, causing it to be rebuilt on the next lookup.
+     *
+     * @since 2.0.0
+     */
+    public void invalidate() {
+        this.snapshot = UIDIndex.EMPTY_SNAPSHOT;
+    }
+
+    /**
+     * Rebuilds the index. Must be called while the monitor of the vector is held.
+     *
+     * @param vector The vector to index
+     * @return The new snapshot of the vector
+     */
+    @NotNull
+    private Snapshot rebuild(@NotNull Vector<? extends T> vector) {
+        int size = vector.size();
+        int[] uids = new int[size];
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            T element = vector.get(i);
+            if (element != null) {
+                uids[count] = this.keyFunction.applyAsInt(element);
+                positions[count++] = i;
+            }
+        }
+        Snapshot snapshot = new Snapshot(VectorFingerprint.of(vector), IntObjectTable.buildIndex(uids, count), positions);
+        this.snapshot = snapshot;
+        return snapshot;
+    }
+}
@@ -0,0 +1,66 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.Vector;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The identity, size and last element of one of the vectors of the game at the time an index over the vector was built.
+ *
+ * <p>The vectors of the game are modified by the game itself without any means of observing these modifications.
+ * Elements are however almost exclusively appended to or removed from the vectors, which changes either the size
+ * or the last element of a vector. Indices such as the {@link UIDIndex} thus compare the vector against the fingerprint
+ * before they are accessed and are rebuilt if the fingerprint no longer matches.
+ */
+final class VectorFingerprint {
+
+    /**
+     * A fingerprint that does not match any vector, used for indices that were never built or were invalidated.
+     * It does however match the absence of a vector.
+     */
+    @NotNull
+    static final VectorFingerprint NONE = new VectorFingerprint(null, -1, null);
+
+    /**
+     * Creates the fingerprint of a vector. Must be called while the monitor of the vector is held.
+     *
+     * @param vector The vector, or null if there is no vector
+     * @return The fingerprint of the vector
+     */
+    @NotNull
+    static VectorFingerprint of(@Nullable Vector<?> vector) {
+        if (vector == null) {
+            return VectorFingerprint.NONE;
+        }
+        int size = vector.size();
+        return new VectorFingerprint(vector, size, size == 0 ? null : vector.get(size - 1));
+    }
+
+    @Nullable
+    private final Object last;
+    private final int size;
+    @Nullable
+    private final Vector<?> vector;
+
+    private VectorFingerprint(@Nullable Vector<?> vector, int size, @Nullable Object last) {
+        this.vector = vector;
+        this.size = size;
+        this.last = last;
+    }
+
+    /**
+     * Checks whether the vector is unchanged since the fingerprint was created.
+     * Must be called while the monitor of the vector is held.
+     *
+     * @param vector The vector to compare against, or null if there is no vector
+     * @return True if the vector matches the fingerprint, false if indices over the vector need to be rebuilt
+     */
+    boolean matches(@Nullable Vector<?> vector) {
+        if (vector == null || this.vector != vector) {
+            return this.vector == vector;
+        }
+        int size = vector.size();
+        return this.size == size && (size == 0 || this.last == vector.get(size - 1));
+    }
+}
@@ -0,0 +1,270 @@
+package de.geolykt.starloader.impl.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import de.geolykt.starloader.api.utils.ComputeScheduler;
+
+/**
+ * The default {@link ComputeScheduler}, which is backed by a lazily created {@link ForkJoinPool} of daemon threads.
+ *
+ * <p>A range job is not split into tasks upfront. Instead the submitting thread and up to one helper per worker
+ * thread claim chunks from a shared cursor until the range is exhausted, so threads that finish early simply claim
+ * more chunks. The chunks are sized through guided self-scheduling: every claimed chunk covers a fraction of the
+ * remaining indices, so the chunks are large at first and shrink towards the end of the range, which balances
+ * the load between the threads without requiring many claims. Each participating thread accumulates into a
+ * single container of its own, so the only allocations of a job are the job itself, the containers and the
+ * submission of the helpers to the pool.
+ */
+public final class WorkStealingComputeScheduler implements ComputeScheduler {
+
+    private static final class RangeJob<R> implements Runnable {
+
+        /**
+         * The value of {@link #participants} once the submitting thread has finished processing.
+         * The lower bits still count the helpers that are processing chunks.
+         */
+        private static final int CLOSED = Integer.MIN_VALUE;
+
+        @NotNull
+        private final RangeAccumulator<R> accumulator;
+        @NotNull
+        private final BinaryOperator<@NotNull R> combiner;
+        @NotNull
+        private final AtomicInteger cursor;
+        private final int divisor;
+        private final int end;
+        @Nullable
+        private volatile Throwable failure;
+        private final int minChunkSize;
+        @NotNull
+        private final AtomicInteger participants = new AtomicInteger();
+        @Nullable
+        private R result;
+        @NotNull
+        private final Supplier<@NotNull R> supplier;
+        @NotNull
+        private final Thread submitter = Thread.currentThread();
+
+        private RangeJob(int start, int end, int parallelism, @NotNull Supplier<@NotNull R> supplier,
+                @NotNull RangeAccumulator<R> accumulator, @NotNull BinaryOperator<@NotNull R> combiner) {
+            this.cursor = new AtomicInteger(start);
+            this.end = end;
+            this.divisor = parallelism * 2;
+            this.minChunkSize = Math.max(1, (end - start) / (parallelism * MAX_CHUNKS_PER_THREAD));
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        private int getChunkSize(int chunkStart) {
+            int remaining = this.end - chunkStart;
+            return Math.min(remaining, Math.max(this.minChunkSize, remaining / this.divisor));
+        }
+
+        /**
+         * Processes chunks until the range is exhausted and merges the container of the calling thread
+         * into the result.
+         */
+        private void process() {
+            R container = null;
+            try {
+                while (true) {
+                    int chunkStart = this.cursor.get();
+                    if (chunkStart >= this.end) {
+                        break;
+                    }
+                    int chunkEnd = chunkStart + this.getChunkSize(chunkStart);
+                    if (!this.cursor.compareAndSet(chunkStart, chunkEnd)) {
+                        continue;
+                    }
+                    if (container == null) {
+                        container = this.supplier.get();
+                    }
+                    this.accumulator.accumulate(container, chunkStart, chunkEnd);
+                }
+                if (container != null) {
+                    synchronized (this) {
+                        R result = this.result;
+                        this.result = result == null ? container : this.combiner.apply(result, container);
+                    }
+                }
+            } catch (Throwable t) {
+                synchronized (this) {
+                    if (this.failure == null) {
+                        this.failure = t;
+                    }
+                }
+                // Skip the remaining chunks
+                this.cursor.set(this.end);
+            }
+        }
+
+        @Override
+        public void run() {
+            int count;
+            do {
+                count = this.participants.get();
+                if (count < 0) {
+                    // The submitting thread has already processed the entire range
+                    return;
+                }
+            } while (!this.participants.compareAndSet(count, count + 1));
+
+            try {
+                this.process();
+            } finally {
+                if (this.participants.decrementAndGet() == CLOSED) {
+                    LockSupport.unpark(this.submitter);
+                }
+            }
+        }
+
+        @NotNull
+        private R join() {
+            this.process();
+            if (this.participants.getAndAdd(CLOSED) != 0) {
+                while (this.participants.get() != CLOSED) {
+                    LockSupport.park(this);
+                }
+            }
+
+            Throwable failure = this.failure;
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new RuntimeException(failure);
+            }
+            synchronized (this) {
+                R result = this.result;
+                return result == null ? this.supplier.get() : result;
+            }
+        }
+    }
+
+    /**
+     * The amount of chunks of the minimum size that a range job would be split into per thread.
+     * The minimum chunk size bounds the amount of claims towards the end of a range.
+     */
+    private static final int MAX_CHUNKS_PER_THREAD = 16;
+
+    private static void checkRange(int start, int end) {
+        if (end < start) {
+            throw new IllegalArgumentException("end (" + end + ") is smaller than start (" + start + ")");
+        }
+    }
+
+    private final int parallelism;
+
+    @Nullable
+    private volatile ForkJoinPool pool;
+
+    private final int workerThreads;
+
+    /**
+     * Creates a scheduler with one worker thread less than there are available processors, as the thread that submits
+     * a range job takes part in processing it.
+     */
+    public WorkStealingComputeScheduler() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Creates a scheduler with a fixed amount of worker threads. The threads are only started once needed.
+     * Range jobs are processed by the submitting thread alone if only a single processor is available.
+     *
+     * @param workerThreads The amount of worker threads, at least 1
+     */
+    public WorkStealingComputeScheduler(int workerThreads) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is required");
+        }
+        this.workerThreads = workerThreads;
+        // On a single processor the worker threads could only take turns with the submitting thread
+        this.parallelism = Runtime.getRuntime().availableProcessors() == 1 ? 1 : workerThreads + 1;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable task) {
+        this.getPool().execute(task);
+    }
+
+    @Override
+    public void forEach(int start, int end, @NotNull RangeAction action) {
+        this.reduce(start, end, () -> Boolean.TRUE, (container, chunkStart, chunkEnd) -> action.run(chunkStart, chunkEnd), (a, b) -> a);
+    }
+
+    /**
+     * Obtains the amount of helpers that are submitted to the pool for a range job, which is limited by the
+     * amount of worker threads and the amount of chunks.
+     *
+     * @param length The length of the range
+     * @return The amount of helpers, 0 if the range should be processed by the submitting thread alone
+     */
+    private int getHelperCount(int length) {
+        if (this.parallelism == 1) {
+            return 0;
+        }
+        int minChunkSize = Math.max(1, length / (this.parallelism * MAX_CHUNKS_PER_THREAD));
+        return Math.min(this.workerThreads, (length - 1) / minChunkSize);
+    }
+
+    @Override
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    @NotNull
+    private ForkJoinPool getPool() {
+        ForkJoinPool pool = this.pool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = this.pool;
+                if (pool == null) {
+                    AtomicInteger threadCount = new AtomicInteger();
+                    pool = new ForkJoinPool(this.workerThreads, (forkJoinPool) -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                        thread.setName("SLAPI-Compute-Worker-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, (thread, t) -> {
+                        LoggerFactory.getLogger(WorkStealingComputeScheduler.class).error("Uncaught exception in compute task", t);
+                    }, false);
+                    this.pool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    @Override
+    @NotNull
+    public <R> R reduce(int start, int end, @NotNull Supplier<@NotNull R> supplier, @NotNull RangeAccumulator<R> accumulator, @NotNull BinaryOperator<@NotNull R> combiner) {
+        checkRange(start, end);
+        int helpers = this.getHelperCount(end - start);
+        if (helpers == 0) {
+            R container = supplier.get();
+            if (start != end) {
+                accumulator.accumulate(container, start, end);
+            }
+            return container;
+        }
+
+        RangeJob<R> job = new RangeJob<>(start, end, this.getParallelism(), supplier, accumulator, combiner);
+        ForkJoinPool pool = this.getPool();
+        for (int i = 0; i < helpers; i++) {
+            pool.execute(job);
+        }
+        return job.join();
+    }
+}
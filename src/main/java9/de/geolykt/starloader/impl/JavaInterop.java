@@ -3,8 +3,10 @@ package de.geolykt.starloader.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.AccessibleObject;
 import java.util.Arrays;
+import java.util.function.Predicate;
 
 /**
  * Abstraction layer for methods that exist in future (i.e. Java 9+) versions of Java
@@ -16,6 +18,8 @@ import java.util.Arrays;
  */
 public final class JavaInterop {
 
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
     public static final boolean canAccess(AccessibleObject subject, Object accessedInstance) {
         return subject.canAccess(accessedInstance);
     }
@@ -24,6 +28,14 @@ public final class JavaInterop {
         return Arrays.equals(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
     }
 
+    public static final String getCallSite(Predicate<String> skippedClasses) {
+        return JavaInterop.STACK_WALKER.walk((frames) -> frames
+                .filter((frame) -> !frame.getClassName().equals(JavaInterop.class.getName()) && !skippedClasses.test(frame.getClassName()))
+                .findFirst()
+                .map((frame) -> frame.toStackTraceElement().toString())
+                .orElse("unknown"));
+    }
+
     /**
      * Obtains the Java version this interoperability layer was made for.
      * Note that the selected release can differ from the actually used java version - for example
@@ -37,6 +49,10 @@ public final class JavaInterop {
         return 9;
     }
 
+    public static final void loadFence() {
+        VarHandle.acquireFence();
+    }
+
     public static final int mismatch(byte[] a, byte[] b) {
         return Arrays.mismatch(a, b);
     }
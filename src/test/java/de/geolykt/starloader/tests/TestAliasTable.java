@@ -0,0 +1,95 @@
+package de.geolykt.starloader.tests;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.geolykt.starloader.impl.util.AliasTable;
+
+/**
+ * Checks that the {@link AliasTable} samples indices according to its weights.
+ */
+public class TestAliasTable {
+
+    private static final int SAMPLES = 1_000_000;
+
+    private static int[] sample(float[] weights, long seed) {
+        AliasTable table = new AliasTable(weights);
+        Random random = new Random(seed);
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[table.sample(random)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Checks whether the frequencies of the sampled indices match the normalised weights.
+     */
+    @Test
+    public void testFrequencies() {
+        float[] weights = {1F, 2F, 3F, 4F, 0.5F, 10F};
+        float sum = 0F;
+        for (float weight : weights) {
+            sum += weight;
+        }
+        int[] counts = sample(weights, 42L);
+        for (int i = 0; i < weights.length; i++) {
+            double expected = weights[i] / sum;
+            double actual = counts[i] / (double) SAMPLES;
+            // Roughly five standard deviations of the binomial distribution of the count
+            double tolerance = 5D * Math.sqrt(expected * (1D - expected) / SAMPLES);
+            Assert.assertEquals("Frequency of index " + i, expected, actual, tolerance);
+        }
+    }
+
+    /**
+     * Checks whether a single weight always yields its index.
+     */
+    @Test
+    public void testSingleWeight() {
+        AliasTable table = new AliasTable(new float[] {0.25F});
+        Assert.assertEquals(1, table.size());
+        Random random = new Random(0L);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(0, table.sample(random));
+        }
+    }
+
+    /**
+     * Checks whether indices with a weight of zero are never sampled.
+     */
+    @Test
+    public void testZeroWeightsNeverDrawn() {
+        float[] weights = {0F, 1F, 0F, 0F, 3F, 0F};
+        int[] counts = sample(weights, 1337L);
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == 0F) {
+                Assert.assertEquals("Samples of zero-weight index " + i, 0, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Checks whether invalid weights are rejected.
+     */
+    @Test
+    public void testInvalidWeights() {
+        float[][] invalid = {
+            {},
+            {0F, 0F},
+            {1F, -1F},
+            {1F, Float.NaN},
+            {1F, Float.POSITIVE_INFINITY}
+        };
+        for (float[] weights : invalid) {
+            try {
+                new AliasTable(weights);
+            } catch (IllegalArgumentException expected) {
+                continue;
+            }
+            Assert.fail("Weights of length " + weights.length + " were not rejected");
+        }
+    }
+}
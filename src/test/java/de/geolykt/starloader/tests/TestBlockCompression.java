@@ -0,0 +1,163 @@
+package de.geolykt.starloader.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.geolykt.starloader.impl.util.BlockCodec;
+import de.geolykt.starloader.impl.util.BlockCompressingOutputStream;
+import de.geolykt.starloader.impl.util.BlockDecompressingInputStream;
+
+/**
+ * Checks that data written through the {@link BlockCompressingOutputStream} can be read again through the
+ * {@link BlockDecompressingInputStream} and that corrupt data is rejected.
+ */
+public class TestBlockCompression {
+
+    private static final int BLOCK_SIZE = 4096;
+
+    private static byte[] compress(byte[] data, BlockCodec codec, ExecutorService executor) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BlockCompressingOutputStream blockOut = new BlockCompressingOutputStream(out, codec, BLOCK_SIZE, executor, 4)) {
+            // Mix single byte and bulk writes so that writes straddle the boundaries of the blocks
+            int written = 0;
+            Random random = new Random(data.length);
+            while (written < data.length) {
+                if (random.nextInt(8) == 0) {
+                    blockOut.write(data[written++]);
+                } else {
+                    int length = Math.min(data.length - written, random.nextInt(BLOCK_SIZE * 3));
+                    blockOut.write(data, written, length);
+                    written += length;
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed, BlockCodec codec, ExecutorService executor) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new BlockDecompressingInputStream(new ByteArrayInputStream(compressed), codec, BLOCK_SIZE, executor, 4)) {
+            byte[] buffer = new byte[1000];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Generates data that is partially compressible and partially random.
+     */
+    private static byte[] generateData(int length) {
+        byte[] data = new byte[length];
+        Random random = new Random(length);
+        for (int i = 0; i < length; i++) {
+            data[i] = (i / 1024) % 2 == 0 ? (byte) (i % 7) : (byte) random.nextInt();
+        }
+        return data;
+    }
+
+    private static void roundTrip(BlockCodec codec) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int length : new int[] {0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1, BLOCK_SIZE * 10 + 17}) {
+                byte[] data = generateData(length);
+                byte[] compressed = compress(data, codec, executor);
+                Assert.assertArrayEquals(codec + " round trip of " + length + " bytes", data, decompress(compressed, codec, executor));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Checks whether a corrupted checksum of a block is detected.
+     */
+    @Test
+    public void testBadChecksumRejected() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            byte[] compressed = compress(generateData(BLOCK_SIZE * 3), BlockCodec.DEFLATE, executor);
+            // The checksum of the first block follows its uncompressed and compressed length
+            compressed[8] ^= 0x10;
+            try {
+                decompress(compressed, BlockCodec.DEFLATE, executor);
+            } catch (IOException expected) {
+                return;
+            }
+            Assert.fail("The corrupted checksum was not detected");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Checks whether empty input is written as the terminating block header only.
+     */
+    @Test
+    public void testEmptyInput() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            byte[] compressed = compress(new byte[0], BlockCodec.DEFLATE, executor);
+            Assert.assertArrayEquals(new byte[4], compressed);
+            Assert.assertEquals(0, decompress(compressed, BlockCodec.DEFLATE, executor).length);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Checks whether blocks compressed with {@link BlockCodec#DEFLATE} can be read again.
+     */
+    @Test
+    public void testRoundTripDeflate() throws IOException {
+        roundTrip(BlockCodec.DEFLATE);
+    }
+
+    /**
+     * Checks whether blocks compressed with {@link BlockCodec#DEFLATE_FAST} can be read again.
+     */
+    @Test
+    public void testRoundTripDeflateFast() throws IOException {
+        roundTrip(BlockCodec.DEFLATE_FAST);
+    }
+
+    /**
+     * Checks whether blocks stored with {@link BlockCodec#STORED} can be read again.
+     */
+    @Test
+    public void testRoundTripStored() throws IOException {
+        roundTrip(BlockCodec.STORED);
+    }
+
+    /**
+     * Checks whether a stream that ends within a block or before the terminating block header is rejected.
+     */
+    @Test
+    public void testTruncatedBlockRejected() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            byte[] compressed = compress(generateData(BLOCK_SIZE * 3), BlockCodec.DEFLATE_FAST, executor);
+            for (int length : new int[] {compressed.length / 2, 14, compressed.length - 4}) {
+                try {
+                    decompress(Arrays.copyOf(compressed, length), BlockCodec.DEFLATE_FAST, executor);
+                } catch (EOFException expected) {
+                    continue;
+                }
+                Assert.fail("The stream truncated to " + length + " of " + compressed.length + " bytes was not rejected");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
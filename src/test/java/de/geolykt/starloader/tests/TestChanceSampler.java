@@ -0,0 +1,84 @@
+package de.geolykt.starloader.tests;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.geolykt.starloader.impl.util.ChanceSampler;
+
+/**
+ * Checks that the {@link ChanceSampler} picks no option with the same probability as rolling the chance
+ * of every option in turn, which is how fallback actors are spawned.
+ */
+public class TestChanceSampler {
+
+    private static final int SAMPLES = 1_000_000;
+
+    private static void assertProbability(String message, double expected, int hits) {
+        double tolerance = 5D * Math.sqrt(expected * (1D - expected) / SAMPLES) + 1e-9D;
+        Assert.assertEquals(message, expected, hits / (double) SAMPLES, tolerance);
+    }
+
+    /**
+     * Checks whether no option is picked with the probability of all chance rolls failing
+     * if every option is accepted.
+     */
+    @Test
+    public void testNoneChance() {
+        float[] chances = {0.3F, 0.5F, 0.1F};
+        ChanceSampler sampler = new ChanceSampler(chances);
+        double expectedNone = (1D - 0.3F) * (1D - 0.5F) * (1D - 0.1F);
+        Assert.assertEquals(expectedNone, sampler.getNoneChance(), 1e-9D);
+
+        Random random = new Random(7L);
+        int none = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            if (sampler.select(random, (index) -> index) == null) {
+                none++;
+            }
+        }
+        assertProbability("Probability of no option being picked", expectedNone, none);
+    }
+
+    /**
+     * Checks whether refusing an option keeps the probability of no option being picked equal to the product of
+     * the failure chances of the options that would have been accepted.
+     */
+    @Test
+    public void testNoneChanceWithRefusedOptions() {
+        float[] chances = {0.6F, 0.2F, 0.4F, 0.05F};
+        ChanceSampler sampler = new ChanceSampler(chances);
+        // Options 0 and 3 are always refused, for example because their star requirements are not met
+        double expectedNone = (1D - 0.2F) * (1D - 0.4F);
+
+        Random random = new Random(99L);
+        int none = 0;
+        int[] picks = new int[chances.length];
+        for (int i = 0; i < SAMPLES; i++) {
+            Integer picked = sampler.select(random, (index) -> index == 0 || index == 3 ? null : index);
+            if (picked == null) {
+                none++;
+            } else {
+                picks[picked]++;
+            }
+        }
+        assertProbability("Probability of no option being picked", expectedNone, none);
+        Assert.assertEquals("Picks of refused option 0", 0, picks[0]);
+        Assert.assertEquals("Picks of refused option 3", 0, picks[3]);
+    }
+
+    /**
+     * Checks whether nothing is picked if all options are refused, and whether an option with a certain chance
+     * is always picked if it is the only option that is accepted.
+     */
+    @Test
+    public void testAllRefusedAndCertainOption() {
+        ChanceSampler sampler = new ChanceSampler(new float[] {0.5F, 1F, 0.25F});
+        Random random = new Random(3L);
+        for (int i = 0; i < 10_000; i++) {
+            Assert.assertNull(sampler.select(random, (index) -> null));
+            Assert.assertEquals(Integer.valueOf(1), sampler.select(random, (index) -> index == 1 ? index : null));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.geolykt.starloader.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.geolykt.starloader.impl.util.ChunkedInputStream;
+import de.geolykt.starloader.impl.util.ChunkedOutputStream;
+
+/**
+ * Checks that data written through the {@link ChunkedOutputStream}, which is used to store the metadata entries
+ * of savegames, can be read again through the {@link ChunkedInputStream}.
+ */
+public class TestChunkedStreams {
+
+    private static final int CHUNK_SIZE = 256;
+
+    private static byte[] generateData(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[100];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] write(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ChunkedOutputStream chunkedOut = new ChunkedOutputStream(out, CHUNK_SIZE)) {
+            // Mix single byte, small and oversized writes so that all paths of the stream are used
+            int written = 0;
+            Random random = new Random(data.length);
+            while (written < data.length) {
+                if (random.nextInt(8) == 0) {
+                    chunkedOut.write(data[written++]);
+                } else {
+                    int length = Math.min(data.length - written, random.nextInt(CHUNK_SIZE * 3));
+                    chunkedOut.write(data, written, length);
+                    written += length;
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Checks whether data can be read again and whether the reader stops at the end of the sequence.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (int length : new int[] {0, 1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, CHUNK_SIZE * 20 + 3}) {
+            byte[] data = generateData(length);
+            byte[] written = write(data);
+            // Data that follows the sequence must not be consumed
+            byte[] trailed = Arrays.copyOf(written, written.length + 1);
+            trailed[written.length] = 42;
+            ByteArrayInputStream in = new ByteArrayInputStream(trailed);
+            Assert.assertArrayEquals("Round trip of " + length + " bytes", data, readFully(new ChunkedInputStream(in)));
+            Assert.assertEquals(42, in.read());
+        }
+    }
+
+    /**
+     * Checks whether empty input is written as the terminating chunk only.
+     */
+    @Test
+    public void testEmptyInput() throws IOException {
+        Assert.assertArrayEquals(new byte[] {0}, write(new byte[0]));
+    }
+
+    /**
+     * Checks whether closing the reader positions the underlying stream directly after the sequence.
+     */
+    @Test
+    public void testSkipToEnd() throws IOException {
+        byte[] written = write(generateData(CHUNK_SIZE * 5));
+        byte[] trailed = Arrays.copyOf(written, written.length + 1);
+        trailed[written.length] = 42;
+        ByteArrayInputStream in = new ByteArrayInputStream(trailed);
+        try (ChunkedInputStream chunkedIn = new ChunkedInputStream(in)) {
+            chunkedIn.read(new byte[CHUNK_SIZE + 10]);
+        }
+        Assert.assertEquals(42, in.read());
+    }
+
+    /**
+     * Checks whether a stream that ends within a chunk or before the terminating chunk is rejected.
+     */
+    @Test
+    public void testTruncatedChunkRejected() throws IOException {
+        byte[] written = write(generateData(CHUNK_SIZE * 3));
+        for (int length : new int[] {written.length / 2, 3, written.length - 1}) {
+            try {
+                readFully(new ChunkedInputStream(new ByteArrayInputStream(Arrays.copyOf(written, length))));
+            } catch (EOFException expected) {
+                continue;
+            }
+            Assert.fail("The sequence truncated to " + length + " of " + written.length + " bytes was not rejected");
+        }
+    }
+}
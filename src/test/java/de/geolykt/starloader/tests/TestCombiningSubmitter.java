@@ -0,0 +1,133 @@
+package de.geolykt.starloader.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.geolykt.starloader.impl.util.CombiningSubmitter;
+
+/**
+ * Checks the {@link CombiningSubmitter}, which hands the submissions of concurrent producers over to a sink
+ * through a lock-free queue.
+ */
+public class TestCombiningSubmitter {
+
+    private static final int BATCH_SIZE = 5;
+    private static final int SUBMISSIONS = 20_000;
+    private static final int THREADS = 6;
+
+    /**
+     * Checks whether the elements of every thread reach the sink in the order they were submitted, and whether
+     * the elements of a bulk submission are not interleaved with elements of other submissions.
+     */
+    @Test
+    public void testConcurrentSubmissionsKeepOrder() throws InterruptedException {
+        Object monitor = new Object();
+        List<long[]> sink = new ArrayList<>();
+        CombiningSubmitter<long[]> submitter = new CombiningSubmitter<>(monitor, sink::add);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                int sequence = 0;
+                for (int i = 0; i < SUBMISSIONS; i++) {
+                    if (i % 3 == 0) {
+                        long[][] batch = new long[BATCH_SIZE][];
+                        for (int j = 0; j < BATCH_SIZE; j++) {
+                            // Elements: thread, sequence number, index within the batch or -1 for single submissions
+                            batch[j] = new long[] {thread, sequence++, j};
+                        }
+                        submitter.submitAll(batch, 0, BATCH_SIZE);
+                    } else {
+                        submitter.submit(new long[] {thread, sequence++, -1});
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        synchronized (monitor) {
+            int[] nextSequence = new int[THREADS];
+            for (int i = 0; i < sink.size(); i++) {
+                long[] element = sink.get(i);
+                int thread = (int) element[0];
+                Assert.assertEquals("Sequence number of thread " + thread, nextSequence[thread]++, element[1]);
+                if (element[2] == 0) {
+                    for (int j = 1; j < BATCH_SIZE; j++) {
+                        long[] batched = sink.get(i + j);
+                        Assert.assertEquals("Batch interleaved at " + (i + j), thread, batched[0]);
+                        Assert.assertEquals("Batch interleaved at " + (i + j), j, batched[2]);
+                    }
+                }
+            }
+            int expected = SUBMISSIONS / 3 * BATCH_SIZE + SUBMISSIONS - SUBMISSIONS / 3;
+            if (SUBMISSIONS % 3 != 0) {
+                expected += BATCH_SIZE - 1;
+            }
+            for (int t = 0; t < THREADS; t++) {
+                Assert.assertEquals("Elements of thread " + t, expected, nextSequence[t]);
+            }
+        }
+    }
+
+    /**
+     * Checks whether an exception thrown by the sink is rethrown in the thread that submitted the affected element,
+     * and whether only that submission fails.
+     */
+    @Test
+    public void testSinkExceptionReachesSubmitter() throws InterruptedException {
+        Object monitor = new Object();
+        AtomicInteger accepted = new AtomicInteger();
+        CombiningSubmitter<Integer> submitter = new CombiningSubmitter<>(monitor, (element) -> {
+            if (element.intValue() % 100 == 0) {
+                throw new IllegalArgumentException(element.toString());
+            }
+            accepted.incrementAndGet();
+        });
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger wrongFailures = new AtomicInteger();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    try {
+                        submitter.submit(i);
+                    } catch (IllegalArgumentException e) {
+                        if (!e.getMessage().equals(Integer.toString(i))) {
+                            wrongFailures.incrementAndGet();
+                        }
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals("Exceptions rethrown in the wrong submission", 0, wrongFailures.get());
+        Assert.assertEquals(THREADS * 100, failures.get());
+        Assert.assertEquals(THREADS * 9_900, accepted.get());
+    }
+
+    /**
+     * Checks whether a thread that already holds the monitor can submit elements without deadlocking.
+     */
+    @Test(timeout = 10_000L)
+    public void testSubmitWhileHoldingMonitor() {
+        Object monitor = new Object();
+        List<String> sink = new ArrayList<>();
+        CombiningSubmitter<String> submitter = new CombiningSubmitter<>(monitor, sink::add);
+        synchronized (monitor) {
+            submitter.submit("a");
+            submitter.submitAll(new String[] {"b", "c"}, 0, 2);
+            Assert.assertEquals(3, sink.size());
+        }
+    }
+}
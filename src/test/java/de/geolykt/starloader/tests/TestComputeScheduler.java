@@ -0,0 +1,120 @@
+package de.geolykt.starloader.tests;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.geolykt.starloader.api.utils.ComputeScheduler;
+import de.geolykt.starloader.impl.util.SequentialComputeScheduler;
+import de.geolykt.starloader.impl.util.WorkStealingComputeScheduler;
+
+/**
+ * Checks the range jobs of the {@link WorkStealingComputeScheduler}, which hands chunks over between the submitting
+ * thread and its helpers without locks.
+ */
+public class TestComputeScheduler {
+
+    private static long[] reduceSquares(ComputeScheduler scheduler, int start, int end) {
+        // Sums and counts the squares of the indices, and also counts the chunks that were accumulated
+        return scheduler.reduce(start, end, () -> new long[3], (container, chunkStart, chunkEnd) -> {
+            Assert.assertTrue("Chunk [" + chunkStart + ", " + chunkEnd + ") is empty or out of range", start <= chunkStart && chunkStart < chunkEnd && chunkEnd <= end);
+            for (int i = chunkStart; i < chunkEnd; i++) {
+                container[0] += (long) i * i;
+                container[1]++;
+            }
+            container[2]++;
+        }, (a, b) -> {
+            a[0] += b[0];
+            a[1] += b[1];
+            a[2] += b[2];
+            return a;
+        });
+    }
+
+    /**
+     * Checks whether an exception thrown by a helper thread is rethrown to the submitting thread and whether
+     * the scheduler can still be used afterwards.
+     */
+    @Test
+    public void testHelperExceptionReachesCaller() {
+        WorkStealingComputeScheduler scheduler = new WorkStealingComputeScheduler(3);
+        if (scheduler.getParallelism() == 1) {
+            // Range jobs are processed by the submitting thread alone on single processor machines
+            return;
+        }
+        Thread caller = Thread.currentThread();
+        IllegalStateException thrown = new IllegalStateException("Thrown by a helper");
+        try {
+            scheduler.forEach(0, 100_000, (chunkStart, chunkEnd) -> {
+                if (Thread.currentThread() != caller) {
+                    throw thrown;
+                }
+                try {
+                    // Leave chunks for the helpers to claim
+                    Thread.sleep(1L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Assert.fail("The exception thrown by the helper was not rethrown");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(thrown, e);
+        }
+        long[] result = reduceSquares(scheduler, 0, 10_000);
+        Assert.assertEquals(10_000L, result[1]);
+    }
+
+    /**
+     * Checks whether all chunks are processed once the submitting method returns, even if the job is submitted
+     * from multiple threads at once.
+     */
+    @Test
+    public void testConcurrentJobs() throws InterruptedException {
+        WorkStealingComputeScheduler scheduler = new WorkStealingComputeScheduler(3);
+        Thread[] threads = new Thread[4];
+        AtomicInteger failures = new AtomicInteger();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    int[] processed = new int[1000];
+                    scheduler.forEach(0, processed.length, (chunkStart, chunkEnd) -> {
+                        for (int j = chunkStart; j < chunkEnd; j++) {
+                            processed[j]++;
+                        }
+                    });
+                    for (int count : processed) {
+                        if (count != 1) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals("Indices that were not processed exactly once", 0, failures.get());
+    }
+
+    /**
+     * Checks whether reductions yield the same result as a sequential fold for ranges of many different sizes.
+     */
+    @Test
+    public void testReduceMatchesSequentialFold() {
+        WorkStealingComputeScheduler scheduler = new WorkStealingComputeScheduler(3);
+        SequentialComputeScheduler sequential = new SequentialComputeScheduler();
+        for (int length = 0; length < 2000; length += length < 100 ? 1 : 37) {
+            for (int start : new int[] {0, -length / 2, 1_000_000}) {
+                long[] expected = reduceSquares(sequential, start, start + length);
+                long[] actual = reduceSquares(scheduler, start, start + length);
+                Assert.assertEquals("Sum over [" + start + ", " + (start + length) + ")", expected[0], actual[0]);
+                Assert.assertEquals("Count over [" + start + ", " + (start + length) + ")", expected[1], actual[1]);
+            }
+        }
+        long[] large = reduceSquares(scheduler, 0, 5_000_000);
+        Assert.assertEquals(5_000_000L, large[1]);
+        Assert.assertEquals(reduceSquares(sequential, 0, 5_000_000)[0], large[0]);
+    }
+}